@@ -0,0 +1,114 @@
+package com.strategicgains.haflinger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The per-channel outcome of broadcasting an event with {@link Haflinger#broadcast(Object)}.
+ *
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public final class BroadcastResult
+{
+	public enum Status
+	{
+		/** The channel accepted the event. */
+		PUBLISHED,
+		/** The channel returned false from publish. */
+		REJECTED,
+		/** The channel threw an exception. */
+		FAILED,
+		/** The channel had not finished publishing by the fan-out deadline. */
+		TIMED_OUT
+	}
+
+	private final Map<String, Status> statuses;
+	private final Map<String, Throwable> failures;
+
+	BroadcastResult(int channelCount)
+	{
+		super();
+		this.statuses = new LinkedHashMap<>(channelCount * 2);
+		this.failures = new LinkedHashMap<>(4);
+	}
+
+	void published(String channel, boolean isAccepted)
+	{
+		statuses.put(channel, (isAccepted ? Status.PUBLISHED : Status.REJECTED));
+	}
+
+	void failed(String channel, Throwable cause)
+	{
+		statuses.put(channel, Status.FAILED);
+		failures.put(channel, cause);
+	}
+
+	void timedOut(String channel)
+	{
+		statuses.put(channel, Status.TIMED_OUT);
+	}
+
+	/**
+	 * @return true if every channel accepted the event.
+	 */
+	public boolean isPublished()
+	{
+		for (Status status : statuses.values())
+		{
+			if (status != Status.PUBLISHED) return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * @param channel the name of a registered channel.
+	 * @return the outcome for the named channel, or null if it was not part of the broadcast.
+	 */
+	public Status getStatus(String channel)
+	{
+		return statuses.get(channel);
+	}
+
+	/**
+	 * @param channel the name of a registered channel.
+	 * @return the exception thrown by the named channel, or null if it did not fail.
+	 */
+	public Throwable getFailure(String channel)
+	{
+		return failures.get(channel);
+	}
+
+	/**
+	 * @return the names of the channels that did not accept the event, in registration order.
+	 */
+	public List<String> getUnpublishedChannels()
+	{
+		List<String> unpublished = new ArrayList<>();
+
+		for (Map.Entry<String, Status> entry : statuses.entrySet())
+		{
+			if (entry.getValue() != Status.PUBLISHED) unpublished.add(entry.getKey());
+		}
+
+		return unpublished;
+	}
+
+	/**
+	 * @return the outcome of each channel, in registration order.
+	 */
+	public Map<String, Status> getStatuses()
+	{
+		return Collections.unmodifiableMap(statuses);
+	}
+
+	@Override
+	public String toString()
+	{
+		return statuses.toString();
+	}
+}
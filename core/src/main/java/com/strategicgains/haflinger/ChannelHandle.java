@@ -0,0 +1,124 @@
+package com.strategicgains.haflinger;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.strategicgains.haflinger.channel.EventChannel;
+
+/**
+ * A resolved reference to an {@link EventChannel} registered with {@link Haflinger}. Publishing through a
+ * handle goes straight to the channel, without looking up its name, so producers that publish to a
+ * known channel at high rates can obtain a handle once and cache it.
+ * 
+ * Once the channel is removed from Haflinger (or Haflinger is shut down), publishing through the handle
+ * returns false.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ *
+ * @param <T> the type of the underlying EventChannel.
+ */
+public final class ChannelHandle<T extends EventChannel>
+{
+	private static final Logger LOG = LoggerFactory.getLogger(ChannelHandle.class);
+
+	private final String name;
+	private final T channel;
+	private volatile boolean isRegistered = true;
+
+	ChannelHandle(String name, T channel)
+	{
+		super();
+		this.name = name;
+		this.channel = channel;
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public T getChannel()
+	{
+		return channel;
+	}
+
+	/**
+	 * @return true if the channel is still registered with Haflinger.
+	 */
+	public boolean isRegistered()
+	{
+		return isRegistered;
+	}
+
+	void unregister()
+	{
+		this.isRegistered = false;
+	}
+
+	/**
+	 * Publish an event directly to the channel.
+	 * 
+	 * @param event the Object as an event to publish.
+	 * @return true if the channel accepted the event. False if the channel is no longer registered, or it rejected or failed to publish the event.
+	 */
+	public boolean publish(Object event)
+	{
+		if (!isRegistered) return false;
+
+		try
+		{
+			return channel.publish(event);
+		}
+		catch (RuntimeException e)
+		{
+			LOG.error("Publishing error occurred to channel: {}", name, e);
+			return false;
+		}
+	}
+
+	/**
+	 * Publish an event directly to the channel, without waiting for the transport to accept it.
+	 * 
+	 * @param event the Object as an event to publish.
+	 * @return a stage that completes with true once the channel has accepted the event. Completes with false if the channel is no longer registered or rejected the event, or exceptionally if publishing failed.
+	 */
+	public CompletionStage<Boolean> publishAsync(Object event)
+	{
+		if (!isRegistered) return CompletableFuture.completedFuture(false);
+
+		try
+		{
+			return channel.publishAsync(event);
+		}
+		catch (RuntimeException e)
+		{
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	/**
+	 * Publish a batch of events directly to the channel.
+	 * 
+	 * @param events the events to publish, in order.
+	 * @return the number of events the channel accepted. Zero if the channel is no longer registered or it failed to publish the batch.
+	 */
+	public int publishAll(Collection<?> events)
+	{
+		if (!isRegistered) return 0;
+
+		try
+		{
+			return channel.publishAll(events);
+		}
+		catch (RuntimeException e)
+		{
+			LOG.error("Publishing error occurred to channel: {}", name, e);
+			return 0;
+		}
+	}
+}
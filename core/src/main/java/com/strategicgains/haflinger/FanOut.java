@@ -0,0 +1,71 @@
+package com.strategicgains.haflinger;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * How {@link Haflinger} broadcasts an event to its registered channels.
+ *
+ * SEQUENTIAL publishes to each channel in turn on the calling thread, so publish latency is the sum
+ * of the channels' latencies. A concurrent fan-out publishes to every channel on the given executor,
+ * then waits for all of them up to the deadline, so latency is that of the slowest channel, bounded
+ * by the deadline. Channels that have
+ * not finished by the deadline are reported as timed out, but their publish is not cancelled.
+ *
+ * The executor is not owned by Haflinger and is never shut down by it.
+ *
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public final class FanOut
+{
+	public static final FanOut SEQUENTIAL = new FanOut(null, 0L);
+
+	private final Executor executor;
+	private final long deadlineNanos;
+
+	private FanOut(Executor executor, long deadlineNanos)
+	{
+		super();
+		this.executor = executor;
+		this.deadlineNanos = deadlineNanos;
+	}
+
+	/**
+	 * @param executor runs the publishes to each channel.
+	 * @param deadline the maximum time to wait for all channels to publish an event.
+	 * @return a concurrent fan-out.
+	 */
+	public static FanOut concurrent(Executor executor, Duration deadline)
+	{
+		Objects.requireNonNull(executor, "executor");
+
+		if (deadline.isNegative() || deadline.isZero())
+		{
+			throw new IllegalArgumentException("Deadline must be positive: " + deadline);
+		}
+
+		return new FanOut(executor, deadline.toNanos());
+	}
+
+	public boolean isConcurrent()
+	{
+		return (executor != null);
+	}
+
+	public Executor getExecutor()
+	{
+		return executor;
+	}
+
+	public Duration getDeadline()
+	{
+		return Duration.ofNanos(deadlineNanos);
+	}
+
+	long getDeadlineNanos()
+	{
+		return deadlineNanos;
+	}
+}
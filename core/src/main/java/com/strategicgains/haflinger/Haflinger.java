@@ -1,13 +1,26 @@
 package com.strategicgains.haflinger;
 
-import java.util.LinkedHashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.strategicgains.haflinger.channel.EventChannel;
+import com.strategicgains.haflinger.channel.InterestAware;
 
 
 /**
@@ -22,6 +35,19 @@ import com.strategicgains.haflinger.channel.EventChannel;
  * All raised events are handled asynchronously. However, they may NOT be published
  * asynchronously, depending on the underlying transport implementation.
  * 
+ * Channels may be added and removed at any time, including while events are being published. The
+ * registered channels are held in an immutable snapshot that is replaced on each change, so publishing
+ * reads them without locking or allocation.
+ * 
+ * By default, a broadcast publishes to each channel in turn. Configure a concurrent {@link FanOut} to
+ * publish to all channels at once, with an overall deadline.
+ * 
+ * A broadcast skips channels that are {@link InterestAware} and have no interest in the event's class,
+ * and returns immediately if no channel has. Batches published to all channels, including committed
+ * units of work, are fanned out the same way, each channel receiving only the events it is interested in.
+ * 
+ * Events raised while a thread has a {@link UnitOfWork} active are buffered until it commits.
+ * 
  * @author toddf
  * @since May 12, 2011
  */
@@ -30,7 +56,9 @@ public class Haflinger
 	private static final Logger LOG = LoggerFactory.getLogger(Haflinger.class);
 	private static final Haflinger INSTANCE = new Haflinger();
 
-	private Map<String, EventChannel> channels = new LinkedHashMap<>();
+	private volatile Registry registry = Registry.EMPTY;
+	private volatile FanOut fanOut = FanOut.SEQUENTIAL;
+	private final ThreadLocal<UnitOfWork> unitOfWork = new ThreadLocal<>();
 
 	private Haflinger()
 	{
@@ -59,6 +87,22 @@ public class Haflinger
 		instance()._publish(channelName, event);
 	}
 
+	/**
+	 * Publish an event to a named event channel, if there is one. Unlike publish(String, Object),
+	 * an unknown name is not treated as an error.
+	 * 
+	 * To publish repeatedly to the same channel, use a {@link ChannelHandle} instead.
+	 * 
+	 * @param channelName the name of a specific event channel.
+	 * @param event the Object as an event to publish.
+	 * @return true if the channel exists and accepted the event. Otherwise, false.
+	 */
+	public static boolean tryPublish(String channelName, Object event)
+	{
+		ChannelHandle<?> handle = instance().registry.get(channelName);
+		return (handle != null && handle.publish(event));
+	}
+
 	/**
 	 * Publish an event, passing it to applicable consumers asynchronously.
 	 *
@@ -72,6 +116,100 @@ public class Haflinger
 		instance()._publish(event);
 	}
 
+	/**
+	 * Publish an event to all event channels, according to the configured {@link FanOut}, and report
+	 * the outcome for each channel. Channels with no subscriber interested in the event (see
+	 * {@link InterestAware}) are skipped, and have no outcome.
+	 * 
+	 * @param event the Object as an event to publish.
+	 * @return the per-channel outcome of the broadcast.
+	 */
+	public static BroadcastResult broadcast(Object event)
+	{
+		Haflinger haflinger = instance();
+		return haflinger._broadcast(event, haflinger.fanOut);
+	}
+
+	/**
+	 * Set how broadcasts (publish(Object) and broadcast(Object)) publish to the registered channels.
+	 * Reset to {@link FanOut#SEQUENTIAL} by shutdown().
+	 * 
+	 * @param fanOut the fan-out mode. Null for SEQUENTIAL.
+	 */
+	public static void fanOut(FanOut fanOut)
+	{
+		instance().fanOut = (fanOut == null ? FanOut.SEQUENTIAL : fanOut);
+	}
+
+	public static FanOut getFanOut()
+	{
+		return instance().fanOut;
+	}
+
+	/**
+	 * Publish an event to a named event channel without waiting for the transport to accept it.
+	 * 
+	 * @param channelName the name of a specific event channel.
+	 * @param event the Object as an event to publish.
+	 * @return a stage that completes with true once the channel has accepted the event, with false if it rejected it, or exceptionally if publishing failed or there is no such channel.
+	 */
+	public static CompletionStage<Boolean> publishAsync(String channelName, Object event)
+	{
+		ChannelHandle<?> handle = instance().registry.get(channelName);
+
+		if (handle == null)
+		{
+			return CompletableFuture.failedFuture(new IllegalArgumentException("Unknown channel: " + channelName));
+		}
+
+		return handle.publishAsync(event);
+	}
+
+	/**
+	 * Publish a batch of events to a named event channel in a single call, letting the channel
+	 * amortize its per-event publishing cost.
+	 * 
+	 * @param channelName the name of a specific event channel.
+	 * @param events the events to publish, in order.
+	 * @return the number of events the channel accepted (or buffered, within a unit of work). Zero if there is no such channel.
+	 */
+	public static int publishAll(String channelName, Collection<?> events)
+	{
+		return instance()._publishAll(channelName, events);
+	}
+
+	/**
+	 * Publish a batch of events to all event channels, according to the configured {@link FanOut},
+	 * passing them to applicable consumers asynchronously. An {@link InterestAware} channel receives
+	 * only the events it is interested in.
+	 * 
+	 * @param events the events to publish, in order.
+	 */
+	public static void publishAll(Collection<?> events)
+	{
+		instance()._publishAll(events);
+	}
+
+	/**
+	 * Begin buffering the events the calling thread publishes, until the returned {@link UnitOfWork}
+	 * commits (publishing them as a batch) or rolls back (discarding them).
+	 * 
+	 * @return the active unit of work for the calling thread.
+	 * @throws IllegalStateException if the calling thread already has an active unit of work.
+	 */
+	public static UnitOfWork beginUnitOfWork()
+	{
+		return instance()._beginUnitOfWork();
+	}
+
+	/**
+	 * @return the calling thread's active unit of work, or null if there is none.
+	 */
+	public static UnitOfWork currentUnitOfWork()
+	{
+		return instance().unitOfWork.get();
+	}
+
 	/**
 	 * Register an {@link EventChannel} with Haflinger.
 	 * 
@@ -84,6 +222,18 @@ public class Haflinger
 		return instance()._addChannel(name, channel);
 	}
 
+	/**
+	 * Register an {@link EventChannel} with Haflinger, returning a handle to publish to it directly.
+	 * 
+	 * @param name the channel name.  Must be unique within Haflinger.
+	 * @param channel an EventChannel instance.
+	 * @return a handle for the added channel, or null if the name is already in use.
+	 */
+	public static <T extends EventChannel> ChannelHandle<T> addChannelHandle(String name, T channel)
+	{
+		return instance()._addChannelHandle(name, channel);
+	}
+
 	/**
 	 * Register an {@link EventChannel} with Haflinger using the channel's fully-qualified
 	 * classname as the name.
@@ -107,6 +257,19 @@ public class Haflinger
 		return instance()._getChannel(name);
 	}
 
+	/**
+	 * Get the handle of a registered {@link EventChannel} by name. The handle can be cached and
+	 * used to publish without looking up the name again.
+	 * 
+	 * @param name the name of a channel given at the time of calling addChannel(String, EventChannel).
+	 * @return a ChannelHandle, or null if 'name' not found.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends EventChannel> ChannelHandle<T> getChannelHandle(String name)
+	{
+		return (ChannelHandle<T>) instance().registry.get(name);
+	}
+
 	public static boolean removeChannel(String name)
 	{
 		return instance()._removeChannel(name);
@@ -123,37 +286,59 @@ public class Haflinger
 		instance()._shutdown();
 	}
 
+	/**
+	 * Shutdown all the event transports gracefully. The channels are removed first, so new events
+	 * are no longer published to them, then each is given the remainder of the timeout to dispatch
+	 * the events it already accepted before releasing its resources.
+	 * 
+	 * @param timeout the maximum time to wait for all the channels to drain.
+	 * @return true if every channel drained before the timeout.
+	 */
+	public static boolean shutdown(Duration timeout)
+	{
+		return instance()._shutdown(timeout);
+	}
+
 	private boolean _addChannel(String name, EventChannel channel)
 	{
-		if (!channels.containsKey(name))
-		{
-			channels.put(name, channel);
-			return true;
-		}
-		
-		return false;
+		return (_addChannelHandle(name, channel) != null);
+	}
+
+	private synchronized <T extends EventChannel> ChannelHandle<T> _addChannelHandle(String name, T channel)
+	{
+		if (registry.contains(name)) return null;
+
+		ChannelHandle<T> handle = new ChannelHandle<>(name, channel);
+		registry = registry.with(handle);
+		return handle;
 	}
 	
 	private EventChannel _getChannel(String name)
 	{
-		EventChannel channel = channels.get(name);
+		ChannelHandle<?> handle = registry.get(name);
 
-		if (channel == null)
+		if (handle == null)
 		{
 			throw new RuntimeException("Unknown channel name: " + name);
 		}
 
-		return channel;
+		return handle.getChannel();
 	}
 	
 	private boolean _hasChannels()
 	{
-		return (channels != null);
+		return (registry != null);
 	}
 
-	private boolean _removeChannel(String name)
+	private synchronized boolean _removeChannel(String name)
 	{
-		return (channels.remove(name) != null);
+		ChannelHandle<?> handle = registry.get(name);
+
+		if (handle == null) return false;
+
+		registry = registry.without(name);
+		handle.unregister();
+		return true;
 	}
 
 	/**
@@ -163,17 +348,39 @@ public class Haflinger
 	 */
 	private void _publish(Object event)
 	{
+		UnitOfWork uow = unitOfWork.get();
+
+		if (uow != null)
+		{
+			uow.add(null, event);
+			return;
+		}
+
 		assert(_hasChannels());
 
-		for (Entry<String, EventChannel> entry : channels.entrySet())
+		Registry snapshot = registry;
+
+		if (!snapshot.isInterestedIn(event.getClass())) return;
+
+		FanOut fanOut = this.fanOut;
+
+		if (fanOut.isConcurrent())
+		{
+			logUnpublished(_broadcast(event, fanOut));
+			return;
+		}
+
+		for (int i = 0; i < snapshot.channels.length; i++)
 		{
+			if (!isInterested(snapshot.channels[i], event.getClass())) continue;
+
 			try
 			{
-				entry.getValue().publish(event);
+				snapshot.channels[i].publish(event);
 			}
 			catch(RuntimeException e)
 			{
-				LOG.error("Publishing error occurred on channel: " + entry.getKey(), e);
+				LOG.error("Publishing error occurred on channel: " + snapshot.handles[i].getName(), e);
 			}
 		}
 	}
@@ -186,25 +393,345 @@ public class Haflinger
 	 */
 	private void _publish(String name, Object event)
 	{
+		UnitOfWork uow = unitOfWork.get();
+
+		if (uow != null)
+		{
+			uow.add(name, event);
+			return;
+		}
+
 		assert(_hasChannels());
 
-		try
+		ChannelHandle<?> handle = registry.get(name);
+
+		if (handle == null)
 		{
-			_getChannel(name).publish(event);
+			LOG.error("Publishing error occurred to unknown channel: {}", name);
+			return;
 		}
-		catch(RuntimeException e)
+
+		handle.publish(event);
+	}
+
+	/**
+	 * Publish to every channel in the current snapshot that is interested in the event.
+	 */
+	private BroadcastResult _broadcast(Object event, FanOut fanOut)
+	{
+		Class<?> eventType = event.getClass();
+		return _broadcast(fanOut, channel -> (isInterested(channel, eventType) ? () -> channel.publish(event) : null));
+	}
+
+	/**
+	 * Publish to every channel in the current snapshot the events of the batch it is interested in.
+	 * A channel's publish counts as successful if it accepted any of them.
+	 */
+	private BroadcastResult _broadcastAll(Collection<?> events, FanOut fanOut)
+	{
+		return _broadcast(fanOut, channel -> {
+			Collection<?> interesting = interestingEvents(channel, events);
+			return (interesting.isEmpty() ? null : () -> channel.publishAll(interesting) > 0);
+		});
+	}
+
+	/**
+	 * Publish to every channel in the current snapshot with a publisher. With a concurrent fan-out, the
+	 * executor publishes to every channel, so none of them can hold the caller past the deadline.
+	 * 
+	 * @param publishers gives the publisher for a channel, or null to skip the channel.
+	 */
+	private BroadcastResult _broadcast(FanOut fanOut, Function<EventChannel, Supplier<Boolean>> publishers)
+	{
+		Registry snapshot = registry;
+		int count = snapshot.channels.length;
+		BroadcastResult result = new BroadcastResult(count);
+
+		if (!fanOut.isConcurrent())
 		{
-			LOG.error("Publishing error occurred to channel: " + name, e);			
+			for (int i = 0; i < count; i++)
+			{
+				Supplier<Boolean> publisher = publishers.apply(snapshot.channels[i]);
+
+				if (publisher == null) continue;
+
+				try
+				{
+					result.published(snapshot.handles[i].getName(), publisher.get());
+				}
+				catch(RuntimeException e)
+				{
+					result.failed(snapshot.handles[i].getName(), e);
+				}
+			}
+
+			return result;
+		}
+
+		long deadline = System.nanoTime() + fanOut.getDeadlineNanos();
+		List<CompletableFuture<Boolean>> futures = new ArrayList<>(count);
+		List<String> names = new ArrayList<>(count);
+
+		for (int i = 0; i < count; i++)
+		{
+			Supplier<Boolean> publisher = publishers.apply(snapshot.channels[i]);
+
+			if (publisher == null) continue;
+
+			names.add(snapshot.handles[i].getName());
+
+			try
+			{
+				futures.add(CompletableFuture.supplyAsync(publisher, fanOut.getExecutor()));
+			}
+			catch (RejectedExecutionException e)
+			{
+				futures.add(CompletableFuture.failedFuture(e));
+			}
+		}
+
+		for (int i = 0; i < futures.size(); i++)
+		{
+			String name = names.get(i);
+
+			try
+			{
+				result.published(name, futures.get(i).get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+			}
+			catch (ExecutionException e)
+			{
+				result.failed(name, e.getCause());
+			}
+			catch (TimeoutException e)
+			{
+				result.timedOut(name);
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				result.timedOut(name);
+			}
+		}
+
+		return result;
+	}
+
+	private void _publishAll(Collection<?> events)
+	{
+		UnitOfWork uow = unitOfWork.get();
+
+		if (uow != null)
+		{
+			uow.addAll(null, events);
+			return;
+		}
+
+		assert(_hasChannels());
+
+		if (events.isEmpty()) return;
+
+		FanOut fanOut = this.fanOut;
+
+		// A timed-out channel may still be reading the batch after this returns, and the caller may reuse it.
+		Collection<?> batch = (fanOut.isConcurrent() ? new ArrayList<>(events) : events);
+		logUnpublished(_broadcastAll(batch, fanOut));
+	}
+
+	private static void logUnpublished(BroadcastResult result)
+	{
+		for (String name : result.getUnpublishedChannels())
+		{
+			if (result.getStatus(name) == BroadcastResult.Status.FAILED)
+			{
+				LOG.error("Publishing error occurred on channel: " + name, result.getFailure(name));
+			}
+			else if (result.getStatus(name) == BroadcastResult.Status.TIMED_OUT)
+			{
+				LOG.warn("Publishing timed out on channel: {}", name);
+			}
+		}
+	}
+
+	private int _publishAll(String name, Collection<?> events)
+	{
+		UnitOfWork uow = unitOfWork.get();
+
+		if (uow != null)
+		{
+			uow.addAll(name, events);
+			return events.size();
+		}
+
+		assert(_hasChannels());
+
+		ChannelHandle<?> handle = registry.get(name);
+
+		if (handle == null)
+		{
+			LOG.error("Publishing error occurred to unknown channel: {}", name);
+			return 0;
+		}
+
+		return handle.publishAll(events);
+	}
+
+	private UnitOfWork _beginUnitOfWork()
+	{
+		if (unitOfWork.get() != null)
+		{
+			throw new IllegalStateException("A unit of work is already active on this thread");
+		}
+
+		UnitOfWork uow = new UnitOfWork(this);
+		unitOfWork.set(uow);
+		return uow;
+	}
+
+	void endUnitOfWork(UnitOfWork uow)
+	{
+		if (unitOfWork.get() == uow)
+		{
+			unitOfWork.remove();
 		}
 	}
 
 	private void _shutdown()
 	{
-		for (EventChannel transport : channels.values())
+		for (ChannelHandle<?> handle : _unregisterAll())
+		{
+			handle.getChannel().shutdown();
+		}
+	}
+
+	private boolean _shutdown(Duration timeout)
+	{
+		long deadline = System.nanoTime() + timeout.toNanos();
+		boolean isDrained = true;
+
+		for (ChannelHandle<?> handle : _unregisterAll())
+		{
+			try
+			{
+				isDrained &= handle.getChannel().shutdown(Duration.ofNanos(Math.max(0L, deadline - System.nanoTime())));
+			}
+			catch(RuntimeException e)
+			{
+				LOG.error("Shutdown error occurred on channel: " + handle.getName(), e);
+				isDrained = false;
+			}
+		}
+
+		return isDrained;
+	}
+
+	private static boolean isInterested(EventChannel channel, Class<?> eventType)
+	{
+		return (!(channel instanceof InterestAware) || ((InterestAware) channel).isInterestedIn(eventType));
+	}
+
+	/**
+	 * @return the events of the batch the channel is interested in, in order. The batch itself if all of them.
+	 */
+	private static Collection<?> interestingEvents(EventChannel channel, Collection<?> events)
+	{
+		if (!(channel instanceof InterestAware)) return events;
+
+		List<Object> interesting = new ArrayList<>(events.size());
+
+		for (Object event : events)
+		{
+			if (isInterested(channel, event.getClass())) interesting.add(event);
+		}
+
+		return (interesting.size() == events.size() ? events : interesting);
+	}
+
+	private ChannelHandle<?>[] _unregisterAll()
+	{
+		Registry snapshot;
+
+		synchronized (this)
+		{
+			snapshot = registry;
+			registry = Registry.EMPTY;
+			fanOut = FanOut.SEQUENTIAL;
+		}
+
+		for (ChannelHandle<?> handle : snapshot.handles)
+		{
+			handle.unregister();
+		}
+
+		return snapshot.handles;
+	}
+
+	/**
+	 * An immutable snapshot of the registered channels, in the order they were added.
+	 */
+	private static final class Registry
+	{
+		private static final Registry EMPTY = new Registry(new ChannelHandle<?>[0]);
+
+		private final ChannelHandle<?>[] handles;
+		private final EventChannel[] channels;
+		private final Map<String, ChannelHandle<?>> byName;
+
+		private Registry(ChannelHandle<?>[] handles)
+		{
+			super();
+			this.handles = handles;
+			this.channels = new EventChannel[handles.length];
+			this.byName = new HashMap<>(handles.length * 2);
+
+			for (int i = 0; i < handles.length; i++)
+			{
+				channels[i] = handles[i].getChannel();
+				byName.put(handles[i].getName(), handles[i]);
+			}
+		}
+
+		public boolean contains(String name)
+		{
+			return byName.containsKey(name);
+		}
+
+		/**
+		 * @return true if any channel may have an interest in events of the given class.
+		 */
+		public boolean isInterestedIn(Class<?> eventType)
 		{
-			transport.shutdown();
+			for (EventChannel channel : channels)
+			{
+				if (isInterested(channel, eventType)) return true;
+			}
+
+			return false;
+		}
+
+		public ChannelHandle<?> get(String name)
+		{
+			return byName.get(name);
+		}
+
+		public Registry with(ChannelHandle<?> handle)
+		{
+			ChannelHandle<?>[] newHandles = Arrays.copyOf(handles, handles.length + 1);
+			newHandles[handles.length] = handle;
+			return new Registry(newHandles);
+		}
+
+		public Registry without(String name)
+		{
+			ChannelHandle<?>[] newHandles = new ChannelHandle<?>[handles.length - 1];
+
+			for (int i = 0, j = 0; i < handles.length; i++)
+			{
+				if (handles[i].getName().equals(name)) continue;
+
+				newHandles[j++] = handles[i];
+			}
+
+			return new Registry(newHandles);
 		}
-		
-		channels.clear();
 	}
 }
@@ -0,0 +1,139 @@
+package com.strategicgains.haflinger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A thread-confined publishing scope, begun with {@link Haflinger#beginUnitOfWork()}. While it is
+ * active, events the thread publishes through Haflinger's publish() and publishAll() methods are
+ * buffered instead of sent. On commit(), they are published in the order raised, with consecutive
+ * events for the same target sent as a single publishAll() batch. On rollback(), they are discarded.
+ *
+ * Methods that report a result (tryPublish, publishAsync, broadcast) and {@link ChannelHandle}s publish
+ * immediately, bypassing the unit of work.
+ *
+ * Use it in a try-with-resources block, which rolls back if commit() was not reached:
+ *
+ * <pre>
+ * try (UnitOfWork uow = Haflinger.beginUnitOfWork())
+ * {
+ *     aggregate.handle(command);
+ *     repository.update(aggregate);
+ *     uow.commit();
+ * }
+ * </pre>
+ *
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public final class UnitOfWork
+implements AutoCloseable
+{
+	private final Haflinger haflinger;
+
+	// Parallel lists of target channel name (null to broadcast) and event.
+	private final List<String> targets = new ArrayList<>();
+	private final List<Object> events = new ArrayList<>();
+	private boolean isActive = true;
+
+	UnitOfWork(Haflinger haflinger)
+	{
+		super();
+		this.haflinger = haflinger;
+	}
+
+	void add(String channelName, Object event)
+	{
+		targets.add(channelName);
+		events.add(event);
+	}
+
+	void addAll(String channelName, Collection<?> events)
+	{
+		for (Object event : events)
+		{
+			add(channelName, event);
+		}
+	}
+
+	public boolean isActive()
+	{
+		return isActive;
+	}
+
+	/**
+	 * @return the number of events buffered so far.
+	 */
+	public int size()
+	{
+		return events.size();
+	}
+
+	/**
+	 * End the unit of work and publish the buffered events.
+	 *
+	 * @throws IllegalStateException if the unit of work already ended.
+	 */
+	public void commit()
+	{
+		end();
+		int start = 0;
+
+		for (int i = 1; i <= events.size(); i++)
+		{
+			if (i < events.size() && Objects.equals(targets.get(i), targets.get(start))) continue;
+
+			List<Object> batch = events.subList(start, i);
+			String target = targets.get(start);
+
+			if (target == null)
+			{
+				Haflinger.publishAll(batch);
+			}
+			else
+			{
+				Haflinger.publishAll(target, batch);
+			}
+
+			start = i;
+		}
+
+		clear();
+	}
+
+	/**
+	 * End the unit of work, discarding the buffered events.
+	 *
+	 * @throws IllegalStateException if the unit of work already ended.
+	 */
+	public void rollback()
+	{
+		end();
+		clear();
+	}
+
+	/**
+	 * Roll back, unless the unit of work already ended.
+	 */
+	@Override
+	public void close()
+	{
+		if (isActive) rollback();
+	}
+
+	private void end()
+	{
+		if (!isActive) throw new IllegalStateException("Unit of work already ended");
+
+		isActive = false;
+		haflinger.endUnitOfWork(this);
+	}
+
+	private void clear()
+	{
+		targets.clear();
+		events.clear();
+	}
+}
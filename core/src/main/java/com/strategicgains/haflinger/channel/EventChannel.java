@@ -1,5 +1,10 @@
 package com.strategicgains.haflinger.channel;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 /**
  * An event channel is an underlying implementation of a messaging
  * infrastructure. Note that there is no concept of 'topic' or 'queue'
@@ -27,8 +32,63 @@ public interface EventChannel
 	 */
 	boolean publish(Object event);
 
+	/**
+	 * Publish an event to this event channel without waiting for the transport to accept it, so
+	 * producers can pipeline publishes and apply their own flow control. The default publishes
+	 * synchronously and returns an already-completed stage.
+	 * 
+	 * @param event the event instance.
+	 * @return a stage that completes with the result of publish(Object) once the transport has accepted (or rejected) the event, or completes exceptionally if publishing failed.
+	 */
+	default CompletionStage<Boolean> publishAsync(Object event)
+	{
+		try
+		{
+			return CompletableFuture.completedFuture(publish(event));
+		}
+		catch (RuntimeException e)
+		{
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	/**
+	 * Publish a batch of events to this event channel, in order. Implementations override this to
+	 * amortize the per-event cost of the transport (e.g. a single wake-up or network round trip).
+	 * The default simply publishes each event in turn.
+	 * 
+	 * @param events the event instances.
+	 * @return the number of events published to the channel.
+	 * @throws RuntimeException for non-recoverable errors.
+	 */
+	default int publishAll(Collection<?> events)
+	{
+		int count = 0;
+
+		for (Object event : events)
+		{
+			if (publish(event)) count++;
+		}
+
+		return count;
+	}
+
 	/**
 	 * Terminate event handling on the transport and free all consumed resources.
 	 */
 	void shutdown();
+
+	/**
+	 * Terminate event handling gracefully: stop accepting new events, finish dispatching the events
+	 * already accepted (up to the timeout), then free all consumed resources. The default is an
+	 * immediate shutdown().
+	 * 
+	 * @param timeout the maximum time to wait for accepted events to be dispatched.
+	 * @return true if all accepted events were dispatched before the timeout. False if some may have been dropped.
+	 */
+	default boolean shutdown(Duration timeout)
+	{
+		shutdown();
+		return true;
+	}
 }
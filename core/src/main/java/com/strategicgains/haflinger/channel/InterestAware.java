@@ -0,0 +1,17 @@
+package com.strategicgains.haflinger.channel;
+
+/**
+ * A channel that knows, from its subscriptions, which event types it has any use for. Publishers
+ * may skip the channel for other events before doing any work to publish them.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public interface InterestAware
+{
+	/**
+	 * @param eventType the class of an event.
+	 * @return false if the channel would discard events of the given class. Otherwise, true.
+	 */
+	boolean isInterestedIn(Class<?> eventType);
+}
@@ -0,0 +1,15 @@
+package com.strategicgains.haflinger.channel;
+
+/**
+ * A channel that reports its backlog, so that load can be balanced across equivalent channels.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public interface Measurable
+{
+	/**
+	 * @return the approximate number of events accepted by the channel but not yet delivered.
+	 */
+	int getQueueDepth();
+}
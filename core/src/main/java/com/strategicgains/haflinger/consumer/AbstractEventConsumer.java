@@ -13,7 +13,7 @@ implements EventConsumer
 	private static final long DEFAULT_TIMEOUT_MILLIS = 1000l;
 
 	private long timeoutMillis;
-	private boolean shuttingDown = false;
+	private volatile boolean shuttingDown = false;
 
 	public AbstractEventConsumer()
 	{
@@ -49,7 +49,7 @@ implements EventConsumer
 				LOG.error("Error consuming event: " + event.toString(), e);
 			}
 		}
-		while (!shuttingDown);
+		while (!shuttingDown && !Thread.currentThread().isInterrupted());
 
 		LOG.info("Consumer shutting down");
 	}
@@ -0,0 +1,39 @@
+package com.strategicgains.haflinger.consumer;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.strategicgains.haflinger.exception.EventingException;
+
+/**
+ * An opt-in variant of {@link EventSubscriber} that receives events in batches. Channels deliver
+ * whatever events are available (up to a configured maximum) in a single call, which makes bulk
+ * writes to databases or search indexes possible.
+ * 
+ * Batches for a given subscriber are delivered one at a time and in the order received.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public interface BatchEventSubscriber
+extends EventSubscriber
+{
+	/**
+	 * Process a batch of events.
+	 * 
+	 * @param events one or more events, in the order they were received. Never empty.
+	 * @throws EventingException if handler fails to process the batch.
+	 */
+	void handle(List<Object> events)
+	throws EventingException;
+
+	/**
+	 * Process a single event as a batch of one.
+	 */
+	@Override
+	default void handle(Object event)
+	throws EventingException
+	{
+		handle(Collections.singletonList(event));
+	}
+}
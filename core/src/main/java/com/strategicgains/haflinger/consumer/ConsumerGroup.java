@@ -0,0 +1,380 @@
+package com.strategicgains.haflinger.consumer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.strategicgains.haflinger.channel.Consumable;
+import com.strategicgains.haflinger.dispatch.VirtualThreadDispatchExecutor;
+import com.strategicgains.haflinger.exception.ConsumptionException;
+
+/**
+ * Runs a group of {@link EventConsumer}s competing for the events of one {@link Consumable}, each
+ * on its own managed thread. Since consume() normally loops until the consumer is shut down, this
+ * is how consumers are started without blocking the caller.
+ *
+ * Consumers are added individually, or created by a factory when the group is scaled with
+ * scaleTo(). Scaling down shuts down the most recently started consumers, which stop once their
+ * current get() returns. The events each consumer receives are counted, to report its throughput.
+ *
+ * By default, each consumer runs on a new daemon platform thread. To use virtual threads, pass a
+ * {@link VirtualThreadDispatchExecutor} (Java 21 or later) as the executor. It must run each consumer
+ * on its own thread, so don't use a bounded pool smaller than the group.
+ *
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class ConsumerGroup
+{
+	private static final Logger LOG = LoggerFactory.getLogger(ConsumerGroup.class);
+	private static final AtomicInteger GROUP_SEQUENCE = new AtomicInteger();
+
+	private final Consumable consumable;
+	private final Supplier<? extends EventConsumer> factory;
+	private final Executor executor;
+	private final String name = "haflinger-consumer-" + GROUP_SEQUENCE.incrementAndGet();
+	private final AtomicInteger threadSequence = new AtomicInteger();
+	private final List<Member> members = new CopyOnWriteArrayList<>();
+	private volatile boolean isShutdown = false;
+
+	/**
+	 * Create a group of consumers added with add(). It can't be scaled up with scaleTo().
+	 */
+	public ConsumerGroup(Consumable consumable)
+	{
+		this(consumable, null);
+	}
+
+	/**
+	 * @param consumable the source of events.
+	 * @param factory creates a consumer each time the group is scaled up.
+	 */
+	public ConsumerGroup(Consumable consumable, Supplier<? extends EventConsumer> factory)
+	{
+		this(consumable, factory, null);
+	}
+
+	/**
+	 * @param consumable the source of events.
+	 * @param factory creates a consumer each time the group is scaled up. May be null.
+	 * @param executor runs each consumer on its own thread. Null for new daemon platform threads.
+	 */
+	public ConsumerGroup(Consumable consumable, Supplier<? extends EventConsumer> factory, Executor executor)
+	{
+		super();
+		this.consumable = consumable;
+		this.factory = factory;
+		this.executor = (executor != null ? executor : this::newThread);
+	}
+
+	/**
+	 * Start a consumer in this group.
+	 *
+	 * @param consumer an event consumer.
+	 * @return true if the consumer was started. False if it is already in the group.
+	 * @throws IllegalStateException if the group is shut down.
+	 */
+	public synchronized boolean add(EventConsumer consumer)
+	{
+		if (isShutdown) throw new IllegalStateException("Consumer group is shut down");
+		if (indexOf(consumer) >= 0) return false;
+
+		Member member = new Member(consumer);
+		members.add(member);
+
+		try
+		{
+			executor.execute(member::run);
+		}
+		catch (RuntimeException e)
+		{
+			members.remove(member);
+			throw e;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Shut down a consumer and remove it from this group. It stops once its current get() returns.
+	 *
+	 * @param consumer an event consumer.
+	 * @return true if the consumer was in the group. Otherwise, false.
+	 */
+	public synchronized boolean remove(EventConsumer consumer)
+	{
+		int i = indexOf(consumer);
+
+		if (i < 0) return false;
+
+		members.remove(i).stop();
+		return true;
+	}
+
+	/**
+	 * Start or shut down consumers until the group has the given number of them.
+	 *
+	 * @param size the number of consumers.
+	 * @throws IllegalStateException if scaling up a group without a consumer factory, or the group is shut down.
+	 */
+	public synchronized void scaleTo(int size)
+	{
+		if (size > members.size() && factory == null)
+		{
+			throw new IllegalStateException("Consumer group has no consumer factory");
+		}
+
+		while (members.size() < size)
+		{
+			add(factory.get());
+		}
+
+		while (members.size() > Math.max(0, size))
+		{
+			members.remove(members.size() - 1).stop();
+		}
+	}
+
+	/**
+	 * @return the number of consumers in the group.
+	 */
+	public int size()
+	{
+		return members.size();
+	}
+
+	/**
+	 * @return the group's consumers, in the order they were started, with their statistics.
+	 */
+	public List<Member> getMembers()
+	{
+		return Collections.unmodifiableList(new ArrayList<>(members));
+	}
+
+	/**
+	 * @return the total events per second received by the group's current consumers.
+	 */
+	public double getThroughput()
+	{
+		double throughput = 0.0;
+
+		for (Member member : members)
+		{
+			throughput += member.getThroughput();
+		}
+
+		return throughput;
+	}
+
+	public boolean isShutdown()
+	{
+		return isShutdown;
+	}
+
+	/**
+	 * Shut down every consumer. Each one stops once its current get() returns.
+	 */
+	public synchronized void shutdown()
+	{
+		isShutdown = true;
+
+		for (Member member : members)
+		{
+			member.stop();
+		}
+	}
+
+	/**
+	 * Shut down every consumer and wait for them to stop. Consumers still running at the timeout are
+	 * interrupted.
+	 *
+	 * @param timeout the maximum time to wait.
+	 * @return true if every consumer stopped within the timeout. Otherwise, false.
+	 */
+	public boolean shutdown(Duration timeout)
+	{
+		long deadline = System.nanoTime() + timeout.toNanos();
+		List<Member> stopping;
+
+		synchronized (this)
+		{
+			shutdown();
+			stopping = new ArrayList<>(members);
+			members.clear();
+		}
+
+		boolean isStopped = true;
+
+		for (Member member : stopping)
+		{
+			if (!member.await(deadline))
+			{
+				member.interrupt();
+				isStopped = false;
+			}
+		}
+
+		return isStopped;
+	}
+
+	private int indexOf(EventConsumer consumer)
+	{
+		for (int i = 0; i < members.size(); i++)
+		{
+			if (members.get(i).consumer == consumer) return i;
+		}
+
+		return -1;
+	}
+
+	private void newThread(Runnable runnable)
+	{
+		Thread thread = new Thread(runnable, name + "-" + threadSequence.incrementAndGet());
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+
+	// SECTION: INNER CLASSES
+
+	/**
+	 * A consumer in the group, with the events it has received so far.
+	 */
+	public class Member
+	{
+		private final EventConsumer consumer;
+		private final Metered metered = new Metered();
+		private final AtomicLong eventCount = new AtomicLong();
+		private final CountDownLatch stopped = new CountDownLatch(1);
+		private volatile Thread thread;
+		private volatile long startedAt;
+		private volatile long stoppedAt;
+
+		private Member(EventConsumer consumer)
+		{
+			super();
+			this.consumer = consumer;
+		}
+
+		public EventConsumer getConsumer()
+		{
+			return consumer;
+		}
+
+		/**
+		 * @return the number of events the consumer has received.
+		 */
+		public long getEventCount()
+		{
+			return eventCount.get();
+		}
+
+		/**
+		 * @return the events per second received by the consumer since it started.
+		 */
+		public double getThroughput()
+		{
+			long started = startedAt;
+
+			if (started == 0L) return 0.0;
+
+			long end = (stoppedAt != 0L ? stoppedAt : System.nanoTime());
+			return eventCount.get() * 1e9 / Math.max(1L, end - started);
+		}
+
+		public boolean isRunning()
+		{
+			return (startedAt != 0L && stopped.getCount() > 0);
+		}
+
+		private void run()
+		{
+			thread = Thread.currentThread();
+			startedAt = System.nanoTime();
+
+			try
+			{
+				consumer.consume(metered);
+			}
+			catch (ConsumptionException | RuntimeException e)
+			{
+				LOG.error("Consumer failed in group: " + name, e);
+			}
+			finally
+			{
+				stoppedAt = System.nanoTime();
+				thread = null;
+				members.remove(this);
+				stopped.countDown();
+			}
+		}
+
+		private void stop()
+		{
+			consumer.shutdown();
+		}
+
+		private void interrupt()
+		{
+			Thread running = thread;
+
+			if (running != null) running.interrupt();
+		}
+
+		private boolean await(long deadline)
+		{
+			try
+			{
+				return stopped.await(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+
+		/**
+		 * The consumable as seen by this member's consumer, counting the events it receives.
+		 */
+		private class Metered
+		implements Consumable
+		{
+			@Override
+			public Object get()
+			{
+				return count(consumable.get());
+			}
+
+			@Override
+			public Object get(long timeoutMillis)
+			{
+				return count(consumable.get(timeoutMillis));
+			}
+
+			@Override
+			public void commit()
+			{
+				consumable.commit();
+			}
+
+			private Object count(Object event)
+			{
+				if (event != null) eventCount.incrementAndGet();
+
+				return event;
+			}
+		}
+	}
+}
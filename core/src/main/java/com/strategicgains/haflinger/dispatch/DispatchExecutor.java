@@ -0,0 +1,86 @@
+package com.strategicgains.haflinger.dispatch;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import com.strategicgains.haflinger.consumer.EventSubscriber;
+
+/**
+ * Runs the deliveries of events to subscribers for a channel. Implementations determine how many
+ * threads are used and what happens when deliveries arrive faster than subscribers handle them.
+ * 
+ * Built-in implementations are available from {@link DispatchExecutors}.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public interface DispatchExecutor
+extends Executor
+{
+	/**
+	 * Run the delivery of an event to the given subscriber. Implementations may use the subscriber
+	 * to limit or isolate its deliveries. By default, the same as execute(delivery).
+	 * 
+	 * @param subscriber the receiving subscriber.
+	 * @param delivery the task that delivers the event to the subscriber.
+	 */
+	default void execute(EventSubscriber subscriber, Runnable delivery)
+	{
+		execute(delivery);
+	}
+
+	/**
+	 * Called when a subscriber is unsubscribed from a channel, so implementations can discard any state
+	 * kept for it. Deliveries already submitted still run. By default, does nothing.
+	 * 
+	 * @param subscriber the unsubscribed subscriber.
+	 */
+	default void unsubscribe(EventSubscriber subscriber)
+	{
+		// nothing to discard.
+	}
+
+	/**
+	 * @return the number of deliveries waiting to run. Zero if deliveries are not queued.
+	 */
+	int getQueueDepth();
+
+	/**
+	 * @return the number of deliveries currently running.
+	 */
+	int getActiveCount();
+
+	/**
+	 * Stop accepting new deliveries. Deliveries already submitted are still run.
+	 */
+	void shutdown();
+
+	/**
+	 * @return true if shutdown() has been called.
+	 */
+	boolean isShutdown();
+
+	/**
+	 * Wait for the deliveries already submitted to finish, normally after shutdown(). By default,
+	 * polls until no deliveries are queued or running.
+	 * 
+	 * @param timeout the maximum time to wait.
+	 * @param unit the unit of the timeout.
+	 * @return true if all deliveries finished. False if the timeout elapsed first.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	default boolean awaitTermination(long timeout, TimeUnit unit)
+	throws InterruptedException
+	{
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+		while (getQueueDepth() + getActiveCount() > 0)
+		{
+			if (System.nanoTime() - deadline >= 0L) return false;
+
+			Thread.sleep(1L);
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,157 @@
+package com.strategicgains.haflinger.dispatch;
+
+import java.util.concurrent.TimeUnit;
+
+import com.strategicgains.haflinger.dispatch.ThreadPoolDispatchExecutor.Saturation;
+
+/**
+ * Factory methods for the built-in {@link DispatchExecutor}s.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public final class DispatchExecutors
+{
+	// Subscribers commonly block on I/O, so allow well over one thread per core. Idle threads are released.
+	public static final int DEFAULT_THREADS = Math.max(64, Runtime.getRuntime().availableProcessors() * 4);
+	public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+	public static final int DEFAULT_MAX_CONCURRENCY_PER_SUBSCRIBER = 256;
+
+	private DispatchExecutors()
+	{
+		// prevents instantiation.
+	}
+
+	/**
+	 * The executor used by channels when none is configured: bounded, blocking the dispatching
+	 * thread when the queue is full.
+	 * 
+	 * @return a new DispatchExecutor.
+	 */
+	public static DispatchExecutor newDefault()
+	{
+		return bounded(DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY);
+	}
+
+	/**
+	 * Runs deliveries on at most the given number of threads. When the queue is full, the
+	 * dispatching thread blocks until there is room.
+	 * 
+	 * @param threads the maximum number of concurrent deliveries.
+	 * @param queueCapacity the maximum number of deliveries waiting for a thread.
+	 * @return a new DispatchExecutor.
+	 */
+	public static DispatchExecutor bounded(int threads, int queueCapacity)
+	{
+		return new ThreadPoolDispatchExecutor(threads, queueCapacity, Saturation.BLOCK);
+	}
+
+	/**
+	 * Runs deliveries on at most the given number of threads. When the queue is full, the
+	 * delivery runs on the dispatching thread instead.
+	 * 
+	 * @param threads the maximum number of concurrent deliveries.
+	 * @param queueCapacity the maximum number of deliveries waiting for a thread.
+	 * @return a new DispatchExecutor.
+	 */
+	public static DispatchExecutor callerRuns(int threads, int queueCapacity)
+	{
+		return new ThreadPoolDispatchExecutor(threads, queueCapacity, Saturation.CALLER_RUNS);
+	}
+
+	/**
+	 * Runs each delivery on the dispatching thread, one at a time. Subscribers must not block.
+	 * 
+	 * @return a new DispatchExecutor.
+	 */
+	public static DispatchExecutor sameThread()
+	{
+		return new SameThreadDispatchExecutor();
+	}
+
+	/**
+	 * Runs each delivery on its own virtual thread, with at most DEFAULT_MAX_CONCURRENCY_PER_SUBSCRIBER
+	 * concurrent deliveries to each subscriber. Requires a Java 21 or later runtime.
+	 * 
+	 * @return a new DispatchExecutor.
+	 * @throws UnsupportedOperationException if the runtime doesn't support virtual threads.
+	 */
+	public static DispatchExecutor virtualThreads()
+	{
+		return virtualThreads(DEFAULT_MAX_CONCURRENCY_PER_SUBSCRIBER);
+	}
+
+	/**
+	 * Runs each delivery on its own virtual thread, with at most the given number of concurrent
+	 * deliveries to each subscriber. When a subscriber is at its cap, its deliveries wait in a backlog
+	 * of up to DEFAULT_QUEUE_CAPACITY, and the dispatching thread blocks while that is full. Requires a
+	 * Java 21 or later runtime.
+	 * 
+	 * @param maxConcurrencyPerSubscriber the maximum number of concurrent deliveries to each subscriber.
+	 * @return a new DispatchExecutor.
+	 * @throws UnsupportedOperationException if the runtime doesn't support virtual threads.
+	 */
+	public static DispatchExecutor virtualThreads(int maxConcurrencyPerSubscriber)
+	{
+		return perSubscriberLimit(new VirtualThreadDispatchExecutor(), maxConcurrencyPerSubscriber, DEFAULT_QUEUE_CAPACITY, Saturation.BLOCK);
+	}
+
+	/**
+	 * @return true if the runtime supports virtual threads (Java 21 or later).
+	 */
+	public static boolean isVirtualThreadSupported()
+	{
+		return VirtualThreadDispatchExecutor.isSupported();
+	}
+
+	/**
+	 * Caps the number of concurrent deliveries to each subscriber. When a subscriber is at its cap,
+	 * its deliveries wait in a backlog of up to DEFAULT_QUEUE_CAPACITY until one of its running
+	 * deliveries completes. While the backlog is full, the dispatching thread blocks.
+	 * 
+	 * @param executor runs the deliveries.
+	 * @param maxConcurrencyPerSubscriber the maximum number of concurrent deliveries to each subscriber.
+	 * @return a new DispatchExecutor.
+	 */
+	public static DispatchExecutor perSubscriberLimit(DispatchExecutor executor, int maxConcurrencyPerSubscriber)
+	{
+		return perSubscriberLimit(executor, maxConcurrencyPerSubscriber, DEFAULT_QUEUE_CAPACITY, Saturation.BLOCK);
+	}
+
+	/**
+	 * Caps the number of concurrent deliveries to each subscriber. When a subscriber is at its cap,
+	 * its deliveries wait in a backlog until one of its running deliveries completes.
+	 * 
+	 * @param executor runs the deliveries.
+	 * @param maxConcurrencyPerSubscriber the maximum number of concurrent deliveries to each subscriber.
+	 * @param backlogCapacity the maximum number of deliveries waiting for each subscriber.
+	 * @param saturation what to do when a subscriber's backlog is full.
+	 * @return a new DispatchExecutor.
+	 */
+	public static DispatchExecutor perSubscriberLimit(DispatchExecutor executor, int maxConcurrencyPerSubscriber, int backlogCapacity, Saturation saturation)
+	{
+		return new SubscriberLimitedDispatchExecutor(executor, maxConcurrencyPerSubscriber, backlogCapacity, saturation);
+	}
+
+	/**
+	 * Stop the executor accepting deliveries and wait for those already submitted to finish.
+	 * 
+	 * @param executor the executor to shut down.
+	 * @param deadlineNanos the System.nanoTime() by which to give up waiting.
+	 * @return true if all deliveries finished by the deadline. False if it elapsed first or the calling thread was interrupted.
+	 */
+	public static boolean shutdownAndAwait(DispatchExecutor executor, long deadlineNanos)
+	{
+		executor.shutdown();
+
+		try
+		{
+			return executor.awaitTermination(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
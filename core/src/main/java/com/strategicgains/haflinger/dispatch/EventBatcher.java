@@ -0,0 +1,173 @@
+package com.strategicgains.haflinger.dispatch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.strategicgains.haflinger.consumer.BatchEventSubscriber;
+
+/**
+ * Accumulates events for a {@link BatchEventSubscriber} and delivers them on an Executor, draining
+ * everything pending (up to the maximum batch size) into a single handle(List) call.
+ * 
+ * At most one delivery per subscriber is scheduled at a time, so batches are delivered in order. Events
+ * that arrive while a batch is being handled are collected into the next one.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class EventBatcher
+{
+	private static final Logger LOG = LoggerFactory.getLogger(EventBatcher.class);
+	public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+	// The batcher delivering on the current thread, to detect an executor running the next delivery inline.
+	private static final ThreadLocal<EventBatcher> DELIVERING = new ThreadLocal<>();
+
+	private final BatchEventSubscriber subscriber;
+	private volatile Executor executor;
+	private final int maxBatchSize;
+	private final Queue<Object> pending = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean isScheduled = new AtomicBoolean();
+	// Only accessed by the thread delivering.
+	private boolean isRedeliver;
+
+	public EventBatcher(BatchEventSubscriber subscriber, Executor executor)
+	{
+		this(subscriber, executor, DEFAULT_MAX_BATCH_SIZE);
+	}
+
+	public EventBatcher(BatchEventSubscriber subscriber, Executor executor, int maxBatchSize)
+	{
+		super();
+		this.subscriber = subscriber;
+		this.executor = executor;
+		this.maxBatchSize = Math.max(1, maxBatchSize);
+	}
+
+	public BatchEventSubscriber getSubscriber()
+	{
+		return subscriber;
+	}
+
+	/**
+	 * Run later deliveries on the given executor. A delivery already scheduled still runs on the
+	 * previous one, which must not be shut down until it has run.
+	 */
+	public void setExecutor(Executor executor)
+	{
+		this.executor = executor;
+	}
+
+	public void add(Object event)
+	{
+		pending.add(event);
+		schedule();
+	}
+
+	public void addAll(Collection<?> events)
+	{
+		if (events.isEmpty()) return;
+
+		pending.addAll(events);
+		schedule();
+	}
+
+	/**
+	 * Submit a delivery unless one is already scheduled. If the executor refuses it, the batcher is
+	 * left unscheduled, so the next add() tries again.
+	 */
+	private void schedule()
+	{
+		if (isScheduled.compareAndSet(false, true))
+		{
+			try
+			{
+				executor.execute(this::deliver);
+			}
+			catch (RuntimeException | Error e)
+			{
+				isScheduled.set(false);
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Deliver batches. When the executor runs the next delivery inline (e.g. when saturated), it loops
+	 * here instead of recursing, so the stack doesn't grow with each batch.
+	 */
+	private void deliver()
+	{
+		EventBatcher previous = DELIVERING.get();
+
+		if (previous == this)
+		{
+			isRedeliver = true;
+			return;
+		}
+
+		DELIVERING.set(this);
+
+		try
+		{
+			do
+			{
+				isRedeliver = false;
+				deliverBatch();
+			}
+			while (isRedeliver);
+		}
+		finally
+		{
+			DELIVERING.set(previous);
+		}
+	}
+
+	private void deliverBatch()
+	{
+		try
+		{
+			// Not sized from pending.size(), which is linear in the queue's length.
+			List<Object> batch = new ArrayList<>();
+			Object event;
+
+			while (batch.size() < maxBatchSize && (event = pending.poll()) != null)
+			{
+				batch.add(event);
+			}
+
+			if (!batch.isEmpty())
+			{
+				subscriber.handle(batch);
+			}
+		}
+		catch (Exception e)
+		{
+			LOG.error("Error handling event batch", e);
+		}
+		finally
+		{
+			isScheduled.set(false);
+
+			if (!pending.isEmpty())
+			{
+				try
+				{
+					schedule();
+				}
+				catch (RuntimeException e)
+				{
+					LOG.error("Unable to schedule the next event batch. Pending events are delivered on the next add.", e);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package com.strategicgains.haflinger.dispatch;
+
+import com.strategicgains.haflinger.consumer.EventSubscriber;
+
+/**
+ * Runs event deliveries to subscribers on a {@link DispatchExecutor}. By default, every delivery is independent
+ * and may run concurrently (and out of order) with any other.
+ * 
+ * When ordered by a {@link PartitionKeyExtractor}, deliveries of events with the same partition key
+ * to the same subscriber run serially and in order, while different keys (or subscribers) run in
+ * parallel across a bounded set of lanes (see {@link OrderedExecutor}). Events without a partition
+ * key are delivered unordered.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class EventDispatcher
+{
+	private final DispatchExecutor executor;
+	private final PartitionKeyExtractor partitionKeys;
+	private final OrderedExecutor ordered;
+
+	/**
+	 * Create an unordered dispatcher.
+	 * 
+	 * @param executor runs the deliveries.
+	 */
+	public EventDispatcher(DispatchExecutor executor)
+	{
+		this(executor, null, 0);
+	}
+
+	/**
+	 * Create a dispatcher that orders deliveries by partition key.
+	 * 
+	 * @param executor runs the deliveries.
+	 * @param partitionKeys extracts the partition key from events. Null for unordered delivery.
+	 * @param lanes the number of serial lanes, bounding the number of concurrent ordered deliveries.
+	 */
+	public EventDispatcher(DispatchExecutor executor, PartitionKeyExtractor partitionKeys, int lanes)
+	{
+		this(executor, partitionKeys, (partitionKeys != null ? new OrderedExecutor(executor, lanes) : null));
+	}
+
+	private EventDispatcher(DispatchExecutor executor, PartitionKeyExtractor partitionKeys, OrderedExecutor ordered)
+	{
+		super();
+		this.executor = executor;
+		this.partitionKeys = partitionKeys;
+		this.ordered = ordered;
+	}
+
+	public DispatchExecutor getExecutor()
+	{
+		return executor;
+	}
+
+	/**
+	 * Move this dispatcher's ordered lanes to the given executor, so deliveries already queued in them
+	 * keep their order. This dispatcher should not be used afterward.
+	 * 
+	 * @param executor runs the deliveries.
+	 * @return a new dispatcher with this dispatcher's ordering, running deliveries on the given executor.
+	 */
+	public EventDispatcher withExecutor(DispatchExecutor executor)
+	{
+		if (ordered != null) ordered.setExecutor(executor);
+
+		return new EventDispatcher(executor, partitionKeys, ordered);
+	}
+
+	/**
+	 * @param partitionKeys extracts the partition key from events. Null for unordered delivery.
+	 * @param lanes the number of serial lanes, bounding the number of concurrent ordered deliveries.
+	 * @return a new dispatcher on this dispatcher's executor, with the given ordering.
+	 */
+	public EventDispatcher orderedBy(PartitionKeyExtractor partitionKeys, int lanes)
+	{
+		return new EventDispatcher(executor, partitionKeys, lanes);
+	}
+
+	public boolean isOrdered()
+	{
+		return (ordered != null);
+	}
+
+	/**
+	 * Run the delivery of an event to a subscriber.
+	 * 
+	 * @param subscriber the receiving subscriber.
+	 * @param event the event being delivered.
+	 * @param delivery the task that delivers the event to the subscriber.
+	 */
+	public void execute(EventSubscriber subscriber, Object event, Runnable delivery)
+	{
+		if (ordered != null)
+		{
+			Object key = partitionKeys.getPartitionKey(event);
+
+			if (key != null)
+			{
+				ordered.execute(31 * System.identityHashCode(subscriber) + key.hashCode(), delivery);
+				return;
+			}
+		}
+
+		executor.execute(subscriber, delivery);
+	}
+}
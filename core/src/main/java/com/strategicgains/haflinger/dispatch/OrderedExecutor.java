@@ -0,0 +1,205 @@
+package com.strategicgains.haflinger.dispatch;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs tasks on an underlying Executor such that tasks submitted with equal keys run serially,
+ * in submission order, while tasks with different keys run in parallel.
+ * 
+ * Keys are hashed onto a fixed number of serial lanes, which also bounds how many tasks run
+ * concurrently. Different keys that hash to the same lane are serialized with each other.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class OrderedExecutor
+{
+	private static final Logger LOG = LoggerFactory.getLogger(OrderedExecutor.class);
+	public static final int DEFAULT_LANES = Runtime.getRuntime().availableProcessors() * 2;
+
+	// The maximum number of tasks a lane runs before giving its thread back to the executor.
+	private static final int MAX_TASKS_PER_RUN = 64;
+
+	// The lane running on the current thread, to detect an executor running a rescheduled lane inline.
+	private static final ThreadLocal<Lane> RUNNING = new ThreadLocal<>();
+
+	private final Lane[] lanes;
+
+	public OrderedExecutor(Executor executor)
+	{
+		this(executor, DEFAULT_LANES);
+	}
+
+	/**
+	 * @param executor the underlying executor that runs the lanes.
+	 * @param laneCount the number of serial lanes, which is the maximum number of tasks that run concurrently.
+	 */
+	public OrderedExecutor(Executor executor, int laneCount)
+	{
+		super();
+		this.lanes = new Lane[Math.max(1, laneCount)];
+
+		for (int i = 0; i < lanes.length; i++)
+		{
+			lanes[i] = new Lane(executor);
+		}
+	}
+
+	public int getLaneCount()
+	{
+		return lanes.length;
+	}
+
+	/**
+	 * Run the lanes on the given executor from their next scheduling on. Tasks already queued in a
+	 * lane keep their order. A lane already scheduled still runs on the previous executor, which must
+	 * not be shut down until it has run.
+	 */
+	public void setExecutor(Executor executor)
+	{
+		for (Lane lane : lanes)
+		{
+			lane.executor = executor;
+		}
+	}
+
+	/**
+	 * Run a task after all previously-submitted tasks with an equal key.
+	 * 
+	 * @param key the ordering key. Must not be null.
+	 * @param task the task to run.
+	 */
+	public void execute(Object key, Runnable task)
+	{
+		execute(key.hashCode(), task);
+	}
+
+	/**
+	 * Run a task after all previously-submitted tasks with an equal key hash.
+	 * 
+	 * @param keyHash the hash code of the ordering key.
+	 * @param task the task to run.
+	 */
+	public void execute(int keyHash, Runnable task)
+	{
+		int spread = keyHash ^ (keyHash >>> 16);
+		lanes[Math.floorMod(spread, lanes.length)].execute(task);
+	}
+
+	private static class Lane
+	implements Runnable
+	{
+		private volatile Executor executor;
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+		private final AtomicBoolean isScheduled = new AtomicBoolean();
+		// Only accessed by the thread running the lane.
+		private boolean isRerun;
+
+		public Lane(Executor executor)
+		{
+			super();
+			this.executor = executor;
+		}
+
+		public void execute(Runnable task)
+		{
+			tasks.add(task);
+			schedule();
+		}
+
+		/**
+		 * Submit the lane to the executor unless it is already scheduled. If the executor refuses it,
+		 * the lane is left unscheduled, so the next execute() tries again.
+		 */
+		private void schedule()
+		{
+			if (isScheduled.compareAndSet(false, true))
+			{
+				try
+				{
+					executor.execute(this);
+				}
+				catch (RuntimeException | Error e)
+				{
+					isScheduled.set(false);
+					throw e;
+				}
+			}
+		}
+
+		/**
+		 * Run the lane's tasks. When the executor runs the lane's rescheduling inline (e.g. when saturated),
+		 * the rescheduled run loops here instead of recursing, so the stack doesn't grow with each run.
+		 */
+		@Override
+		public void run()
+		{
+			Lane previous = RUNNING.get();
+
+			if (previous == this)
+			{
+				isRerun = true;
+				return;
+			}
+
+			RUNNING.set(this);
+
+			try
+			{
+				do
+				{
+					isRerun = false;
+					runTasks();
+				}
+				while (isRerun);
+			}
+			finally
+			{
+				RUNNING.set(previous);
+			}
+		}
+
+		private void runTasks()
+		{
+			try
+			{
+				Runnable task;
+				int count = 0;
+
+				while (count++ < MAX_TASKS_PER_RUN && (task = tasks.poll()) != null)
+				{
+					try
+					{
+						task.run();
+					}
+					catch (RuntimeException e)
+					{
+						LOG.error("Ordered task failed", e);
+					}
+				}
+			}
+			finally
+			{
+				isScheduled.set(false);
+
+				if (!tasks.isEmpty())
+				{
+					try
+					{
+						schedule();
+					}
+					catch (RuntimeException e)
+					{
+						LOG.error("Unable to reschedule ordered lane. Its remaining tasks run on its next submission.", e);
+					}
+				}
+			}
+		}
+	}
+}
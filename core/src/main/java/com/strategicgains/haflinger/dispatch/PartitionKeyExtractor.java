@@ -0,0 +1,23 @@
+package com.strategicgains.haflinger.dispatch;
+
+/**
+ * Extracts the partition key of an event. Events with equal partition keys are delivered to
+ * each subscriber serially and in order, when a channel is ordered by a PartitionKeyExtractor.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+@FunctionalInterface
+public interface PartitionKeyExtractor
+{
+	/**
+	 * Uses the partition key of {@link PartitionedEvent}s. Other events are not ordered.
+	 */
+	public static final PartitionKeyExtractor DEFAULT = event -> (event instanceof PartitionedEvent ? ((PartitionedEvent) event).getPartitionKey() : null);
+
+	/**
+	 * @param event an event.
+	 * @return the event's partition key, or null if the event doesn't need to be ordered.
+	 */
+	Object getPartitionKey(Object event);
+}
@@ -0,0 +1,16 @@
+package com.strategicgains.haflinger.dispatch;
+
+/**
+ * Implemented by events that belong to a partition (e.g. an aggregate), so that events with the same
+ * partition key can be delivered in order.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public interface PartitionedEvent
+{
+	/**
+	 * @return the partition key (e.g. an aggregate identifier). Null if the event is not ordered.
+	 */
+	Object getPartitionKey();
+}
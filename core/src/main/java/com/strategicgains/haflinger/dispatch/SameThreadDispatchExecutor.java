@@ -0,0 +1,62 @@
+package com.strategicgains.haflinger.dispatch;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link DispatchExecutor} that runs each delivery on the dispatching thread. There is never
+ * a queue of deliveries, so a slow subscriber directly slows the dispatching thread.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class SameThreadDispatchExecutor
+implements DispatchExecutor
+{
+	private final AtomicInteger active = new AtomicInteger();
+	private volatile boolean isShutdown = false;
+
+	@Override
+	public void execute(Runnable delivery)
+	{
+		if (isShutdown)
+		{
+			throw new RejectedExecutionException("Dispatch executor is shut down");
+		}
+
+		active.incrementAndGet();
+
+		try
+		{
+			delivery.run();
+		}
+		finally
+		{
+			active.decrementAndGet();
+		}
+	}
+
+	@Override
+	public int getQueueDepth()
+	{
+		return 0;
+	}
+
+	@Override
+	public int getActiveCount()
+	{
+		return active.get();
+	}
+
+	@Override
+	public void shutdown()
+	{
+		isShutdown = true;
+	}
+
+	@Override
+	public boolean isShutdown()
+	{
+		return isShutdown;
+	}
+}
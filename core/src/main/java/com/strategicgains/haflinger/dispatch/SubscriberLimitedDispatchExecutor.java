@@ -0,0 +1,335 @@
+package com.strategicgains.haflinger.dispatch;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.strategicgains.haflinger.consumer.EventSubscriber;
+import com.strategicgains.haflinger.dispatch.ThreadPoolDispatchExecutor.Saturation;
+
+/**
+ * Decorates a {@link DispatchExecutor} to cap the number of concurrent deliveries to each subscriber.
+ * When a subscriber is at its cap, further deliveries to it wait in a bounded backlog of its own, and
+ * each completing delivery runs the next one from the backlog on the same thread. So a slow subscriber
+ * holds no more than its cap of the delegate's threads, while other subscribers' deliveries carry on.
+ * 
+ * When a subscriber's backlog is full, the saturation policy either blocks the dispatching thread until
+ * there is room or runs the delivery on the dispatching thread. A delivery submitted while running one
+ * of this executor's deliveries never blocks: it runs on the submitting thread instead, since blocking
+ * it could leave a subscriber with no delivery to drain its backlog.
+ * 
+ * Deliveries submitted without a subscriber via execute(Runnable) are not limited.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class SubscriberLimitedDispatchExecutor
+implements DispatchExecutor
+{
+	private static final Logger LOG = LoggerFactory.getLogger(SubscriberLimitedDispatchExecutor.class);
+
+	private final DispatchExecutor delegate;
+	private final int maxConcurrency;
+	private final int backlogCapacity;
+	private final Saturation saturation;
+	private final ThreadLocal<Boolean> isDelivering = ThreadLocal.withInitial(() -> Boolean.FALSE);
+	private final Map<EventSubscriber, Limiter> limitersBySubscriber = new ConcurrentHashMap<>();
+	private final AtomicInteger waiting = new AtomicInteger();
+
+	/**
+	 * Blocks the dispatching thread while a subscriber's backlog is full, at DispatchExecutors.DEFAULT_QUEUE_CAPACITY.
+	 * 
+	 * @param delegate runs the deliveries.
+	 * @param maxConcurrency the maximum number of concurrent deliveries to each subscriber.
+	 */
+	public SubscriberLimitedDispatchExecutor(DispatchExecutor delegate, int maxConcurrency)
+	{
+		this(delegate, maxConcurrency, DispatchExecutors.DEFAULT_QUEUE_CAPACITY, Saturation.BLOCK);
+	}
+
+	/**
+	 * @param delegate runs the deliveries.
+	 * @param maxConcurrency the maximum number of concurrent deliveries to each subscriber.
+	 * @param backlogCapacity the maximum number of deliveries waiting for each subscriber.
+	 * @param saturation what to do when a subscriber's backlog is full.
+	 */
+	public SubscriberLimitedDispatchExecutor(DispatchExecutor delegate, int maxConcurrency, int backlogCapacity, Saturation saturation)
+	{
+		super();
+		this.delegate = delegate;
+		this.maxConcurrency = Math.max(1, maxConcurrency);
+		this.backlogCapacity = Math.max(0, backlogCapacity);
+		this.saturation = saturation;
+	}
+
+	public int getMaxConcurrency()
+	{
+		return maxConcurrency;
+	}
+
+	public int getBacklogCapacity()
+	{
+		return backlogCapacity;
+	}
+
+	@Override
+	public void execute(Runnable delivery)
+	{
+		delegate.execute(delivery);
+	}
+
+	@Override
+	public void execute(EventSubscriber subscriber, Runnable delivery)
+	{
+		limitersBySubscriber.computeIfAbsent(subscriber, s -> new Limiter(s)).execute(delivery);
+	}
+
+	/**
+	 * Discard the subscriber's limit and the deliveries waiting in its backlog. Its running deliveries still complete.
+	 */
+	@Override
+	public void unsubscribe(EventSubscriber subscriber)
+	{
+		Limiter limiter = limitersBySubscriber.remove(subscriber);
+
+		if (limiter != null) limiter.discard();
+
+		delegate.unsubscribe(subscriber);
+	}
+
+	/**
+	 * @return the delegate's queue depth plus the number of deliveries waiting in subscribers' backlogs.
+	 */
+	@Override
+	public int getQueueDepth()
+	{
+		return delegate.getQueueDepth() + waiting.get();
+	}
+
+	@Override
+	public int getActiveCount()
+	{
+		return delegate.getActiveCount();
+	}
+
+	@Override
+	public void shutdown()
+	{
+		delegate.shutdown();
+
+		// Wake dispatching threads blocked on a full backlog, so they are rejected.
+		for (Limiter limiter : limitersBySubscriber.values())
+		{
+			limiter.wake();
+		}
+	}
+
+	@Override
+	public boolean isShutdown()
+	{
+		return delegate.isShutdown();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit)
+	throws InterruptedException
+	{
+		return delegate.awaitTermination(timeout, unit);
+	}
+
+
+	// SECTION: INNER CLASSES
+
+	/**
+	 * The running deliveries and backlog of one subscriber.
+	 */
+	private final class Limiter
+	{
+		private final EventSubscriber subscriber;
+		private final Queue<Runnable> backlog = new ArrayDeque<>();
+		private int running;
+		private int blocked;
+
+		public Limiter(EventSubscriber subscriber)
+		{
+			super();
+			this.subscriber = subscriber;
+		}
+
+		public void execute(Runnable delivery)
+		{
+			boolean isCallerRuns = false;
+
+			synchronized (this)
+			{
+				while (running >= maxConcurrency)
+				{
+					if (backlog.size() < backlogCapacity)
+					{
+						backlog.add(delivery);
+						waiting.incrementAndGet();
+						return;
+					}
+
+					if (saturation == Saturation.CALLER_RUNS || isDelivering.get())
+					{
+						isCallerRuns = true;
+						break;
+					}
+
+					await();
+				}
+
+				if (!isCallerRuns) running++;
+			}
+
+			if (isCallerRuns)
+			{
+				runOnCaller(delivery);
+				return;
+			}
+
+			try
+			{
+				delegate.execute(subscriber, () -> run(delivery));
+			}
+			catch (RuntimeException | Error e)
+			{
+				release();
+				throw e;
+			}
+		}
+
+		/**
+		 * Discard the backlog and wake any dispatching threads waiting for room in it.
+		 */
+		public synchronized void discard()
+		{
+			waiting.addAndGet(-backlog.size());
+			backlog.clear();
+			notifyAll();
+		}
+
+		public synchronized void wake()
+		{
+			notifyAll();
+		}
+
+		/**
+		 * Wait for room in the backlog. Called holding this limiter's lock.
+		 */
+		private void await()
+		{
+			if (delegate.isShutdown()) throw new RejectedExecutionException("Dispatch executor is shut down");
+
+			blocked++;
+
+			try
+			{
+				wait();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new RejectedExecutionException("Interrupted while waiting to dispatch", e);
+			}
+			finally
+			{
+				blocked--;
+			}
+		}
+
+		/**
+		 * Run the delivery, then the backlog, until the backlog is empty.
+		 */
+		private void run(Runnable delivery)
+		{
+			Runnable next = delivery;
+			isDelivering.set(Boolean.TRUE);
+
+			try
+			{
+				while (next != null)
+				{
+					try
+					{
+						next.run();
+					}
+					catch (RuntimeException e)
+					{
+						LOG.error("Delivery failed", e);
+					}
+					catch (Error e)
+					{
+						// Hand the rest of the backlog to another thread.
+						Runnable remaining = finish();
+
+						if (remaining != null) delegate.execute(subscriber, () -> run(remaining));
+
+						throw e;
+					}
+
+					next = finish();
+				}
+			}
+			finally
+			{
+				isDelivering.set(Boolean.FALSE);
+			}
+		}
+
+		/**
+		 * Run a delivery on the dispatching thread, beyond the cap, because the backlog is full.
+		 */
+		private void runOnCaller(Runnable delivery)
+		{
+			boolean wasDelivering = isDelivering.get();
+			isDelivering.set(Boolean.TRUE);
+
+			try
+			{
+				delivery.run();
+			}
+			finally
+			{
+				isDelivering.set(wasDelivering);
+			}
+		}
+
+		/**
+		 * @return the next delivery from the backlog, or null after releasing this delivery's slot.
+		 */
+		private synchronized Runnable finish()
+		{
+			Runnable next = backlog.poll();
+
+			if (blocked > 0) notifyAll();
+
+			if (next == null)
+			{
+				running--;
+				return null;
+			}
+
+			waiting.decrementAndGet();
+			return next;
+		}
+
+		/**
+		 * Release the slot of a delivery the delegate rejected, leaving the backlog in place.
+		 */
+		private synchronized void release()
+		{
+			running--;
+
+			if (blocked > 0) notifyAll();
+		}
+	}
+}
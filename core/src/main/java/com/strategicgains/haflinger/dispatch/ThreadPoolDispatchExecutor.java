@@ -0,0 +1,159 @@
+package com.strategicgains.haflinger.dispatch;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link DispatchExecutor} that runs deliveries on a fixed maximum number of daemon threads with a
+ * bounded queue of waiting deliveries. Idle threads are released after a keep-alive period.
+ * 
+ * When the queue is full, the saturation policy either blocks the dispatching thread until there is
+ * room or runs the delivery on the dispatching thread. Either way, the dispatching thread is slowed
+ * to the pace of the subscribers and no deliveries are dropped. A delivery submitted by one of the
+ * pool's own threads (e.g. an ordered lane or batch scheduling its next run) never blocks: when the
+ * queue is full, it runs on the submitting thread, since blocking it could leave the pool with no
+ * thread to drain the queue.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class ThreadPoolDispatchExecutor
+implements DispatchExecutor
+{
+	private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+	private static final long KEEP_ALIVE_SECONDS = 60L;
+
+	public enum Saturation
+	{
+		/**
+		 * Block the dispatching thread until the queue has room, unless it is one of the pool's threads.
+		 */
+		BLOCK,
+
+		/**
+		 * Run the delivery on the dispatching thread.
+		 */
+		CALLER_RUNS
+	}
+
+	private final ThreadPoolExecutor pool;
+
+	/**
+	 * @param threads the maximum number of concurrent deliveries.
+	 * @param queueCapacity the maximum number of deliveries waiting for a thread.
+	 * @param saturation what to do when the queue is full.
+	 */
+	public ThreadPoolDispatchExecutor(int threads, int queueCapacity, Saturation saturation)
+	{
+		super();
+		DispatchThreadFactory threadFactory = new DispatchThreadFactory();
+		this.pool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+			new ArrayBlockingQueue<>(queueCapacity), threadFactory, newRejectionHandler(saturation, threadFactory));
+		pool.allowCoreThreadTimeOut(true);
+	}
+
+	@Override
+	public void execute(Runnable delivery)
+	{
+		pool.execute(delivery);
+	}
+
+	@Override
+	public int getQueueDepth()
+	{
+		return pool.getQueue().size();
+	}
+
+	@Override
+	public int getActiveCount()
+	{
+		return pool.getActiveCount();
+	}
+
+	public int getMaximumPoolSize()
+	{
+		return pool.getMaximumPoolSize();
+	}
+
+	@Override
+	public void shutdown()
+	{
+		pool.shutdown();
+	}
+
+	@Override
+	public boolean isShutdown()
+	{
+		return pool.isShutdown();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit)
+	throws InterruptedException
+	{
+		return pool.awaitTermination(timeout, unit);
+	}
+
+	private static RejectedExecutionHandler newRejectionHandler(Saturation saturation, DispatchThreadFactory threadFactory)
+	{
+		if (saturation == Saturation.CALLER_RUNS)
+		{
+			return new ThreadPoolExecutor.CallerRunsPolicy();
+		}
+
+		return (delivery, executor) -> {
+			if (executor.isShutdown())
+			{
+				throw new RejectedExecutionException("Dispatch executor is shut down");
+			}
+
+			if (threadFactory.isPoolThread())
+			{
+				delivery.run();
+				return;
+			}
+
+			try
+			{
+				executor.getQueue().put(delivery);
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new RejectedExecutionException("Interrupted while waiting to dispatch", e);
+			}
+		};
+	}
+
+	private static class DispatchThreadFactory
+	implements ThreadFactory
+	{
+		private final String prefix = "haflinger-dispatch-" + POOL_NUMBER.incrementAndGet() + "-";
+		private final AtomicInteger threadNumber = new AtomicInteger();
+		private final ThreadLocal<Boolean> isPoolThread = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+		@Override
+		public Thread newThread(Runnable r)
+		{
+			Thread thread = new Thread(() -> {
+				isPoolThread.set(Boolean.TRUE);
+				r.run();
+			}, prefix + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+		/**
+		 * @return true if the calling thread was created by this factory.
+		 */
+		public boolean isPoolThread()
+		{
+			return isPoolThread.get();
+		}
+	}
+}
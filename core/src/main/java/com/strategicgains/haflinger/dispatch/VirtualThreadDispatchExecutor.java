@@ -0,0 +1,128 @@
+package com.strategicgains.haflinger.dispatch;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link DispatchExecutor} that runs each delivery on its own virtual thread, so subscribers that
+ * block on I/O (e.g. JDBC or HTTP calls) don't tie up platform threads.
+ * 
+ * Virtual threads require a Java 21 or later runtime. They are looked up at runtime so the library
+ * still builds and runs on Java 17; use {@link #isSupported()} to check for them. There is no limit
+ * on concurrent deliveries, so normally combine with a per-subscriber limit (see
+ * {@link DispatchExecutors#virtualThreads(int)}).
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class VirtualThreadDispatchExecutor
+implements DispatchExecutor
+{
+	private static final MethodHandle NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutorFactory();
+
+	private final ExecutorService executor;
+	private final AtomicInteger active = new AtomicInteger();
+
+	/**
+	 * @throws UnsupportedOperationException if the runtime doesn't support virtual threads.
+	 */
+	public VirtualThreadDispatchExecutor()
+	{
+		super();
+
+		if (!isSupported())
+		{
+			throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+		}
+
+		try
+		{
+			this.executor = (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke();
+		}
+		catch (Throwable t)
+		{
+			throw new UnsupportedOperationException("Unable to create a virtual thread executor", t);
+		}
+	}
+
+	/**
+	 * @return true if the runtime supports virtual threads.
+	 */
+	public static boolean isSupported()
+	{
+		return (NEW_VIRTUAL_THREAD_EXECUTOR != null);
+	}
+
+	@Override
+	public void execute(Runnable delivery)
+	{
+		active.incrementAndGet();
+
+		try
+		{
+			executor.execute(() -> {
+				try
+				{
+					delivery.run();
+				}
+				finally
+				{
+					active.decrementAndGet();
+				}
+			});
+		}
+		catch (RuntimeException e)
+		{
+			active.decrementAndGet();
+			throw e;
+		}
+	}
+
+	@Override
+	public int getQueueDepth()
+	{
+		return 0;
+	}
+
+	@Override
+	public int getActiveCount()
+	{
+		return active.get();
+	}
+
+	@Override
+	public void shutdown()
+	{
+		executor.shutdown();
+	}
+
+	@Override
+	public boolean isShutdown()
+	{
+		return executor.isShutdown();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit)
+	throws InterruptedException
+	{
+		return executor.awaitTermination(timeout, unit);
+	}
+
+	private static MethodHandle findVirtualThreadExecutorFactory()
+	{
+		try
+		{
+			return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+		}
+		catch (NoSuchMethodException | IllegalAccessException e)
+		{
+			return null;
+		}
+	}
+}
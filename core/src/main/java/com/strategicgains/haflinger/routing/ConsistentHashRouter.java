@@ -0,0 +1,321 @@
+package com.strategicgains.haflinger.routing;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.strategicgains.haflinger.channel.EventChannel;
+import com.strategicgains.haflinger.dispatch.PartitionKeyExtractor;
+
+/**
+ * Shards one logical stream of events across a set of partition {@link EventChannel}s, using a
+ * consistent hash of each event's partition key. All events with the same key go to the same
+ * partition, so a partition that delivers in order (e.g. one ordered by the same
+ * {@link PartitionKeyExtractor}) keeps per-key order.
+ *
+ * Each partition owns a number of virtual nodes on a hash ring. Adding or removing a partition only
+ * remaps the keys of the ring segments it gains or loses, roughly 1/N of the keys, instead of
+ * reshuffling them all. Events without a partition key are spread round-robin.
+ *
+ * Strings and enums are hashed by their text, so the mapping of those keys is the same in every JVM.
+ * Other keys are hashed by hashCode(), so they map the same way across JVMs only if their hashCode()
+ * is defined by value (as for boxed numbers, UUID or records of such values), not by identity.
+ *
+ * The ring is an immutable snapshot replaced on each change, so publishing reads it without locking.
+ *
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class ConsistentHashRouter
+implements EventChannel
+{
+	public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+	private final PartitionKeyExtractor partitionKeys;
+	private final int virtualNodes;
+	private final AtomicInteger roundRobin = new AtomicInteger();
+	private volatile Ring ring = Ring.EMPTY;
+
+	public ConsistentHashRouter()
+	{
+		this(PartitionKeyExtractor.DEFAULT);
+	}
+
+	public ConsistentHashRouter(PartitionKeyExtractor partitionKeys)
+	{
+		this(partitionKeys, DEFAULT_VIRTUAL_NODES);
+	}
+
+	/**
+	 * @param partitionKeys extracts the partition key from events.
+	 * @param virtualNodes the number of points each partition owns on the ring. More points spread keys more evenly.
+	 */
+	public ConsistentHashRouter(PartitionKeyExtractor partitionKeys, int virtualNodes)
+	{
+		super();
+		this.partitionKeys = partitionKeys;
+		this.virtualNodes = Math.max(1, virtualNodes);
+	}
+
+	/**
+	 * Add a partition to the ring. Its position depends only on its name, so the same names always
+	 * produce the same mapping of keys to partitions.
+	 *
+	 * @param name the unique partition name.
+	 * @param channel the partition's channel.
+	 * @return true if the name is unique and the partition was added. Otherwise, false.
+	 */
+	public synchronized boolean addPartition(String name, EventChannel channel)
+	{
+		if (ring.partitions.containsKey(name)) return false;
+
+		Map<String, EventChannel> partitions = new LinkedHashMap<>(ring.partitions);
+		partitions.put(name, channel);
+		ring = new Ring(partitions, virtualNodes);
+		return true;
+	}
+
+	/**
+	 * Remove a partition from the ring. Its keys are remapped to the remaining partitions. The
+	 * removed channel is not shut down.
+	 *
+	 * @param name the partition name.
+	 * @return the removed channel, or null if there is no such partition.
+	 */
+	public synchronized EventChannel removePartition(String name)
+	{
+		if (!ring.partitions.containsKey(name)) return null;
+
+		Map<String, EventChannel> partitions = new LinkedHashMap<>(ring.partitions);
+		EventChannel removed = partitions.remove(name);
+		ring = new Ring(partitions, virtualNodes);
+		return removed;
+	}
+
+	/**
+	 * @return the partition names, in the order they were added.
+	 */
+	public Collection<String> getPartitionNames()
+	{
+		return Collections.unmodifiableCollection(ring.partitions.keySet());
+	}
+
+	/**
+	 * @param key a partition key.
+	 * @return the channel of the partition that owns the key, or null if the key is null or there are no partitions.
+	 */
+	public EventChannel getPartition(Object key)
+	{
+		return (key == null ? null : ring.get(hash(key)));
+	}
+
+	@Override
+	public boolean publish(Object event)
+	{
+		EventChannel partition = route(ring, event);
+		return (partition != null && partition.publish(event));
+	}
+
+	@Override
+	public CompletionStage<Boolean> publishAsync(Object event)
+	{
+		EventChannel partition = route(ring, event);
+
+		if (partition == null) return CompletableFuture.completedFuture(false);
+
+		return partition.publishAsync(event);
+	}
+
+	/**
+	 * Split the batch by partition, preserving the order of events within each, and publish each
+	 * partition's events as a single batch.
+	 *
+	 * @return the number of events accepted by their partitions.
+	 */
+	@Override
+	public int publishAll(Collection<?> events)
+	{
+		Ring ring = this.ring;
+
+		if (ring.isEmpty()) return 0;
+
+		Map<EventChannel, List<Object>> batches = new IdentityHashMap<>();
+
+		for (Object event : events)
+		{
+			batches.computeIfAbsent(route(ring, event), p -> new ArrayList<>()).add(event);
+		}
+
+		int count = 0;
+
+		for (Map.Entry<EventChannel, List<Object>> batch : batches.entrySet())
+		{
+			count += batch.getKey().publishAll(batch.getValue());
+		}
+
+		return count;
+	}
+
+	@Override
+	public void shutdown()
+	{
+		for (EventChannel partition : ring.partitions.values())
+		{
+			partition.shutdown();
+		}
+	}
+
+	/**
+	 * Shut down each partition gracefully, sharing the timeout between them.
+	 */
+	@Override
+	public boolean shutdown(Duration timeout)
+	{
+		long deadline = System.nanoTime() + timeout.toNanos();
+		boolean isDrained = true;
+
+		for (EventChannel partition : ring.partitions.values())
+		{
+			isDrained &= partition.shutdown(Duration.ofNanos(Math.max(0L, deadline - System.nanoTime())));
+		}
+
+		return isDrained;
+	}
+
+	private EventChannel route(Ring ring, Object event)
+	{
+		if (ring.isEmpty()) return null;
+
+		Object key = partitionKeys.getPartitionKey(event);
+
+		if (key == null)
+		{
+			return ring.channels[Math.floorMod(roundRobin.getAndIncrement(), ring.channels.length)];
+		}
+
+		return ring.get(hash(key));
+	}
+
+	/**
+	 * Hash strings and enums by their text, since an enum's hashCode() is its identity and differs between JVMs.
+	 */
+	private static long hash(Object key)
+	{
+		if (key instanceof CharSequence) return fnv(key.toString());
+		if (key instanceof Enum) return fnv(((Enum<?>) key).name());
+
+		return mix(key.hashCode());
+	}
+
+	/**
+	 * The MurmurHash3 64-bit finalizer, spreading the bits of a hash across the ring.
+	 */
+	private static long mix(long h)
+	{
+		h ^= (h >>> 33);
+		h *= 0xff51afd7ed558ccdL;
+		h ^= (h >>> 33);
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= (h >>> 33);
+		return h;
+	}
+
+	/**
+	 * Virtual nodes are hashed by name, so ring positions are stable across JVMs.
+	 */
+	private static long hashVirtualNode(String partition, int node)
+	{
+		return fnv(partition + '#' + node);
+	}
+
+	/**
+	 * 64-bit FNV-1a of the UTF-8 bytes of a string, which is the same in every JVM.
+	 */
+	private static long fnv(String text)
+	{
+		long h = 0xcbf29ce484222325L;
+
+		for (byte b : text.getBytes(StandardCharsets.UTF_8))
+		{
+			h ^= (b & 0xff);
+			h *= 0x100000001b3L;
+		}
+
+		return mix(h);
+	}
+
+	/**
+	 * An immutable ring of virtual nodes, sorted by hash.
+	 */
+	private static final class Ring
+	{
+		private static final Ring EMPTY = new Ring(Collections.emptyMap(), 0);
+
+		private final Map<String, EventChannel> partitions;
+		private final EventChannel[] channels;
+		private final long[] hashes;
+		private final EventChannel[] owners;
+
+		private Ring(Map<String, EventChannel> partitions, int virtualNodes)
+		{
+			super();
+			this.partitions = partitions;
+			this.channels = partitions.values().toArray(new EventChannel[0]);
+			long[][] nodes = new long[partitions.size() * virtualNodes][];
+			int n = 0;
+			int p = 0;
+
+			for (String name : partitions.keySet())
+			{
+				for (int i = 0; i < virtualNodes; i++)
+				{
+					nodes[n++] = new long[] {hashVirtualNode(name, i), p};
+				}
+
+				p++;
+			}
+
+			Arrays.sort(nodes, (a, b) -> Long.compare(a[0], b[0]));
+			this.hashes = new long[nodes.length];
+			this.owners = new EventChannel[nodes.length];
+
+			for (int i = 0; i < nodes.length; i++)
+			{
+				hashes[i] = nodes[i][0];
+				owners[i] = channels[(int) nodes[i][1]];
+			}
+		}
+
+		public boolean isEmpty()
+		{
+			return (channels.length == 0);
+		}
+
+		/**
+		 * @return the owner of the first virtual node at or after the hash, wrapping around the ring.
+		 */
+		public EventChannel get(long hash)
+		{
+			if (owners.length == 0) return null;
+
+			int i = Arrays.binarySearch(hashes, hash);
+
+			if (i < 0)
+			{
+				i = -(i + 1);
+			}
+
+			return owners[(i == owners.length ? 0 : i)];
+		}
+	}
+}
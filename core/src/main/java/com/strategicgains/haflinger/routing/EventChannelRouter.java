@@ -1,7 +1,20 @@
 package com.strategicgains.haflinger.routing;
 
-import java.util.LinkedHashSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.strategicgains.haflinger.channel.EventChannel;
 
@@ -9,41 +22,357 @@ import com.strategicgains.haflinger.channel.EventChannel;
  * Selectively publishes to {@link EventChannel}s based on {@link RoutingRule}s. If the
  * rule associated with a channel applies, the message is published to that channel.
  * 
+ * Routes are indexed by the event types declared by {@link TypedRoutingRule}s, so each event is only
+ * tested against the rules for its class (and rules that declare no types) rather than against every
+ * rule. The lookup for each event class is cached until a channel is added or removed.
+ * 
+ * Matching routes are tried in priority order (highest first), then in the order they were added. The
+ * {@link RoutingMode} determines whether the event goes to all of them (the default), only the first,
+ * or the first that accepts it.
+ * 
  * @author tfredrich
  * @since 3 Jun 2016
  */
 public class EventChannelRouter
 implements EventChannel
 {
-	private Set<RoutedEventChannel> channels = new LinkedHashSet<>();
-	
+	private static final Logger LOG = LoggerFactory.getLogger(EventChannelRouter.class);
+	private static final Comparator<RoutedEventChannel> BY_PRIORITY = (a, b) -> Integer.compare(b.priority, a.priority);
+
+	private EventTypeIndex<RoutedEventChannel> routes = new EventTypeIndex<>(RoutedEventChannel::getEventTypes);
+	private volatile RoutingMode mode;
+
+	public EventChannelRouter()
+	{
+		this(RoutingMode.ALL_MATCH);
+	}
+
+	public EventChannelRouter(RoutingMode mode)
+	{
+		super();
+		mode(mode);
+	}
+
+	/**
+	 * @param mode how to choose among the routes that match an event.
+	 * @return this router to facilitate method chaining.
+	 */
+	public EventChannelRouter mode(RoutingMode mode)
+	{
+		this.mode = Objects.requireNonNull(mode, "mode");
+		return this;
+	}
+
+	public RoutingMode getMode()
+	{
+		return mode;
+	}
+
 	public boolean addChannel(RoutingRule rule, EventChannel channel)
 	{
-		return channels.add(new RoutedEventChannel(rule, channel));
+		return addChannel(rule, channel, 0);
 	}
 
+	/**
+	 * @param rule selects the events to publish to the channel.
+	 * @param channel the destination channel.
+	 * @param priority routes with a higher priority are tried first. Zero by default.
+	 * @return true if the route was added.
+	 */
+	public boolean addChannel(RoutingRule rule, EventChannel channel, int priority)
+	{
+		return routes.add(new RoutedEventChannel(rule, channel, priority), BY_PRIORITY);
+	}
+
+	/**
+	 * Remove every route to the given channel.
+	 * 
+	 * @param channel a routed channel.
+	 * @return true if the channel was routed. Otherwise, false.
+	 */
+	public boolean removeChannel(EventChannel channel)
+	{
+		boolean isRemoved = false;
+
+		for (RoutedEventChannel route : routes.values())
+		{
+			if (route.channel == channel)
+			{
+				isRemoved |= routes.remove(route);
+			}
+		}
+
+		return isRemoved;
+	}
+
+	/**
+	 * Route the event according to the routing mode. Failures of individual routes are logged
+	 * rather than thrown, so they do not prevent publishing to the other routes.
+	 * 
+	 * @return true if the event was published according to the {@link RoutingMode}: to every matching route, to the first, or to any.
+	 */
 	@Override
 	public boolean publish(Object event)
 	{
-		boolean isPublished = false;
+		return route(event, null);
+	}
+
+	/**
+	 * Route the event according to the routing mode, reporting the outcome of each route tried.
+	 * 
+	 * @param event the event to publish.
+	 * @return the per-route outcome.
+	 */
+	public RoutingResult route(Object event)
+	{
+		RoutingResult result = new RoutingResult();
+		result.setPublished(route(event, result));
+		return result;
+	}
+
+	private boolean route(Object event, RoutingResult result)
+	{
+		RoutingMode mode = this.mode;
+		List<RoutedEventChannel> candidates = routes.get(event.getClass());
+		int matched = 0;
+		int published = 0;
+
+		for (int i = 0; i < candidates.size(); i++)
+		{
+			RoutedEventChannel route = candidates.get(i);
+			boolean isMatched = false;
+			boolean isAccepted = false;
+
+			try
+			{
+				isMatched = route.test(event);
+
+				if (isMatched)
+				{
+					isAccepted = route.publish(event);
+					if (result != null) result.published(route.channel, isAccepted);
+				}
+			}
+			catch (RuntimeException e)
+			{
+				// A rule that fails counts as a failed route, not a miss.
+				isMatched = true;
+				if (result != null) result.failed(route.channel, e);
+				else LOG.error("Routing error occurred on channel: " + route.channel, e);
+			}
+
+			if (!isMatched) continue;
+
+			matched++;
+			if (isAccepted) published++;
+
+			if (mode == RoutingMode.FIRST_MATCH || (mode == RoutingMode.PRIORITY && isAccepted)) break;
+		}
+
+		if (matched == 0) return false;
+
+		return (mode == RoutingMode.PRIORITY ? published > 0 : published == matched);
+	}
+
+	/**
+	 * Publishes the event asynchronously according to the routing mode. With PRIORITY, each fallback
+	 * is only tried once the previous route has rejected the event or failed.
+	 * 
+	 * @return a stage that completes with the same result as publish(Object) once the routes have responded. With ALL_MATCH, completes exceptionally if any route failed.
+	 */
+	@Override
+	public CompletionStage<Boolean> publishAsync(Object event)
+	{
+		List<RoutedEventChannel> candidates = routes.get(event.getClass());
+		RoutingMode mode = this.mode;
+
+		if (mode == RoutingMode.PRIORITY) return publishAsync(event, candidates, 0);
+
+		CompletableFuture<Boolean> result = null;
+
+		for(RoutedEventChannel route : candidates)
+		{
+			CompletionStage<Boolean> routed;
+
+			try
+			{
+				if (!route.test(event)) continue;
+
+				routed = route.publishAsync(event);
+			}
+			catch (RuntimeException e)
+			{
+				routed = CompletableFuture.failedFuture(e);
+			}
+
+			if (mode == RoutingMode.FIRST_MATCH) return routed;
+
+			result = (result == null ? routed.toCompletableFuture() : result.thenCombine(routed, Boolean::logicalAnd));
+		}
+
+		return (result == null ? CompletableFuture.completedFuture(false) : result);
+	}
+
+	/**
+	 * Try the matching routes from the given index, one at a time, until one accepts the event.
+	 */
+	private CompletionStage<Boolean> publishAsync(Object event, List<RoutedEventChannel> candidates, int start)
+	{
+		for (int i = start; i < candidates.size(); i++)
+		{
+			RoutedEventChannel route = candidates.get(i);
+
+			try
+			{
+				if (!route.test(event)) continue;
+			}
+			catch (RuntimeException e)
+			{
+				LOG.error("Routing error occurred on channel: " + route.channel, e);
+				continue;
+			}
+
+			int next = i + 1;
+			return route.publishAsync(event)
+				.handle((isAccepted, failure) -> (failure == null && isAccepted))
+				.thenCompose(isAccepted -> (isAccepted ? CompletableFuture.completedFuture(true) : publishAsync(event, candidates, next)));
+		}
+
+		return CompletableFuture.completedFuture(false);
+	}
+
+	/**
+	 * Routes a batch of events, publishing the events that match each rule to its channel as a
+	 * single batch. With PRIORITY, events are routed one at a time so each can fall back.
+	 * 
+	 * @return the number of events published according to the {@link RoutingMode}.
+	 */
+	@Override
+	public int publishAll(Collection<?> events)
+	{
+		RoutingMode mode = this.mode;
 
-		for(RoutedEventChannel route : channels)
+		if (mode == RoutingMode.PRIORITY) return EventChannel.super.publishAll(events);
+
+		Map<RoutedEventChannel, Batch> batches = new IdentityHashMap<>();
+		int[] matched = new int[events.size()];
+		int[] accepted = new int[events.size()];
+		int i = 0;
+
+		for (Object event : events)
+		{
+			for (RoutedEventChannel route : routes.get(event.getClass()))
+			{
+				boolean isMatched;
+
+				try
+				{
+					isMatched = route.test(event);
+				}
+				catch (RuntimeException e)
+				{
+					// Counted as matched but never accepted, so the event isn't counted as published.
+					LOG.error("Routing error occurred on channel: " + route.channel, e);
+					matched[i]++;
+					if (mode == RoutingMode.FIRST_MATCH) break;
+					continue;
+				}
+
+				if (isMatched)
+				{
+					batches.computeIfAbsent(route, r -> new Batch()).add(i, event);
+					matched[i]++;
+
+					if (mode == RoutingMode.FIRST_MATCH) break;
+				}
+			}
+
+			i++;
+		}
+
+		for (Map.Entry<RoutedEventChannel, Batch> entry : batches.entrySet())
 		{
-			if (route.test(event))
+			Batch batch = entry.getValue();
+
+			try
 			{
-				isPublished = route.publish(event);
+				// Channels accept a prefix of the batch unless events are dropped individually.
+				int count = entry.getKey().channel.publishAll(batch.events);
+
+				for (int j = 0; j < count; j++)
+				{
+					accepted[batch.indexes.get(j)]++;
+				}
+			}
+			catch (RuntimeException e)
+			{
+				LOG.error("Routing error occurred on channel: " + entry.getKey().channel, e);
 			}
 		}
 
-		return isPublished;
+		int count = 0;
+
+		for (int j = 0; j < matched.length; j++)
+		{
+			if (matched[j] > 0 && accepted[j] == matched[j]) count++;
+		}
+
+		return count;
 	}
 
+	/**
+	 * Shut down each routed channel once, even if it is the target of several routes.
+	 */
 	@Override
 	public void shutdown()
 	{
-		for(RoutedEventChannel route : channels)
+		for(EventChannel channel : getChannels())
 		{
-			route.shutdown();
+			channel.shutdown();
+		}
+	}
+
+	/**
+	 * Shut down each routed channel gracefully, sharing the timeout between them.
+	 */
+	@Override
+	public boolean shutdown(Duration timeout)
+	{
+		long deadline = System.nanoTime() + timeout.toNanos();
+		boolean isDrained = true;
+
+		for(EventChannel channel : getChannels())
+		{
+			isDrained &= channel.shutdown(Duration.ofNanos(Math.max(0L, deadline - System.nanoTime())));
+		}
+
+		return isDrained;
+	}
+
+	/**
+	 * @return the distinct routed channels, compared by identity.
+	 */
+	private Set<EventChannel> getChannels()
+	{
+		Set<EventChannel> channels = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		for(RoutedEventChannel route : routes.values())
+		{
+			channels.add(route.channel);
+		}
+
+		return channels;
+	}
+
+	private static class Batch
+	{
+		private final List<Object> events = new ArrayList<>();
+		private final List<Integer> indexes = new ArrayList<>();
+
+		public void add(int index, Object event)
+		{
+			indexes.add(index);
+			events.add(event);
 		}
 	}
 
@@ -52,11 +381,18 @@ implements EventChannel
 	{
 		public RoutingRule rule;
 		public EventChannel channel;
+		public int priority;
 
-		public RoutedEventChannel(RoutingRule rule, EventChannel channel)
+		public RoutedEventChannel(RoutingRule rule, EventChannel channel, int priority)
 		{
 			this.rule = rule;
 			this.channel = channel;
+			this.priority = priority;
+		}
+
+		public Collection<Class<?>> getEventTypes()
+		{
+			return (rule instanceof TypedRoutingRule ? ((TypedRoutingRule) rule).getEventTypes() : null);
 		}
 
 		public boolean publish(Object event)
@@ -64,9 +400,16 @@ implements EventChannel
 			return channel.publish(event);
 		}
 
-		public void shutdown()
+		public CompletionStage<Boolean> publishAsync(Object event)
 		{
-			channel.shutdown();
+			try
+			{
+				return channel.publishAsync(event);
+			}
+			catch (RuntimeException e)
+			{
+				return CompletableFuture.failedFuture(e);
+			}
 		}
 
 		@Override
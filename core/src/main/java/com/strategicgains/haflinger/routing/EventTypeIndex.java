@@ -0,0 +1,221 @@
+package com.strategicgains.haflinger.routing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Indexes values (e.g. subscribers or routes) by the event types they declare, answering
+ * "which values accept an event of this class?" with a single map lookup.
+ *
+ * A value accepts an event class if it declares no types (it accepts everything) or if one of its
+ * declared types is the event class, a superclass or an implemented interface. The answer for each
+ * event class is computed lazily on first use and cached until the index is changed via add(),
+ * remove() or clear().
+ *
+ * Reads are lock-free. Changes are synchronized and replace the whole snapshot, so a reader always
+ * sees a consistent set of values.
+ *
+ * @author tfredrich
+ * @since 18 Oct 2026
+ *
+ * @param <T> the type of the indexed values.
+ */
+public class EventTypeIndex<T>
+{
+	private final Function<? super T, Collection<Class<?>>> eventTypes;
+	private volatile Snapshot<T> snapshot = new Snapshot<>(Collections.emptyList());
+
+	/**
+	 * @param eventTypes determines the declared event types of a value. Returning null or an empty collection accepts all events.
+	 */
+	public EventTypeIndex(Function<? super T, Collection<Class<?>>> eventTypes)
+	{
+		super();
+		this.eventTypes = eventTypes;
+	}
+
+	/**
+	 * Add a value to the index, unless it is already present.
+	 *
+	 * @param value the value to index.
+	 * @return true if the value was added. Otherwise, false.
+	 */
+	public synchronized boolean add(T value)
+	{
+		if (snapshot.contains(value)) return false;
+
+		List<Entry<T>> entries = new ArrayList<>(snapshot.entries);
+		entries.add(new Entry<>(value, eventTypes.apply(value)));
+		snapshot = new Snapshot<>(entries);
+		return true;
+	}
+
+	/**
+	 * Add a value to the index, unless it is already present, keeping the values sorted by the
+	 * given order. Values that are equal in the order keep the order they were added.
+	 *
+	 * @param value the value to index.
+	 * @param order the order of the values.
+	 * @return true if the value was added. Otherwise, false.
+	 */
+	public synchronized boolean add(T value, Comparator<? super T> order)
+	{
+		if (snapshot.contains(value)) return false;
+
+		List<Entry<T>> entries = new ArrayList<>(snapshot.entries);
+		int i = entries.size();
+
+		while (i > 0 && order.compare(entries.get(i - 1).value, value) > 0)
+		{
+			i--;
+		}
+
+		entries.add(i, new Entry<>(value, eventTypes.apply(value)));
+		snapshot = new Snapshot<>(entries);
+		return true;
+	}
+
+	/**
+	 * Remove a value from the index.
+	 *
+	 * @param value the value to remove.
+	 * @return true if the value was present. Otherwise, false.
+	 */
+	public synchronized boolean remove(T value)
+	{
+		if (!snapshot.contains(value)) return false;
+
+		List<Entry<T>> entries = new ArrayList<>(snapshot.entries);
+		entries.removeIf(e -> e.value.equals(value));
+		snapshot = new Snapshot<>(entries);
+		return true;
+	}
+
+	public synchronized void clear()
+	{
+		snapshot = new Snapshot<>(Collections.emptyList());
+	}
+
+	/**
+	 * Get the values that accept events of the given class, in the order they were added.
+	 *
+	 * @param eventType the class of an event.
+	 * @return an unmodifiable, possibly-empty list. Never null.
+	 */
+	public List<T> get(Class<?> eventType)
+	{
+		return snapshot.get(eventType);
+	}
+
+	/**
+	 * @param eventType the class of an event.
+	 * @return true if at least one value accepts events of the given class.
+	 */
+	public boolean matches(Class<?> eventType)
+	{
+		return !snapshot.get(eventType).isEmpty();
+	}
+
+	/**
+	 * @return an unmodifiable list of all indexed values, in the order they were added.
+	 */
+	public List<T> values()
+	{
+		return snapshot.values;
+	}
+
+	public boolean isEmpty()
+	{
+		return snapshot.entries.isEmpty();
+	}
+
+	public int size()
+	{
+		return snapshot.entries.size();
+	}
+
+	private static class Snapshot<T>
+	{
+		private final List<Entry<T>> entries;
+		private final List<T> values;
+		private final Map<Class<?>, List<T>> byEventType = new ConcurrentHashMap<>();
+
+		public Snapshot(List<Entry<T>> entries)
+		{
+			super();
+			this.entries = entries;
+			List<T> values = new ArrayList<>(entries.size());
+
+			for (Entry<T> entry : entries)
+			{
+				values.add(entry.value);
+			}
+
+			this.values = Collections.unmodifiableList(values);
+		}
+
+		public boolean contains(T value)
+		{
+			return values.contains(value);
+		}
+
+		public List<T> get(Class<?> eventType)
+		{
+			List<T> matches = byEventType.get(eventType);
+
+			if (matches == null)
+			{
+				matches = resolve(eventType);
+				byEventType.putIfAbsent(eventType, matches);
+			}
+
+			return matches;
+		}
+
+		private List<T> resolve(Class<?> eventType)
+		{
+			List<T> matches = new ArrayList<>();
+
+			for (Entry<T> entry : entries)
+			{
+				if (entry.accepts(eventType))
+				{
+					matches.add(entry.value);
+				}
+			}
+
+			return (matches.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(matches));
+		}
+	}
+
+	private static class Entry<T>
+	{
+		private final T value;
+		private final Class<?>[] eventTypes;
+
+		public Entry(T value, Collection<Class<?>> eventTypes)
+		{
+			super();
+			this.value = value;
+			this.eventTypes = (eventTypes == null || eventTypes.isEmpty() ? null : eventTypes.toArray(new Class<?>[0]));
+		}
+
+		public boolean accepts(Class<?> eventType)
+		{
+			if (eventTypes == null) return true;
+
+			for (Class<?> type : eventTypes)
+			{
+				if (type.isAssignableFrom(eventType)) return true;
+			}
+
+			return false;
+		}
+	}
+}
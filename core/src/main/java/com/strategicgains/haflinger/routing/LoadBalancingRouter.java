@@ -0,0 +1,219 @@
+package com.strategicgains.haflinger.routing;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.strategicgains.haflinger.channel.EventChannel;
+import com.strategicgains.haflinger.channel.Measurable;
+
+/**
+ * Spreads events across several equivalent {@link EventChannel}s, publishing each event to exactly one
+ * of them as chosen by the {@link LoadBalancingStrategy}. For example, several SimpleEventChannels,
+ * each with its own subscription monitor thread, can share the load of one logical channel.
+ *
+ * There is no ordering between events sent to different channels. To keep per-key order, use a
+ * {@link ConsistentHashRouter} instead.
+ *
+ * The channels are held in an immutable array replaced on each change, so publishing reads them
+ * without locking.
+ *
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class LoadBalancingRouter
+implements EventChannel
+{
+	private final LoadBalancingStrategy strategy;
+	private final AtomicInteger next = new AtomicInteger();
+	private volatile EventChannel[] channels = new EventChannel[0];
+
+	public LoadBalancingRouter()
+	{
+		this(LoadBalancingStrategy.ROUND_ROBIN);
+	}
+
+	public LoadBalancingRouter(LoadBalancingStrategy strategy)
+	{
+		super();
+		this.strategy = Objects.requireNonNull(strategy, "strategy");
+	}
+
+	public LoadBalancingStrategy getStrategy()
+	{
+		return strategy;
+	}
+
+	/**
+	 * @param channel a channel to share the load.
+	 * @return true if the channel was added. False if it was already present.
+	 */
+	public synchronized boolean addChannel(EventChannel channel)
+	{
+		if (indexOf(channel) >= 0) return false;
+
+		EventChannel[] newChannels = Arrays.copyOf(channels, channels.length + 1);
+		newChannels[channels.length] = channel;
+		channels = newChannels;
+		return true;
+	}
+
+	/**
+	 * Stop sending events to the channel. The channel is not shut down.
+	 *
+	 * @param channel a channel sharing the load.
+	 * @return true if the channel was present. Otherwise, false.
+	 */
+	public synchronized boolean removeChannel(EventChannel channel)
+	{
+		int i = indexOf(channel);
+
+		if (i < 0) return false;
+
+		EventChannel[] newChannels = new EventChannel[channels.length - 1];
+		System.arraycopy(channels, 0, newChannels, 0, i);
+		System.arraycopy(channels, i + 1, newChannels, i, newChannels.length - i);
+		channels = newChannels;
+		return true;
+	}
+
+	/**
+	 * @return the channels sharing the load, in the order they were added.
+	 */
+	public List<EventChannel> getChannels()
+	{
+		return Collections.unmodifiableList(Arrays.asList(channels));
+	}
+
+	@Override
+	public boolean publish(Object event)
+	{
+		EventChannel channel = select(channels);
+		return (channel != null && channel.publish(event));
+	}
+
+	@Override
+	public CompletionStage<Boolean> publishAsync(Object event)
+	{
+		EventChannel channel = select(channels);
+
+		if (channel == null) return CompletableFuture.completedFuture(false);
+
+		return channel.publishAsync(event);
+	}
+
+	/**
+	 * Publish the whole batch to a single channel, selected as for one event, preserving the
+	 * batching benefit of the channel's publishAll().
+	 */
+	@Override
+	public int publishAll(Collection<?> events)
+	{
+		EventChannel channel = select(channels);
+		return (channel == null ? 0 : channel.publishAll(events));
+	}
+
+	@Override
+	public void shutdown()
+	{
+		for (EventChannel channel : channels)
+		{
+			channel.shutdown();
+		}
+	}
+
+	/**
+	 * Shut down each channel gracefully, sharing the timeout between them.
+	 */
+	@Override
+	public boolean shutdown(Duration timeout)
+	{
+		long deadline = System.nanoTime() + timeout.toNanos();
+		boolean isDrained = true;
+
+		for (EventChannel channel : channels)
+		{
+			isDrained &= channel.shutdown(Duration.ofNanos(Math.max(0L, deadline - System.nanoTime())));
+		}
+
+		return isDrained;
+	}
+
+	private EventChannel select(EventChannel[] channels)
+	{
+		int n = channels.length;
+
+		if (n == 0) return null;
+		if (n == 1) return channels[0];
+
+		switch (strategy)
+		{
+			case TWO_CHOICES:
+				return selectTwoChoices(channels);
+
+			case LEAST_QUEUE_DEPTH:
+				return selectLeastQueueDepth(channels);
+
+			default:
+				return channels[Math.floorMod(next.getAndIncrement(), n)];
+		}
+	}
+
+	private EventChannel selectTwoChoices(EventChannel[] channels)
+	{
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int a = random.nextInt(channels.length);
+		int b = random.nextInt(channels.length - 1);
+
+		// Choose two distinct channels.
+		if (b >= a) b++;
+
+		return (queueDepth(channels[b]) < queueDepth(channels[a]) ? channels[b] : channels[a]);
+	}
+
+	private EventChannel selectLeastQueueDepth(EventChannel[] channels)
+	{
+		int n = channels.length;
+
+		// Start at a rotating offset so ties are spread evenly.
+		int start = Math.floorMod(next.getAndIncrement(), n);
+		EventChannel least = channels[start];
+		int leastDepth = queueDepth(least);
+
+		for (int i = 1; i < n && leastDepth > 0; i++)
+		{
+			EventChannel channel = channels[(start + i) % n];
+			int depth = queueDepth(channel);
+
+			if (depth < leastDepth)
+			{
+				least = channel;
+				leastDepth = depth;
+			}
+		}
+
+		return least;
+	}
+
+	private static int queueDepth(EventChannel channel)
+	{
+		return (channel instanceof Measurable ? ((Measurable) channel).getQueueDepth() : 0);
+	}
+
+	private int indexOf(EventChannel channel)
+	{
+		for (int i = 0; i < channels.length; i++)
+		{
+			if (channels[i] == channel) return i;
+		}
+
+		return -1;
+	}
+}
@@ -0,0 +1,29 @@
+package com.strategicgains.haflinger.routing;
+
+import com.strategicgains.haflinger.channel.Measurable;
+
+/**
+ * How a {@link LoadBalancingRouter} selects the channel for each event. The load-aware strategies use
+ * the queue depth of {@link Measurable} channels. Other channels report a depth of zero.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public enum LoadBalancingStrategy
+{
+	/**
+	 * Cycle through the channels in turn. Cheapest, and even when events cost the same to handle.
+	 */
+	ROUND_ROBIN,
+
+	/**
+	 * Pick two channels at random and use the one with the smaller queue depth. Nearly as balanced as
+	 * LEAST_QUEUE_DEPTH while only reading two depths per event.
+	 */
+	TWO_CHOICES,
+
+	/**
+	 * Use the channel with the smallest queue depth, reading the depth of every channel per event.
+	 */
+	LEAST_QUEUE_DEPTH
+}
@@ -0,0 +1,245 @@
+package com.strategicgains.haflinger.routing;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Compiles and interns property accessors for event classes. Each (class, property path) pair is
+ * resolved by reflection once and compiled to a Function, so evaluating it per event involves no
+ * reflection. Getters are bound with {@link LambdaMetafactory}, which the JIT can inline like a
+ * hand-written lambda. Fields, and getters that cannot be bound that way, fall back to a
+ * {@link MethodHandle}.
+ *
+ * A property is read from a getter (getX() or isX()), a record-style accessor (x()) or a field, in
+ * that order, searching the class and then its superclasses. Dotted paths (e.g. "customer.address.region")
+ * navigate nested properties using their declared types. A null along the path reads as null.
+ *
+ * Accessors are cached in a {@link ClassValue} rather than a static map keyed by class, so the cache
+ * doesn't keep event classes, or their class loaders, from being unloaded.
+ *
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+final class PropertyAccessors
+{
+	private static final ClassValue<Map<String, Accessor>> ACCESSORS = new ClassValue<>()
+	{
+		@Override
+		protected Map<String, Accessor> computeValue(Class<?> type)
+		{
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private PropertyAccessors()
+	{
+		// prevents instantiation.
+	}
+
+	/**
+	 * @param type the class that declares (or inherits) the first property of the path.
+	 * @param path a property name or dotted path of property names.
+	 * @return the interned accessor. The same instance for the same type and path.
+	 * @throws IllegalArgumentException if a property on the path cannot be found.
+	 */
+	static Accessor of(Class<?> type, String path)
+	{
+		Map<String, Accessor> byPath = ACCESSORS.get(type);
+		Accessor accessor = byPath.get(path);
+
+		if (accessor == null)
+		{
+			accessor = compile(type, path);
+			Accessor existing = byPath.putIfAbsent(path, accessor);
+
+			if (existing != null) accessor = existing;
+		}
+
+		return accessor;
+	}
+
+	private static Accessor compile(Class<?> type, String path)
+	{
+		int dot = path.indexOf('.');
+
+		if (dot < 0) return compileProperty(type, path);
+
+		Accessor head = of(type, path.substring(0, dot));
+		Accessor tail = of(head.getType(), path.substring(dot + 1));
+		Function<Object, Object> h = head.function;
+		Function<Object, Object> t = tail.function;
+		return new Accessor(tail.getType(), event -> {
+			Object value = h.apply(event);
+			return (value == null ? null : t.apply(value));
+		});
+	}
+
+	private static Accessor compileProperty(Class<?> type, String property)
+	{
+		String capitalized = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+		Method getter = findGetter(type, "get" + capitalized);
+
+		if (getter == null) getter = findGetter(type, "is" + capitalized);
+		if (getter == null) getter = findGetter(type, property);
+
+		try
+		{
+			if (getter != null)
+			{
+				return new Accessor(getter.getReturnType(), bind(getter));
+			}
+
+			Field field = findField(type, property);
+
+			if (field != null)
+			{
+				MethodHandle handle = lookupIn(field.getDeclaringClass()).unreflectGetter(field);
+				return new Accessor(field.getType(), toFunction(handle));
+			}
+		}
+		catch (IllegalAccessException e)
+		{
+			throw new IllegalArgumentException("Cannot access property '" + property + "' of " + type.getName(), e);
+		}
+
+		throw new IllegalArgumentException("No property '" + property + "' on " + type.getName());
+	}
+
+	private static Method findGetter(Class<?> type, String name)
+	{
+		for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass())
+		{
+			try
+			{
+				Method method = c.getDeclaredMethod(name);
+
+				if (method.getReturnType() != void.class && !Modifier.isStatic(method.getModifiers())) return method;
+			}
+			catch (NoSuchMethodException e)
+			{
+				// try the superclass.
+			}
+		}
+
+		try
+		{
+			// Interface default methods.
+			Method method = type.getMethod(name);
+			return (method.getReturnType() == void.class ? null : method);
+		}
+		catch (NoSuchMethodException e)
+		{
+			return null;
+		}
+	}
+
+	private static Field findField(Class<?> type, String name)
+	{
+		for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass())
+		{
+			try
+			{
+				Field field = c.getDeclaredField(name);
+
+				if (!Modifier.isStatic(field.getModifiers())) return field;
+			}
+			catch (NoSuchFieldException e)
+			{
+				// try the superclass.
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Bind the getter to a Function with LambdaMetafactory, or a MethodHandle if that is not possible.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Function<Object, Object> bind(Method getter)
+	throws IllegalAccessException
+	{
+		MethodHandles.Lookup lookup = lookupIn(getter.getDeclaringClass());
+		MethodHandle handle = lookup.unreflect(getter);
+
+		try
+		{
+			if (lookup.hasFullPrivilegeAccess())
+			{
+				MethodType instantiated = MethodType.methodType(handle.type().wrap().returnType(), getter.getDeclaringClass());
+				CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+					MethodType.methodType(Object.class, Object.class), handle, instantiated);
+				return (Function<Object, Object>) site.getTarget().invokeExact();
+			}
+		}
+		catch (Throwable t)
+		{
+			// fall back to invoking the handle.
+		}
+
+		return toFunction(handle);
+	}
+
+	private static Function<Object, Object> toFunction(MethodHandle handle)
+	{
+		MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+		return target -> {
+			try
+			{
+				return generic.invokeExact(target);
+			}
+			catch (RuntimeException | Error e)
+			{
+				throw e;
+			}
+			catch (Throwable t)
+			{
+				throw new IllegalStateException(t);
+			}
+		};
+	}
+
+	/**
+	 * A lookup with private access to the type, so non-public event classes work too.
+	 */
+	private static MethodHandles.Lookup lookupIn(Class<?> type)
+	throws IllegalAccessException
+	{
+		return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+	}
+
+	/**
+	 * A compiled property accessor and the declared type of the property.
+	 */
+	static final class Accessor
+	{
+		private final Class<?> type;
+		private final Function<Object, Object> function;
+
+		private Accessor(Class<?> type, Function<Object, Object> function)
+		{
+			super();
+			this.type = type;
+			this.function = function;
+		}
+
+		public Class<?> getType()
+		{
+			return type;
+		}
+
+		public Object get(Object target)
+		{
+			return function.apply(target);
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package com.strategicgains.haflinger.routing;
+
+/**
+ * How an {@link EventChannelRouter} chooses among the routes whose rules match an event. Routes are
+ * evaluated in priority order (highest first), then in the order they were added.
+ *
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public enum RoutingMode
+{
+	/**
+	 * Publish to every matching route. The event is published if every matching route accepts it.
+	 */
+	ALL_MATCH,
+
+	/**
+	 * Publish to the first matching route only, without evaluating the rest. For exclusive routing
+	 * tables, where at most one rule matches an event. The event is published if that route accepts it.
+	 */
+	FIRST_MATCH,
+
+	/**
+	 * Publish to the first matching route. If it rejects the event or fails, fall back to the next
+	 * matching route, and so on. The event is published if any route accepts it.
+	 */
+	PRIORITY
+}
@@ -0,0 +1,134 @@
+package com.strategicgains.haflinger.routing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.strategicgains.haflinger.channel.EventChannel;
+
+/**
+ * The per-route outcome of routing an event with {@link EventChannelRouter#route(Object)}. Only the
+ * routes that were tried are included, in the order they were tried.
+ *
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public final class RoutingResult
+{
+	public enum Status
+	{
+		/** The channel accepted the event. */
+		PUBLISHED,
+		/** The channel returned false from publish. */
+		REJECTED,
+		/** The channel threw an exception. */
+		FAILED
+	}
+
+	private final List<Outcome> outcomes = new ArrayList<>(2);
+	private boolean isPublished;
+
+	RoutingResult()
+	{
+		super();
+	}
+
+	void published(EventChannel channel, boolean isAccepted)
+	{
+		outcomes.add(new Outcome(channel, (isAccepted ? Status.PUBLISHED : Status.REJECTED), null));
+	}
+
+	void failed(EventChannel channel, RuntimeException failure)
+	{
+		outcomes.add(new Outcome(channel, Status.FAILED, failure));
+	}
+
+	void setPublished(boolean isPublished)
+	{
+		this.isPublished = isPublished;
+	}
+
+	/**
+	 * @return true if the event was published according to the router's {@link RoutingMode}.
+	 */
+	public boolean isPublished()
+	{
+		return isPublished;
+	}
+
+	/**
+	 * @return true if at least one route matched the event.
+	 */
+	public boolean isRouted()
+	{
+		return !outcomes.isEmpty();
+	}
+
+	/**
+	 * @return the outcome of each route tried, in the order tried.
+	 */
+	public List<Outcome> getOutcomes()
+	{
+		return Collections.unmodifiableList(outcomes);
+	}
+
+	/**
+	 * @return the failures thrown by the routed channels, in the order tried.
+	 */
+	public List<RuntimeException> getFailures()
+	{
+		List<RuntimeException> failures = new ArrayList<>(1);
+
+		for (Outcome outcome : outcomes)
+		{
+			if (outcome.failure != null) failures.add(outcome.failure);
+		}
+
+		return failures;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "RoutingResult[published=" + isPublished + ", outcomes=" + outcomes + "]";
+	}
+
+	public static final class Outcome
+	{
+		private final EventChannel channel;
+		private final Status status;
+		private final RuntimeException failure;
+
+		private Outcome(EventChannel channel, Status status, RuntimeException failure)
+		{
+			super();
+			this.channel = channel;
+			this.status = status;
+			this.failure = failure;
+		}
+
+		public EventChannel getChannel()
+		{
+			return channel;
+		}
+
+		public Status getStatus()
+		{
+			return status;
+		}
+
+		/**
+		 * @return the exception thrown by the channel, or null if it did not fail.
+		 */
+		public RuntimeException getFailure()
+		{
+			return failure;
+		}
+
+		@Override
+		public String toString()
+		{
+			return channel.getClass().getSimpleName() + "=" + status;
+		}
+	}
+}
@@ -0,0 +1,305 @@
+package com.strategicgains.haflinger.routing;
+
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import com.strategicgains.haflinger.routing.PropertyAccessors.Accessor;
+
+/**
+ * Builds a content-based {@link TypedRoutingRule} from declarative conditions on event properties,
+ * for example:
+ *
+ * <pre>
+ * TypedRoutingRule rule = RoutingRuleBuilder.forType(OrderPlaced.class)
+ *     .where("region").isEqualTo("EU")
+ *     .where("amount").isGreaterThan(1000)
+ *     .build();
+ * </pre>
+ *
+ * All conditions must hold for the rule to match. Property accessors are resolved and compiled once,
+ * when the condition is added, so evaluating a rule per event uses no reflection. Rules that test the
+ * same property of the same type share one accessor.
+ *
+ * Since the rule is typed, an {@link EventChannelRouter} only evaluates it for events of that type.
+ *
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class RoutingRuleBuilder
+{
+	private final Class<?> type;
+	private final List<Predicate<Object>> conditions = new ArrayList<>();
+
+	public RoutingRuleBuilder(Class<?> type)
+	{
+		super();
+		this.type = Objects.requireNonNull(type, "type");
+	}
+
+	public static RoutingRuleBuilder forType(Class<?> type)
+	{
+		return new RoutingRuleBuilder(type);
+	}
+
+	/**
+	 * Begin a condition on a property of the event.
+	 *
+	 * @param property a property name or dotted path of property names (e.g. "customer.region").
+	 * @return a condition, which returns this builder when completed.
+	 * @throws IllegalArgumentException if the event type has no such property.
+	 */
+	public Condition where(String property)
+	{
+		return new Condition(PropertyAccessors.of(type, property), property);
+	}
+
+	/**
+	 * A synonym for where(), for readability.
+	 */
+	public Condition and(String property)
+	{
+		return where(property);
+	}
+
+	/**
+	 * @return a rule matching events of the type for which all the conditions hold.
+	 */
+	public TypedRoutingRule build()
+	{
+		return new CompiledRule(type, List.copyOf(conditions));
+	}
+
+	private RoutingRuleBuilder add(Predicate<Object> condition)
+	{
+		conditions.add(condition);
+		return this;
+	}
+
+
+	// SECTION: INNER CLASSES
+
+	/**
+	 * A condition on one event property. Conditions on a null property value are false, except isNull().
+	 */
+	public class Condition
+	{
+		private final Accessor accessor;
+		private final String property;
+
+		private Condition(Accessor accessor, String property)
+		{
+			super();
+			this.accessor = accessor;
+			this.property = property;
+		}
+
+		public RoutingRuleBuilder isEqualTo(Object value)
+		{
+			if (value == null) return isNull();
+
+			return onValue(v -> isEqual(v, value));
+		}
+
+		public RoutingRuleBuilder isNotEqualTo(Object value)
+		{
+			if (value == null) return isNotNull();
+
+			return onValue(v -> !isEqual(v, value));
+		}
+
+		public RoutingRuleBuilder isGreaterThan(Comparable<?> value)
+		{
+			assertComparable(value);
+			return onValue(v -> compare(v, value) > 0);
+		}
+
+		public RoutingRuleBuilder isGreaterThanOrEqualTo(Comparable<?> value)
+		{
+			assertComparable(value);
+			return onValue(v -> compare(v, value) >= 0);
+		}
+
+		public RoutingRuleBuilder isLessThan(Comparable<?> value)
+		{
+			assertComparable(value);
+			return onValue(v -> compare(v, value) < 0);
+		}
+
+		public RoutingRuleBuilder isLessThanOrEqualTo(Comparable<?> value)
+		{
+			assertComparable(value);
+			return onValue(v -> compare(v, value) <= 0);
+		}
+
+		public RoutingRuleBuilder isIn(Object... values)
+		{
+			Set<Object> set = new HashSet<>(Arrays.asList(values));
+			return onValue(v -> set.contains(v) || (v instanceof Number && containsNumber(set, v)));
+		}
+
+		public RoutingRuleBuilder isNull()
+		{
+			Accessor a = accessor;
+			return add(event -> a.get(event) == null);
+		}
+
+		public RoutingRuleBuilder isNotNull()
+		{
+			return onValue(v -> true);
+		}
+
+		/**
+		 * A custom test of the non-null property value.
+		 */
+		public RoutingRuleBuilder matches(Predicate<Object> test)
+		{
+			return onValue(test);
+		}
+
+		/**
+		 * Add a condition that tests the non-null property value.
+		 */
+		private RoutingRuleBuilder onValue(Predicate<Object> test)
+		{
+			Accessor a = accessor;
+			return add(event -> {
+				Object v = a.get(event);
+				return (v != null && test.test(v));
+			});
+		}
+
+		/**
+		 * Fail when the rule is built, rather than on each event, if the property cannot be ordered against the value.
+		 */
+		private void assertComparable(Comparable<?> value)
+		{
+			Class<?> propertyType = MethodType.methodType(accessor.getType()).wrap().returnType();
+
+			if (Number.class.isAssignableFrom(propertyType))
+			{
+				if (value instanceof Number) return;
+			}
+			else if (propertyType == Object.class || propertyType.isInstance(value))
+			{
+				return;
+			}
+
+			throw new IllegalArgumentException("Cannot compare property '" + property + "' of type "
+				+ propertyType.getName() + " to " + value.getClass().getName());
+		}
+	}
+
+	private static final class CompiledRule
+	implements TypedRoutingRule
+	{
+		private final Class<?> type;
+		private final List<Predicate<Object>> conditions;
+
+		private CompiledRule(Class<?> type, List<Predicate<Object>> conditions)
+		{
+			super();
+			this.type = type;
+			this.conditions = conditions;
+		}
+
+		@Override
+		public Collection<Class<?>> getEventTypes()
+		{
+			return Collections.singletonList(type);
+		}
+
+		@Override
+		public boolean test(Object event)
+		{
+			if (!type.isInstance(event)) return false;
+
+			for (int i = 0; i < conditions.size(); i++)
+			{
+				if (!conditions.get(i).test(event)) return false;
+			}
+
+			return true;
+		}
+	}
+
+
+	// SECTION: COMPARISON
+
+	/**
+	 * Numbers are equal by value regardless of their boxed type, so an int property equals 1000L.
+	 */
+	private static boolean isEqual(Object value, Object operand)
+	{
+		if (value instanceof Number && operand instanceof Number)
+		{
+			return compareNumbers((Number) value, (Number) operand) == 0;
+		}
+
+		return value.equals(operand);
+	}
+
+	private static boolean containsNumber(Set<Object> values, Object value)
+	{
+		for (Object candidate : values)
+		{
+			if (candidate instanceof Number && compareNumbers((Number) value, (Number) candidate) == 0) return true;
+		}
+
+		return false;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static int compare(Object value, Object operand)
+	{
+		if (value instanceof Number && operand instanceof Number)
+		{
+			return compareNumbers((Number) value, (Number) operand);
+		}
+
+		if (value instanceof Comparable && value.getClass().isInstance(operand))
+		{
+			return ((Comparable) value).compareTo(operand);
+		}
+
+		throw new ClassCastException("Cannot compare " + value.getClass().getName() + " to " + operand.getClass().getName());
+	}
+
+	private static int compareNumbers(Number a, Number b)
+	{
+		if (isIntegral(a) && isIntegral(b))
+		{
+			return Long.compare(a.longValue(), b.longValue());
+		}
+
+		if (a instanceof BigDecimal || b instanceof BigDecimal || a instanceof BigInteger || b instanceof BigInteger)
+		{
+			return toBigDecimal(a).compareTo(toBigDecimal(b));
+		}
+
+		return Double.compare(a.doubleValue(), b.doubleValue());
+	}
+
+	private static boolean isIntegral(Number n)
+	{
+		return (n instanceof Integer || n instanceof Long || n instanceof Short || n instanceof Byte);
+	}
+
+	private static BigDecimal toBigDecimal(Number n)
+	{
+		if (n instanceof BigDecimal) return (BigDecimal) n;
+		if (n instanceof BigInteger) return new BigDecimal((BigInteger) n);
+		if (isIntegral(n)) return BigDecimal.valueOf(n.longValue());
+
+		return BigDecimal.valueOf(n.doubleValue());
+	}
+}
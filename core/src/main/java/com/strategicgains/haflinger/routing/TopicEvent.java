@@ -0,0 +1,15 @@
+package com.strategicgains.haflinger.routing;
+
+/**
+ * Implemented by events published to a hierarchical topic, such as "orders.eu.created".
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public interface TopicEvent
+{
+	/**
+	 * @return the event's topic: dot-separated segments, most general first. Null if the event has no topic.
+	 */
+	String getTopic();
+}
@@ -0,0 +1,275 @@
+package com.strategicgains.haflinger.routing;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.strategicgains.haflinger.channel.SubscribableEventChannel;
+import com.strategicgains.haflinger.consumer.BatchEventSubscriber;
+import com.strategicgains.haflinger.consumer.EventSubscriber;
+import com.strategicgains.haflinger.exception.EventingException;
+
+/**
+ * Adds hierarchical topic subscriptions to a {@link SubscribableEventChannel}. Subscribers register
+ * with topic patterns such as "orders.*.created" or "orders.#" (see {@link TopicTrie}) and only
+ * receive events whose topic, as given by the {@link TopicExtractor}, matches one of them.
+ *
+ * Each topic subscriber is subscribed to the underlying channel once, as a selective subscriber, so
+ * the channel delivers to it through its own dispatcher: in parallel with other subscribers, and with
+ * the channel's per-subscriber limits, batching and ordering. The topic patterns of all subscribers
+ * are held in one shared trie. An event's topic is matched against them in a single walk, which the
+ * subscriptions share when the channel tests them on the same thread, as local channels do. Events
+ * without a topic, or with no matching pattern, are not delivered to topic subscribers.
+ *
+ * Subscribers without topic patterns are subscribed to the underlying channel directly.
+ *
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class TopicEventChannel
+implements SubscribableEventChannel
+{
+	private final SubscribableEventChannel channel;
+	private final TopicExtractor topics;
+	private final TopicTrie<EventSubscriber> subscribers = new TopicTrie<>();
+	private final Map<EventSubscriber, TopicSubscription> subscriptions = new ConcurrentHashMap<>();
+	private final ThreadLocal<Match> lastMatch = new ThreadLocal<>();
+	// Changes with the patterns, so a thread doesn't reuse a match made before they changed.
+	private volatile int generation;
+
+	public TopicEventChannel(SubscribableEventChannel channel)
+	{
+		this(channel, TopicExtractor.DEFAULT);
+	}
+
+	/**
+	 * @param channel the underlying channel, which publishes and delivers the events.
+	 * @param topics extracts the topic from events.
+	 */
+	public TopicEventChannel(SubscribableEventChannel channel, TopicExtractor topics)
+	{
+		super();
+		this.channel = channel;
+		this.topics = topics;
+	}
+
+	/**
+	 * Subscribe a handler to the events whose topic matches the pattern. A handler may be subscribed
+	 * with several patterns, but receives each event once.
+	 *
+	 * @param pattern a topic pattern, such as "orders.*.created" or "orders.#".
+	 * @param handler an event handler.
+	 * @return true if the subscription was added. False if the handler was already subscribed with the pattern.
+	 * @throws IllegalArgumentException if the pattern is invalid.
+	 */
+	public synchronized boolean subscribe(String pattern, EventSubscriber handler)
+	{
+		boolean isAdded = subscribers.add(pattern, handler);
+		generation++;
+		subscribeToChannel(handler);
+		return isAdded;
+	}
+
+	/**
+	 * Remove a handler's subscription to one topic pattern.
+	 */
+	public synchronized void unsubscribe(String pattern, EventSubscriber handler)
+	{
+		subscribers.remove(pattern, handler);
+		generation++;
+
+		if (!subscribers.contains(handler)) unsubscribeFromChannel(handler);
+	}
+
+	/**
+	 * Subscribe a {@link TopicSubscriber} with each of its topic patterns. Other handlers, and topic
+	 * subscribers without patterns, are subscribed to the underlying channel and receive all events.
+	 */
+	@Override
+	public synchronized boolean subscribe(EventSubscriber handler)
+	{
+		Collection<String> patterns = (handler instanceof TopicSubscriber ? ((TopicSubscriber) handler).getTopicPatterns() : null);
+
+		if (patterns == null || patterns.isEmpty()) return channel.subscribe(handler);
+
+		boolean isAdded = false;
+
+		for (String pattern : patterns)
+		{
+			isAdded |= subscribers.add(pattern, handler);
+		}
+
+		generation++;
+		subscribeToChannel(handler);
+		return isAdded;
+	}
+
+	/**
+	 * Remove all of a handler's subscriptions, whether by topic pattern or to the underlying channel.
+	 */
+	@Override
+	public synchronized void unsubscribe(EventSubscriber handler)
+	{
+		subscribers.removeAll(handler);
+		generation++;
+		unsubscribeFromChannel(handler);
+		channel.unsubscribe(handler);
+	}
+
+	@Override
+	public boolean publish(Object event)
+	{
+		return channel.publish(event);
+	}
+
+	@Override
+	public int publishAll(Collection<?> events)
+	{
+		return channel.publishAll(events);
+	}
+
+	@Override
+	public CompletionStage<Boolean> publishAsync(Object event)
+	{
+		return channel.publishAsync(event);
+	}
+
+	@Override
+	public void shutdown()
+	{
+		unsubscribeAll();
+		channel.shutdown();
+	}
+
+	@Override
+	public boolean shutdown(Duration timeout)
+	{
+		boolean isDrained = channel.shutdown(timeout);
+		unsubscribeAll();
+		return isDrained;
+	}
+
+	private void subscribeToChannel(EventSubscriber handler)
+	{
+		if (subscriptions.containsKey(handler)) return;
+
+		TopicSubscription subscription = (handler instanceof BatchEventSubscriber ? new BatchTopicSubscription(handler) : new TopicSubscription(handler));
+		subscriptions.put(handler, subscription);
+		channel.subscribe(subscription);
+	}
+
+	private void unsubscribeFromChannel(EventSubscriber handler)
+	{
+		TopicSubscription subscription = subscriptions.remove(handler);
+
+		if (subscription != null) channel.unsubscribe(subscription);
+	}
+
+	private synchronized void unsubscribeAll()
+	{
+		for (EventSubscriber handler : subscriptions.keySet())
+		{
+			unsubscribeFromChannel(handler);
+		}
+
+		subscribers.clear();
+		generation++;
+	}
+
+	/**
+	 * @return the topic subscribers matching the event's topic, walking the trie once per event on each thread.
+	 */
+	private List<EventSubscriber> match(Object event)
+	{
+		Match match = lastMatch.get();
+		int current = generation;
+
+		if (match != null && match.generation == current && match.event.get() == event) return match.subscribers;
+
+		String topic = topics.getTopic(event);
+		match = new Match(event, current, (topic != null ? subscribers.match(topic) : List.of()));
+		lastMatch.set(match);
+		return match.subscribers;
+	}
+
+
+	// SECTION: INNER CLASSES
+
+	/**
+	 * The last event matched on a thread. Holds the event weakly, so it isn't kept after delivery.
+	 */
+	private static class Match
+	{
+		private final WeakReference<Object> event;
+		private final int generation;
+		private final List<EventSubscriber> subscribers;
+
+		public Match(Object event, int generation, List<EventSubscriber> subscribers)
+		{
+			super();
+			this.event = new WeakReference<>(event);
+			this.generation = generation;
+			this.subscribers = subscribers;
+		}
+	}
+
+	/**
+	 * A topic subscriber's subscription to the underlying channel, selecting the events whose topic
+	 * matches one of its patterns. Passes its event types on, so the channel can still index it.
+	 */
+	private class TopicSubscription
+	implements SelectiveEventSubscriber, TypedEventSubscriber
+	{
+		protected final EventSubscriber handler;
+
+		public TopicSubscription(EventSubscriber handler)
+		{
+			super();
+			this.handler = handler;
+		}
+
+		@Override
+		public Collection<Class<?>> getEventTypes()
+		{
+			return (handler instanceof TypedEventSubscriber ? ((TypedEventSubscriber) handler).getEventTypes() : null);
+		}
+
+		@Override
+		public boolean test(Object event)
+		{
+			return (match(event).contains(handler)
+				&& (!(handler instanceof SelectiveEventSubscriber) || ((SelectiveEventSubscriber) handler).test(event)));
+		}
+
+		@Override
+		public void handle(Object event)
+		throws EventingException
+		{
+			handler.handle(event);
+		}
+	}
+
+	/**
+	 * The subscription of a {@link BatchEventSubscriber}, so the channel still delivers to it in batches.
+	 */
+	private class BatchTopicSubscription
+	extends TopicSubscription
+	implements BatchEventSubscriber
+	{
+		public BatchTopicSubscription(EventSubscriber handler)
+		{
+			super(handler);
+		}
+
+		@Override
+		public void handle(List<Object> events)
+		throws EventingException
+		{
+			((BatchEventSubscriber) handler).handle(events);
+		}
+	}
+}
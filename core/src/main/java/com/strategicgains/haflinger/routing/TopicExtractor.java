@@ -0,0 +1,23 @@
+package com.strategicgains.haflinger.routing;
+
+/**
+ * Extracts the hierarchical topic of an event, which a {@link TopicEventChannel} matches against
+ * its subscribers' topic patterns.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+@FunctionalInterface
+public interface TopicExtractor
+{
+	/**
+	 * Uses the topic of {@link TopicEvent}s. Other events have no topic.
+	 */
+	public static final TopicExtractor DEFAULT = event -> (event instanceof TopicEvent ? ((TopicEvent) event).getTopic() : null);
+
+	/**
+	 * @param event an event.
+	 * @return the event's topic, or null if it has none.
+	 */
+	String getTopic(Object event);
+}
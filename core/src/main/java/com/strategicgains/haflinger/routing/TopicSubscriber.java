@@ -0,0 +1,21 @@
+package com.strategicgains.haflinger.routing;
+
+import java.util.Collection;
+
+import com.strategicgains.haflinger.consumer.EventSubscriber;
+
+/**
+ * An {@link EventSubscriber} that declares the topic patterns it handles. When subscribed to a
+ * {@link TopicEventChannel}, it only receives events whose topic matches one of the patterns.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public interface TopicSubscriber
+extends EventSubscriber
+{
+	/**
+	 * @return topic patterns, such as "orders.*.created" or "orders.#" (see {@link TopicTrie}). Null or empty handles all events.
+	 */
+	Collection<String> getTopicPatterns();
+}
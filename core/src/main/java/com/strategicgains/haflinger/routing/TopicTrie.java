@@ -0,0 +1,283 @@
+package com.strategicgains.haflinger.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Matches hierarchical topics (e.g. "orders.eu.created") against the topic patterns of many values
+ * (e.g. subscribers) in a single walk of a trie, instead of testing each pattern in turn.
+ *
+ * Topics and patterns are dot-separated segments. In a pattern, "*" matches exactly one segment and
+ * "#" matches zero or more segments. So "orders.*.created" matches "orders.eu.created" but not
+ * "orders.created", while "orders.#" matches "orders", "orders.eu" and "orders.eu.created".
+ *
+ * Reads are lock-free. Changes are synchronized and rebuild an immutable trie, so a reader always sees
+ * a consistent set of patterns.
+ *
+ * @author tfredrich
+ * @since 18 Oct 2026
+ *
+ * @param <T> the type of the values.
+ */
+public class TopicTrie<T>
+{
+	private static final String ONE = "*";
+	private static final String ANY = "#";
+
+	private volatile Snapshot<T> snapshot = new Snapshot<>(Collections.emptyList());
+
+	/**
+	 * Add a value under a topic pattern, unless it is already there.
+	 *
+	 * @param pattern a topic pattern.
+	 * @param value the value to match.
+	 * @return true if the value was added. Otherwise, false.
+	 * @throws IllegalArgumentException if the pattern has an empty segment or a wildcard within a segment.
+	 */
+	public synchronized boolean add(String pattern, T value)
+	{
+		Entry<T> entry = new Entry<>(parse(pattern), value);
+
+		if (snapshot.entries.contains(entry)) return false;
+
+		List<Entry<T>> entries = new ArrayList<>(snapshot.entries);
+		entries.add(entry);
+		snapshot = new Snapshot<>(entries);
+		return true;
+	}
+
+	/**
+	 * Remove a value from under a topic pattern.
+	 *
+	 * @return true if the value was present under the pattern. Otherwise, false.
+	 */
+	public synchronized boolean remove(String pattern, T value)
+	{
+		List<Entry<T>> entries = new ArrayList<>(snapshot.entries);
+
+		if (!entries.remove(new Entry<>(parse(pattern), value))) return false;
+
+		snapshot = new Snapshot<>(entries);
+		return true;
+	}
+
+	/**
+	 * Remove a value from under all its patterns.
+	 *
+	 * @return true if the value was present. Otherwise, false.
+	 */
+	public synchronized boolean removeAll(T value)
+	{
+		List<Entry<T>> entries = new ArrayList<>(snapshot.entries);
+
+		if (!entries.removeIf(e -> e.value.equals(value))) return false;
+
+		snapshot = new Snapshot<>(entries);
+		return true;
+	}
+
+	public synchronized void clear()
+	{
+		snapshot = new Snapshot<>(Collections.emptyList());
+	}
+
+	/**
+	 * Get the values with a pattern matching the topic. A value under several matching patterns is returned once.
+	 *
+	 * @param topic a topic.
+	 * @return a possibly-empty list. Never null.
+	 */
+	public List<T> match(String topic)
+	{
+		Node<T> root = snapshot.root;
+
+		if (root == null) return Collections.emptyList();
+
+		Set<T> matches = new LinkedHashSet<>();
+		collect(root, split(topic), 0, matches);
+		return (matches.isEmpty() ? Collections.emptyList() : new ArrayList<>(matches));
+	}
+
+	/**
+	 * @param topic a topic.
+	 * @return true if at least one pattern matches the topic.
+	 */
+	public boolean matches(String topic)
+	{
+		Node<T> root = snapshot.root;
+		return (root != null && hasMatch(root, split(topic), 0));
+	}
+
+	/**
+	 * @return true if the value is under at least one pattern.
+	 */
+	public boolean contains(T value)
+	{
+		for (Entry<T> entry : snapshot.entries)
+		{
+			if (entry.value.equals(value)) return true;
+		}
+
+		return false;
+	}
+
+	public boolean isEmpty()
+	{
+		return snapshot.entries.isEmpty();
+	}
+
+	private static <T> void collect(Node<T> node, String[] segments, int i, Set<T> matches)
+	{
+		if (node.any != null)
+		{
+			for (int j = i; j <= segments.length; j++)
+			{
+				collect(node.any, segments, j, matches);
+			}
+		}
+
+		if (i == segments.length)
+		{
+			matches.addAll(node.values);
+			return;
+		}
+
+		Node<T> child = node.children.get(segments[i]);
+
+		if (child != null) collect(child, segments, i + 1, matches);
+		if (node.one != null) collect(node.one, segments, i + 1, matches);
+	}
+
+	private static <T> boolean hasMatch(Node<T> node, String[] segments, int i)
+	{
+		if (node.any != null)
+		{
+			for (int j = i; j <= segments.length; j++)
+			{
+				if (hasMatch(node.any, segments, j)) return true;
+			}
+		}
+
+		if (i == segments.length) return !node.values.isEmpty();
+
+		Node<T> child = node.children.get(segments[i]);
+
+		return ((child != null && hasMatch(child, segments, i + 1))
+			|| (node.one != null && hasMatch(node.one, segments, i + 1)));
+	}
+
+	private static String[] parse(String pattern)
+	{
+		String[] segments = split(pattern);
+
+		for (String segment : segments)
+		{
+			if (segment.isEmpty()
+				|| (segment.length() > 1 && (segment.contains(ONE) || segment.contains(ANY))))
+			{
+				throw new IllegalArgumentException("Invalid topic pattern: " + pattern);
+			}
+		}
+
+		return segments;
+	}
+
+	private static String[] split(String topic)
+	{
+		return topic.split("\\.", -1);
+	}
+
+	private static class Snapshot<T>
+	{
+		private final List<Entry<T>> entries;
+		private final Node<T> root;
+
+		public Snapshot(List<Entry<T>> entries)
+		{
+			super();
+			this.entries = entries;
+
+			if (entries.isEmpty())
+			{
+				this.root = null;
+				return;
+			}
+
+			this.root = new Node<>();
+
+			for (Entry<T> entry : entries)
+			{
+				Node<T> node = root;
+
+				for (String segment : entry.segments)
+				{
+					node = node.child(segment);
+				}
+
+				node.values.add(entry.value);
+			}
+		}
+	}
+
+	/**
+	 * A trie node. Only changed while its snapshot is built, and read-only afterward.
+	 */
+	private static class Node<T>
+	{
+		private final Map<String, Node<T>> children = new HashMap<>();
+		private final List<T> values = new ArrayList<>(1);
+		private Node<T> one;
+		private Node<T> any;
+
+		public Node<T> child(String segment)
+		{
+			if (ONE.equals(segment))
+			{
+				if (one == null) one = new Node<>();
+				return one;
+			}
+
+			if (ANY.equals(segment))
+			{
+				if (any == null) any = new Node<>();
+				return any;
+			}
+
+			return children.computeIfAbsent(segment, s -> new Node<>());
+		}
+	}
+
+	private static class Entry<T>
+	{
+		private final String[] segments;
+		private final T value;
+
+		public Entry(String[] segments, T value)
+		{
+			super();
+			this.segments = segments;
+			this.value = value;
+		}
+
+		@Override
+		public boolean equals(Object that)
+		{
+			if (!(that instanceof Entry)) return false;
+
+			Entry<?> other = (Entry<?>) that;
+			return (value.equals(other.value) && Arrays.equals(segments, other.segments));
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return 31 * Arrays.hashCode(segments) + value.hashCode();
+		}
+	}
+}
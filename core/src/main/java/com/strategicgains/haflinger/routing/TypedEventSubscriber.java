@@ -0,0 +1,27 @@
+package com.strategicgains.haflinger.routing;
+
+import java.util.Collection;
+
+import com.strategicgains.haflinger.consumer.EventSubscriber;
+
+/**
+ * An {@link EventSubscriber} that declares the event types (classes or interfaces) it handles.
+ * Events are only delivered if they are an instance of one of the declared types, which lets
+ * channels index subscribers by event class instead of offering every event to every subscriber.
+ * 
+ * May be combined with {@link SelectiveEventSubscriber}, in which case test(Object) is only called
+ * for events of the declared types.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public interface TypedEventSubscriber
+extends EventSubscriber
+{
+	/**
+	 * The event types this subscriber handles. Subclasses and implementors of these types are also handled.
+	 * 
+	 * @return a collection of event types. Null or empty handles all events.
+	 */
+	Collection<Class<?>> getEventTypes();
+}
@@ -0,0 +1,43 @@
+package com.strategicgains.haflinger.routing;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * A {@link RoutingRule} that declares the event types (classes or interfaces) it routes. An
+ * {@link EventChannelRouter} indexes these rules by event class, so an event is only tested against
+ * the rules for its type instead of against every rule.
+ *
+ * test(Object) is only called for events of the declared types and, by default, accepts them all.
+ * Override it to route on the event's content as well.
+ *
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public interface TypedRoutingRule
+extends RoutingRule
+{
+	/**
+	 * The event types this rule routes. Subclasses and implementors of these types are also routed.
+	 *
+	 * @return a collection of event types. Null or empty routes all events.
+	 */
+	Collection<Class<?>> getEventTypes();
+
+	@Override
+	default boolean test(Object event)
+	{
+		return true;
+	}
+
+	/**
+	 * @param eventTypes the event types to route.
+	 * @return a rule that routes all events of the given types.
+	 */
+	static TypedRoutingRule of(Class<?>... eventTypes)
+	{
+		Collection<Class<?>> types = Collections.unmodifiableList(Arrays.asList(eventTypes));
+		return () -> types;
+	}
+}
@@ -1,8 +1,12 @@
 package com.strategicgains.haflinger.hazelcast;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 import com.hazelcast.config.Config;
 import com.hazelcast.config.RingbufferConfig;
@@ -10,7 +14,14 @@ import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.topic.ITopic;
 import com.strategicgains.haflinger.channel.SubscribableEventChannel;
+import com.strategicgains.haflinger.consumer.BatchEventSubscriber;
 import com.strategicgains.haflinger.consumer.EventSubscriber;
+import com.strategicgains.haflinger.dispatch.DispatchExecutor;
+import com.strategicgains.haflinger.dispatch.DispatchExecutors;
+import com.strategicgains.haflinger.dispatch.EventBatcher;
+import com.strategicgains.haflinger.dispatch.EventDispatcher;
+import com.strategicgains.haflinger.dispatch.OrderedExecutor;
+import com.strategicgains.haflinger.dispatch.PartitionKeyExtractor;
 
 /**
  * @author toddf
@@ -24,6 +35,11 @@ implements SubscribableEventChannel
 
 	private ITopic<Object> topic;
 	private Map<EventSubscriber, UUID> subscriptions = new ConcurrentHashMap<>();
+	private Map<EventSubscriber, EventHandlerAdapter> adapters = new ConcurrentHashMap<>();
+	private int maxBatchSize = EventBatcher.DEFAULT_MAX_BATCH_SIZE;
+	private DispatchExecutor dispatchExecutor = DispatchExecutors.newDefault();
+	private boolean ownsDispatchExecutor = true;
+	private EventDispatcher dispatcher = new EventDispatcher(dispatchExecutor);
 
 	public HazelcastEventChannel(String topicName, EventSubscriber... eventHandlers)
 	{
@@ -59,6 +75,24 @@ implements SubscribableEventChannel
 		this.topic = aTopic;
     }
 
+	public int getMaxBatchSize()
+	{
+		return maxBatchSize;
+	}
+
+	/**
+	 * Set the maximum number of received messages delivered in a single call to a {@link BatchEventSubscriber}.
+	 * Applies to subscriptions made after the call.
+	 * 
+	 * @param size the maximum batch size.
+	 * @return this channel to facilitate method chaining.
+	 */
+	public HazelcastEventChannel maxBatchSize(int size)
+	{
+		this.maxBatchSize = size;
+		return this;
+	}
+
 	@Override
 	public boolean publish(Object event)
 	{
@@ -66,28 +100,161 @@ implements SubscribableEventChannel
 		return true;
 	}
 
+	/**
+	 * Publish an event without waiting on the cluster.
+	 * 
+	 * @return a stage that completes with true once the reliable topic's ringbuffer has stored the event, or exceptionally if it could not.
+	 */
+	@Override
+	public CompletionStage<Boolean> publishAsync(Object event)
+	{
+		return topic.publishAsync(event).thenApply(v -> Boolean.TRUE);
+	}
+
+	/**
+	 * Publish a batch of events with a single call to the reliable topic, which appends them to its
+	 * ringbuffer in one operation.
+	 * 
+	 * @return the number of events published. Zero if the publishing thread was interrupted.
+	 */
+	@Override
+	public int publishAll(Collection<?> events)
+	{
+		if (events.isEmpty()) return 0;
+
+		try
+		{
+			topic.publishAll(events);
+			return events.size();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return 0;
+		}
+		catch (ExecutionException e)
+		{
+			if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
 	@Override
 	public void shutdown()
 	{
 		topic.destroy();
+
+		if (ownsDispatchExecutor)
+		{
+			dispatchExecutor.shutdown();
+		}
+	}
+
+	/**
+	 * Remove this member's listeners from the topic, then wait for the deliveries already received to
+	 * complete. The topic and its ringbuffer are left intact for other members. A dispatch executor not
+	 * owned by this channel is not shut down or waited for.
+	 */
+	@Override
+	public boolean shutdown(Duration timeout)
+	{
+		long deadline = System.nanoTime() + timeout.toNanos();
+
+		for (EventSubscriber handler : subscriptions.keySet())
+		{
+			unsubscribe(handler);
+		}
+
+		return (!ownsDispatchExecutor || DispatchExecutors.shutdownAndAwait(dispatchExecutor, deadline));
+	}
+
+	public boolean isOrderedByKey()
+	{
+		return dispatcher.isOrdered();
+	}
+
+	/**
+	 * Deliver received events with the same partition key to each subscriber serially and in order, while
+	 * events with different keys are delivered in parallel. Events without a key are unordered.
+	 * Applies to subscriptions made after the call.
+	 * @param partitionKeys extracts the partition key from events. Null for unordered delivery.
+	 * @return this channel to facilitate method chaining.
+	 */
+	public HazelcastEventChannel orderedBy(PartitionKeyExtractor partitionKeys)
+	{
+		return orderedBy(partitionKeys, OrderedExecutor.DEFAULT_LANES);
+	}
+
+	/**
+	 * Deliver received events with the same partition key to each subscriber serially and in order, while
+	 * events with different keys are delivered in parallel. Events without a key are unordered.
+	 * Applies to subscriptions made after the call.
+	 * @param partitionKeys extracts the partition key from events. Null for unordered delivery.
+	 * @param lanes the number of serial lanes, bounding the number of concurrent ordered deliveries.
+	 * @return this channel to facilitate method chaining.
+	 */
+	public HazelcastEventChannel orderedBy(PartitionKeyExtractor partitionKeys, int lanes)
+	{
+		this.dispatcher = dispatcher.orderedBy(partitionKeys, lanes);
+		return this;
+	}
+
+	public DispatchExecutor getDispatchExecutor()
+	{
+		return dispatchExecutor;
+	}
+
+	/**
+	 * Run deliveries to subscribers on the given executor instead of the channel's default. The
+	 * channel does not shut down an executor set this way, so it can be shared between channels.
+	 * 
+	 * Existing subscribers, including batch subscribers and ordered lanes, move to the new executor.
+	 * The default executor is shut down gracefully, so deliveries already queued on it still run.
+	 * 
+	 * @param executor a {@link DispatchExecutor}.
+	 * @return this channel to facilitate method chaining.
+	 */
+	public HazelcastEventChannel dispatchExecutor(DispatchExecutor executor)
+	{
+		DispatchExecutor previous = dispatchExecutor;
+		this.dispatcher = dispatcher.withExecutor(executor);
+		this.dispatchExecutor = executor;
+
+		for (EventHandlerAdapter adapter : adapters.values())
+		{
+			adapter.setDispatchExecutor(executor);
+		}
+
+		if (ownsDispatchExecutor)
+		{
+			ownsDispatchExecutor = false;
+			previous.shutdown();
+		}
+
+		return this;
 	}
 
 	@Override
 	public boolean subscribe(EventSubscriber consumer)
 	{
-		UUID listenerId = topic.addMessageListener(new EventHandlerAdapter(consumer));
+		EventHandlerAdapter adapter = new EventHandlerAdapter(consumer, maxBatchSize, dispatcher);
+		UUID listenerId = topic.addMessageListener(adapter);
 		subscriptions.put(consumer, listenerId);
+		adapters.put(consumer, adapter);
 		return true;
 	}
 
 	@Override
 	public void unsubscribe(EventSubscriber handler)
 	{
-		UUID listenerId = subscriptions.get(handler);
+		UUID listenerId = subscriptions.remove(handler);
+		adapters.remove(handler);
 
 		if (listenerId != null)
 		{
 			topic.removeMessageListener(listenerId);
+			dispatchExecutor.unsubscribe(handler);
 		}
 	}
 }
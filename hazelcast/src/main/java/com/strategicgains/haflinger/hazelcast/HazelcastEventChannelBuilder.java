@@ -6,7 +6,13 @@ import java.util.Set;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.RingbufferConfig;
 import com.strategicgains.haflinger.channel.builder.SubscribableEventChannelBuilder;
+import com.strategicgains.haflinger.consumer.BatchEventSubscriber;
 import com.strategicgains.haflinger.consumer.EventSubscriber;
+import com.strategicgains.haflinger.dispatch.DispatchExecutor;
+import com.strategicgains.haflinger.dispatch.DispatchExecutors;
+import com.strategicgains.haflinger.dispatch.EventBatcher;
+import com.strategicgains.haflinger.dispatch.OrderedExecutor;
+import com.strategicgains.haflinger.dispatch.PartitionKeyExtractor;
 
 /**
  * @author toddf
@@ -21,6 +27,10 @@ implements SubscribableEventChannelBuilder<HazelcastEventChannel, HazelcastEvent
 	private RingbufferConfig bufferConfig = null;
 	private String topicName = DEFAULT_TOPIC_NAME;
 	private Set<EventSubscriber> handlers = new LinkedHashSet<>();
+	private int maxBatchSize = EventBatcher.DEFAULT_MAX_BATCH_SIZE;
+	private PartitionKeyExtractor partitionKeys = null;
+	private DispatchExecutor dispatchExecutor = null;
+	private int orderingLanes = OrderedExecutor.DEFAULT_LANES;
 
 	public HazelcastEventChannelBuilder()
 	{
@@ -52,6 +62,60 @@ implements SubscribableEventChannelBuilder<HazelcastEventChannel, HazelcastEvent
 		return this;
 	}
 
+	/**
+	 * Sets the maximum number of received messages delivered in a single call to a {@link BatchEventSubscriber}.
+	 * 
+	 * @param size the maximum batch size.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public HazelcastEventChannelBuilder maxBatchSize(int size)
+	{
+		this.maxBatchSize = size;
+		return this;
+	}
+
+	/**
+	 * Run deliveries to subscribers on the given executor (see {@link DispatchExecutors}). The channel
+	 * does not shut down an executor set this way. By default, each channel creates and owns a
+	 * bounded executor.
+	 * 
+	 * @param executor a {@link DispatchExecutor}.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public HazelcastEventChannelBuilder dispatchExecutor(DispatchExecutor executor)
+	{
+		this.dispatchExecutor = executor;
+		return this;
+	}
+
+	/**
+	 * Deliver received events with the same partition key to each subscriber serially and in order.
+	 * Events with different keys are still delivered in parallel.
+	 * 
+	 * @param partitionKeys extracts the partition key from events (e.g. {@link PartitionKeyExtractor#DEFAULT}).
+	 * @return this builder to facilitate method chaining.
+	 */
+	public HazelcastEventChannelBuilder orderedBy(PartitionKeyExtractor partitionKeys)
+	{
+		this.partitionKeys = partitionKeys;
+		return this;
+	}
+
+	/**
+	 * Deliver received events with the same partition key to each subscriber serially and in order.
+	 * Events with different keys are still delivered in parallel, using up to the given number of lanes.
+	 * 
+	 * @param partitionKeys extracts the partition key from events (e.g. {@link PartitionKeyExtractor#DEFAULT}).
+	 * @param lanes the maximum number of ordered deliveries that run concurrently.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public HazelcastEventChannelBuilder orderedBy(PartitionKeyExtractor partitionKeys, int lanes)
+	{
+		this.partitionKeys = partitionKeys;
+		this.orderingLanes = lanes;
+		return this;
+	}
+
 	@Override
 	public HazelcastEventChannelBuilder subscribe(EventSubscriber handler)
 	{
@@ -69,6 +133,24 @@ implements SubscribableEventChannelBuilder<HazelcastEventChannel, HazelcastEvent
 	@Override
 	public HazelcastEventChannel build()
 	{
-		return new HazelcastEventChannel(config, bufferConfig, topicName, handlers.toArray(new EventSubscriber[0]));
+		HazelcastEventChannel channel = new HazelcastEventChannel(config, bufferConfig, topicName)
+			.maxBatchSize(maxBatchSize);
+
+		if (dispatchExecutor != null)
+		{
+			channel.dispatchExecutor(dispatchExecutor);
+		}
+
+		if (partitionKeys != null)
+		{
+			channel.orderedBy(partitionKeys, orderingLanes);
+		}
+
+		for (EventSubscriber handler : handlers)
+		{
+			channel.subscribe(handler);
+		}
+
+		return channel;
 	}
 }
@@ -1,8 +1,10 @@
 package com.strategicgains.haflinger.hazelcast;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.After;
 import org.junit.Before;
@@ -81,6 +83,17 @@ public class HazelcastEventChannelTest
 		assertEquals(0, longHandler.getCallCount());
 	}
 
+	@Test
+	public void shouldAcknowledgeAsyncPublish()
+	throws Exception
+	{
+		assertTrue(queue.publishAsync(new HandledEvent()).toCompletableFuture().get(5, TimeUnit.SECONDS));
+		assertTrue(queue.publishAsync(new IgnoredEvent()).toCompletableFuture().get(5, TimeUnit.SECONDS));
+		Thread.sleep(50);
+		assertEquals(1, handler.getCallCount());
+		assertEquals(1, ignoredHandler.getCallCount());
+	}
+
 	@Test
 	public void shouldNotRetryEventHandler()
 	throws Exception
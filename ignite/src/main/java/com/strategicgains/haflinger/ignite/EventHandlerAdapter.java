@@ -1,13 +1,18 @@
 package com.strategicgains.haflinger.ignite;
 
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.apache.ignite.lang.IgniteBiPredicate;
 
+import com.strategicgains.haflinger.consumer.BatchEventSubscriber;
 import com.strategicgains.haflinger.consumer.EventSubscriber;
+import com.strategicgains.haflinger.dispatch.DispatchExecutor;
+import com.strategicgains.haflinger.dispatch.EventBatcher;
+import com.strategicgains.haflinger.dispatch.EventDispatcher;
+import com.strategicgains.haflinger.routing.EventTypeIndex;
 import com.strategicgains.haflinger.routing.SelectiveEventSubscriber;
+import com.strategicgains.haflinger.routing.TypedEventSubscriber;
 
 /**
  * Adapts the general-purpose EventHandler of Haflinger into something that can handle Apache Ignite messages.
@@ -18,17 +23,51 @@ import com.strategicgains.haflinger.routing.SelectiveEventSubscriber;
 public class EventHandlerAdapter
 implements IgniteBiPredicate<UUID, Object>
 {
-	private static final ExecutorService EVENT_EXECUTOR = Executors.newCachedThreadPool();
 	private static final long serialVersionUID = 3657330202723832700L;
 
 	private EventSubscriber handler;
 	private boolean isSelectiveHandler;
+	private EventTypeIndex<TypedEventSubscriber> eventTypes;
+	private EventBatcher batcher;
+	private volatile EventDispatcher dispatcher;
 
-	public EventHandlerAdapter(EventSubscriber handler)
+	/**
+	 * @param handler the subscriber to adapt.
+	 * @param maxBatchSize the maximum number of received messages delivered in one call, if the handler is a {@link BatchEventSubscriber}.
+	 * @param dispatcher runs the deliveries to the handler, possibly ordered by partition key.
+	 */
+	public EventHandlerAdapter(EventSubscriber handler, int maxBatchSize, EventDispatcher dispatcher)
 	{
 		super();
 		this.handler = handler;
+		this.dispatcher = dispatcher;
 		this.isSelectiveHandler = (SelectiveEventSubscriber.class.isAssignableFrom(handler.getClass()));
+
+		if (handler instanceof TypedEventSubscriber)
+		{
+			eventTypes = new EventTypeIndex<>(TypedEventSubscriber::getEventTypes);
+			eventTypes.add((TypedEventSubscriber) handler);
+		}
+
+		if (handler instanceof BatchEventSubscriber)
+		{
+			batcher = new EventBatcher((BatchEventSubscriber) handler, dispatcher.getExecutor(), maxBatchSize);
+		}
+	}
+
+	/**
+	 * Run later deliveries on the given executor, keeping this adapter's ordering.
+	 * 
+	 * @param executor runs the deliveries to the handler.
+	 */
+	public void setDispatchExecutor(DispatchExecutor executor)
+	{
+		this.dispatcher = dispatcher.withExecutor(executor);
+
+		if (batcher != null)
+		{
+			batcher.setExecutor(executor);
+		}
 	}
 
 	@Override
@@ -44,6 +83,11 @@ implements IgniteBiPredicate<UUID, Object>
 
 	private boolean shouldHandle(Object messageObject)
 	{
+		if (eventTypes != null && !eventTypes.matches(messageObject.getClass()))
+		{
+			return false;
+		}
+
 		if (isSelectiveHandler)
 		{
 			return ((SelectiveEventSubscriber) handler).test(messageObject);
@@ -56,7 +100,13 @@ implements IgniteBiPredicate<UUID, Object>
 	{
 //		System.out.println("Processing event: " + event.toString());
 
-		EVENT_EXECUTOR.submit(new Runnable()
+		if (batcher != null)
+		{
+			batcher.add(event);
+			return;
+		}
+
+		execute(event, new Runnable()
 		{
 			@Override
 			public void run()
@@ -72,4 +122,23 @@ implements IgniteBiPredicate<UUID, Object>
 			}
 		});
 	}
+
+	/**
+	 * Run a delivery. If the previous executor rejects it after being replaced, retry on the current one.
+	 */
+	private void execute(Object event, Runnable delivery)
+	{
+		EventDispatcher dispatcher = this.dispatcher;
+
+		try
+		{
+			dispatcher.execute(handler, event, delivery);
+		}
+		catch (RejectedExecutionException e)
+		{
+			if (this.dispatcher == dispatcher) throw e;
+
+			this.dispatcher.execute(handler, event, delivery);
+		}
+	}
 }
@@ -1,6 +1,10 @@
 package com.strategicgains.haflinger.ignite;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.ignite.Ignite;
@@ -10,7 +14,14 @@ import org.apache.ignite.Ignition;
 import org.apache.ignite.cluster.ClusterGroup;
 
 import com.strategicgains.haflinger.channel.SubscribableEventChannel;
+import com.strategicgains.haflinger.consumer.BatchEventSubscriber;
 import com.strategicgains.haflinger.consumer.EventSubscriber;
+import com.strategicgains.haflinger.dispatch.DispatchExecutor;
+import com.strategicgains.haflinger.dispatch.DispatchExecutors;
+import com.strategicgains.haflinger.dispatch.EventBatcher;
+import com.strategicgains.haflinger.dispatch.EventDispatcher;
+import com.strategicgains.haflinger.dispatch.OrderedExecutor;
+import com.strategicgains.haflinger.dispatch.PartitionKeyExtractor;
 
 /**
  * @author toddf
@@ -25,6 +36,10 @@ implements SubscribableEventChannel
 	private IgniteMessaging ignite;
 	private Map<EventSubscriber, EventHandlerAdapter> subscriptions = new ConcurrentHashMap<>();
 	private boolean isOrdered = true;
+	private int maxBatchSize = EventBatcher.DEFAULT_MAX_BATCH_SIZE;
+	private DispatchExecutor dispatchExecutor = DispatchExecutors.newDefault();
+	private boolean ownsDispatchExecutor = true;
+	private EventDispatcher dispatcher = new EventDispatcher(dispatchExecutor);
 
 	public IgniteEventChannel(String topic, EventSubscriber... eventHandlers)
 	{
@@ -81,10 +96,98 @@ implements SubscribableEventChannel
 		return this;
 	}
 
+	public int getMaxBatchSize()
+	{
+		return maxBatchSize;
+	}
+
+	/**
+	 * Set the maximum number of received messages delivered in a single call to a {@link BatchEventSubscriber}.
+	 * Applies to subscriptions made after the call.
+	 * 
+	 * @param size the maximum batch size.
+	 * @return this channel to facilitate method chaining.
+	 */
+	public IgniteEventChannel maxBatchSize(int size)
+	{
+		this.maxBatchSize = size;
+		return this;
+	}
+
+	public boolean isOrderedByKey()
+	{
+		return dispatcher.isOrdered();
+	}
+
+	/**
+	 * Deliver received events with the same partition key to each subscriber serially and in order, while
+	 * events with different keys are delivered in parallel. Events without a key are unordered.
+	 * Applies to subscriptions made after the call.
+	 * Unlike ordered(boolean), which orders message transport, this orders local delivery to subscribers.
+	 * 
+	 * @param partitionKeys extracts the partition key from events. Null for unordered delivery.
+	 * @return this channel to facilitate method chaining.
+	 */
+	public IgniteEventChannel orderedBy(PartitionKeyExtractor partitionKeys)
+	{
+		return orderedBy(partitionKeys, OrderedExecutor.DEFAULT_LANES);
+	}
+
+	/**
+	 * Deliver received events with the same partition key to each subscriber serially and in order, while
+	 * events with different keys are delivered in parallel. Events without a key are unordered.
+	 * Applies to subscriptions made after the call.
+	 * Unlike ordered(boolean), which orders message transport, this orders local delivery to subscribers.
+	 * 
+	 * @param partitionKeys extracts the partition key from events. Null for unordered delivery.
+	 * @param lanes the number of serial lanes, bounding the number of concurrent ordered deliveries.
+	 * @return this channel to facilitate method chaining.
+	 */
+	public IgniteEventChannel orderedBy(PartitionKeyExtractor partitionKeys, int lanes)
+	{
+		this.dispatcher = dispatcher.orderedBy(partitionKeys, lanes);
+		return this;
+	}
+
+	public DispatchExecutor getDispatchExecutor()
+	{
+		return dispatchExecutor;
+	}
+
+	/**
+	 * Run deliveries to subscribers on the given executor instead of the channel's default. The
+	 * channel does not shut down an executor set this way, so it can be shared between channels.
+	 * 
+	 * Existing subscribers, including batch subscribers and ordered lanes, move to the new executor.
+	 * The default executor is shut down gracefully, so deliveries already queued on it still run.
+	 * 
+	 * @param executor a {@link DispatchExecutor}.
+	 * @return this channel to facilitate method chaining.
+	 */
+	public IgniteEventChannel dispatchExecutor(DispatchExecutor executor)
+	{
+		DispatchExecutor previous = dispatchExecutor;
+		this.dispatcher = dispatcher.withExecutor(executor);
+		this.dispatchExecutor = executor;
+
+		for (EventHandlerAdapter listener : subscriptions.values())
+		{
+			listener.setDispatchExecutor(executor);
+		}
+
+		if (ownsDispatchExecutor)
+		{
+			ownsDispatchExecutor = false;
+			previous.shutdown();
+		}
+
+		return this;
+	}
+
 	@Override
 	public boolean subscribe(EventSubscriber handler)
 	{
-		EventHandlerAdapter listener = new EventHandlerAdapter(handler);
+		EventHandlerAdapter listener = new EventHandlerAdapter(handler, maxBatchSize, dispatcher);
 		ignite.localListen(topic, listener);
 		subscriptions.put(handler, listener);
 		return true;
@@ -98,6 +201,7 @@ implements SubscribableEventChannel
 		if (listener != null)
 		{
 			ignite.stopLocalListen(topic, listener);
+			dispatchExecutor.unsubscribe(handler);
 		}
 	}
 
@@ -111,15 +215,7 @@ implements SubscribableEventChannel
 	{
 		try
 		{
-			if (isOrdered)
-			{
-				ignite.sendOrdered(topic, event, 0);
-			}
-			else
-			{
-				ignite.send(topic, event);
-			}
-
+			send(event);
 			return true;
 		}
 		catch (IgniteException e)
@@ -128,9 +224,83 @@ implements SubscribableEventChannel
 		}
 	}
 
+	private void send(Object event)
+	{
+		if (isOrdered)
+		{
+			ignite.sendOrdered(topic, event, 0);
+		}
+		else
+		{
+			ignite.send(topic, event);
+		}
+	}
+
+	/**
+	 * Ignite's messaging API has no asynchronous send; send() already returns once the message is
+	 * handed to the communication layer. So the message is sent on the calling thread and, unlike
+	 * publish(Object), a failure is reported rather than swallowed.
+	 * 
+	 * @return an already-completed stage. Completed exceptionally with the IgniteException if the send failed.
+	 */
+	@Override
+	public CompletionStage<Boolean> publishAsync(Object event)
+	{
+		try
+		{
+			send(event);
+			return CompletableFuture.completedFuture(true);
+		}
+		catch (IgniteException e)
+		{
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	/**
+	 * Publish a batch of events. Unordered batches are sent in a single call to the messaging API.
+	 * Ordered messages cannot be sent as a collection, so each is sent in turn.
+	 * 
+	 * @return the number of events sent.
+	 */
+	@Override
+	public int publishAll(Collection<?> events)
+	{
+		if (events.isEmpty()) return 0;
+
+		if (isOrdered) return SubscribableEventChannel.super.publishAll(events);
+
+		try
+		{
+			ignite.send(topic, events);
+			return events.size();
+		}
+		catch (IgniteException e)
+		{
+			return 0;
+		}
+	}
+
 	@Override
 	public void shutdown()
 	{
 		unsubscribeAll();
+
+		if (ownsDispatchExecutor)
+		{
+			dispatchExecutor.shutdown();
+		}
+	}
+
+	/**
+	 * Stop listening to the topic, then wait for the deliveries already received to complete. A
+	 * dispatch executor not owned by this channel is not shut down or waited for.
+	 */
+	@Override
+	public boolean shutdown(Duration timeout)
+	{
+		long deadline = System.nanoTime() + timeout.toNanos();
+		unsubscribeAll();
+		return (!ownsDispatchExecutor || DispatchExecutors.shutdownAndAwait(dispatchExecutor, deadline));
 	}
 }
@@ -7,7 +7,13 @@ import org.apache.ignite.Ignite;
 import org.apache.ignite.Ignition;
 
 import com.strategicgains.haflinger.channel.builder.SubscribableEventChannelBuilder;
+import com.strategicgains.haflinger.consumer.BatchEventSubscriber;
 import com.strategicgains.haflinger.consumer.EventSubscriber;
+import com.strategicgains.haflinger.dispatch.DispatchExecutor;
+import com.strategicgains.haflinger.dispatch.DispatchExecutors;
+import com.strategicgains.haflinger.dispatch.EventBatcher;
+import com.strategicgains.haflinger.dispatch.OrderedExecutor;
+import com.strategicgains.haflinger.dispatch.PartitionKeyExtractor;
 
 /**
  * @author toddf
@@ -22,6 +28,10 @@ implements SubscribableEventChannelBuilder<IgniteEventChannel, IgniteEventChanne
 	private String topicName = DEFAULT_TOPIC_NAME;
 	private boolean isOrdered = true;
 	private Set<EventSubscriber> handlers = new LinkedHashSet<>();
+	private int maxBatchSize = EventBatcher.DEFAULT_MAX_BATCH_SIZE;
+	private PartitionKeyExtractor partitionKeys = null;
+	private DispatchExecutor dispatchExecutor = null;
+	private int orderingLanes = OrderedExecutor.DEFAULT_LANES;
 
 	public IgniteEventChannelBuilder()
 	{
@@ -76,6 +86,60 @@ implements SubscribableEventChannelBuilder<IgniteEventChannel, IgniteEventChanne
 		return this;
 	}
 
+	/**
+	 * Sets the maximum number of received messages delivered in a single call to a {@link BatchEventSubscriber}.
+	 * 
+	 * @param size the maximum batch size.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public IgniteEventChannelBuilder maxBatchSize(int size)
+	{
+		this.maxBatchSize = size;
+		return this;
+	}
+
+	/**
+	 * Run deliveries to subscribers on the given executor (see {@link DispatchExecutors}). The channel
+	 * does not shut down an executor set this way. By default, each channel creates and owns a
+	 * bounded executor.
+	 * 
+	 * @param executor a {@link DispatchExecutor}.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public IgniteEventChannelBuilder dispatchExecutor(DispatchExecutor executor)
+	{
+		this.dispatchExecutor = executor;
+		return this;
+	}
+
+	/**
+	 * Deliver received events with the same partition key to each subscriber serially and in order.
+	 * Events with different keys are still delivered in parallel.
+	 * 
+	 * @param partitionKeys extracts the partition key from events (e.g. {@link PartitionKeyExtractor#DEFAULT}).
+	 * @return this builder to facilitate method chaining.
+	 */
+	public IgniteEventChannelBuilder orderedBy(PartitionKeyExtractor partitionKeys)
+	{
+		this.partitionKeys = partitionKeys;
+		return this;
+	}
+
+	/**
+	 * Deliver received events with the same partition key to each subscriber serially and in order.
+	 * Events with different keys are still delivered in parallel, using up to the given number of lanes.
+	 * 
+	 * @param partitionKeys extracts the partition key from events (e.g. {@link PartitionKeyExtractor#DEFAULT}).
+	 * @param lanes the maximum number of ordered deliveries that run concurrently.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public IgniteEventChannelBuilder orderedBy(PartitionKeyExtractor partitionKeys, int lanes)
+	{
+		this.partitionKeys = partitionKeys;
+		this.orderingLanes = lanes;
+		return this;
+	}
+
 	@Override
 	public IgniteEventChannelBuilder subscribe(EventSubscriber handler)
 	{
@@ -95,7 +159,25 @@ implements SubscribableEventChannelBuilder<IgniteEventChannel, IgniteEventChanne
 	{
 		if (config == null) config = Ignition.ignite();
 
-		return new IgniteEventChannel(topicName, config, handlers.toArray(new EventSubscriber[0]))
-			.ordered(isOrdered);
+		IgniteEventChannel channel = new IgniteEventChannel(topicName, config)
+			.ordered(isOrdered)
+			.maxBatchSize(maxBatchSize);
+
+		if (dispatchExecutor != null)
+		{
+			channel.dispatchExecutor(dispatchExecutor);
+		}
+
+		if (partitionKeys != null)
+		{
+			channel.orderedBy(partitionKeys, orderingLanes);
+		}
+
+		for (EventSubscriber handler : handlers)
+		{
+			channel.subscribe(handler);
+		}
+
+		return channel;
 	}
 }
@@ -0,0 +1,18 @@
+package com.strategicgains.haflinger.journal;
+
+import java.io.IOException;
+
+/**
+ * Converts events to and from the bytes stored in a {@link Journal}.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public interface EventSerializer
+{
+	byte[] serialize(Object event)
+	throws IOException;
+
+	Object deserialize(byte[] bytes)
+	throws IOException;
+}
@@ -0,0 +1,45 @@
+package com.strategicgains.haflinger.journal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * The default {@link EventSerializer}, using Java serialization. Events must be Serializable.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class JavaEventSerializer
+implements EventSerializer
+{
+	@Override
+	public byte[] serialize(Object event)
+	throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+		{
+			out.writeObject(event);
+		}
+
+		return bytes.toByteArray();
+	}
+
+	@Override
+	public Object deserialize(byte[] bytes)
+	throws IOException
+	{
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes)))
+		{
+			return in.readObject();
+		}
+		catch (ClassNotFoundException e)
+		{
+			throw new IOException(e);
+		}
+	}
+}
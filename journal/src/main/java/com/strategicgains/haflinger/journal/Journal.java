@@ -0,0 +1,472 @@
+package com.strategicgains.haflinger.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only log of records, stored in a directory as a sequence of fixed-size, memory-mapped
+ * segment files. When the active segment is full, a new segment is started (rolled). Each record is
+ * identified by its offset: its position in the log, starting at zero.
+ * 
+ * Appends are sequential writes to mapped memory, so they survive a crash of the JVM as soon as
+ * append() returns. To also survive a crash of the operating system, either sync on every append
+ * (slower) or call flush() periodically.
+ * 
+ * Segments are deleted by retention each time the journal rolls: those whose records are all below the
+ * offset given by retainFrom(), normally the lowest position persisted by the journal's readers, and the
+ * oldest beyond setMaxSegments(). Deleted segments are unmapped, and readers still positioned in them
+ * skip ahead to the oldest remaining record. Without retention, segments are kept indefinitely.
+ * 
+ * Appends are serialized. Any number of {@link JournalReader}s can read concurrently with appends.
+ * Only one journal, in any process, may have a directory open at a time. This is enforced with a lock
+ * file in the directory.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class Journal
+implements Closeable
+{
+	private static final Logger LOG = LoggerFactory.getLogger(Journal.class);
+	public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+	private static final String SEGMENT_SUFFIX = ".log";
+	private static final String LOCK_FILE = "journal.lock";
+
+	private final Path directory;
+	private final int segmentSize;
+	private final boolean syncOnAppend;
+	private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+	private final FileChannel lockChannel;
+	private final ReentrantLock appendLock = new ReentrantLock();
+	private final Condition appended = appendLock.newCondition();
+	// Readers hold the read lock while reading a segment, so it isn't unmapped underneath them.
+	private final ReentrantReadWriteLock mappingLock = new ReentrantReadWriteLock();
+	private volatile LongSupplier retainFrom;
+	private volatile int maxSegments = 0;
+	private Segment active;
+	private volatile long nextOffset;
+	private volatile boolean isClosed = false;
+
+	public Journal(Path directory)
+	throws IOException
+	{
+		this(directory, DEFAULT_SEGMENT_SIZE, false);
+	}
+
+	/**
+	 * Open a journal, creating the directory if necessary. Existing segments are recovered,
+	 * discarding any partially-written record at the end.
+	 * 
+	 * @param directory where the segment files are stored.
+	 * @param segmentSize the size of each segment file, in bytes. Limits the size of a single record.
+	 * @param syncOnAppend true to force each append to storage before returning.
+	 * @throws IOException if the journal cannot be opened, or the directory is already open.
+	 */
+	public Journal(Path directory, int segmentSize, boolean syncOnAppend)
+	throws IOException
+	{
+		super();
+		this.directory = Files.createDirectories(directory);
+		this.segmentSize = segmentSize;
+		this.syncOnAppend = syncOnAppend;
+		this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		lock();
+
+		try
+		{
+			openSegments();
+		}
+		catch (IOException | RuntimeException e)
+		{
+			unlock();
+			throw e;
+		}
+	}
+
+	private void lock()
+	throws IOException
+	{
+		FileLock acquired;
+
+		try
+		{
+			acquired = lockChannel.tryLock();
+		}
+		catch (OverlappingFileLockException e)
+		{
+			// Already held within this JVM.
+			acquired = null;
+		}
+		catch (IOException e)
+		{
+			lockChannel.close();
+			throw e;
+		}
+
+		if (acquired == null)
+		{
+			lockChannel.close();
+			throw new IOException("Journal directory is already open: " + directory);
+		}
+	}
+
+	private void releaseSegments()
+	{
+		mappingLock.writeLock().lock();
+
+		try
+		{
+			for (Segment segment : segments.values())
+			{
+				segment.release();
+			}
+		}
+		finally
+		{
+			mappingLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Release the directory by closing the lock file, which releases its lock.
+	 */
+	private void unlock()
+	{
+		try
+		{
+			lockChannel.close();
+		}
+		catch (IOException e)
+		{
+			// The lock is released when the process exits regardless.
+		}
+	}
+
+	private void openSegments()
+	throws IOException
+	{
+		try (Stream<Path> files = Files.list(directory))
+		{
+			for (Path file : (Iterable<Path>) files.filter(f -> f.getFileName().toString().endsWith(SEGMENT_SUFFIX))::iterator)
+			{
+				String name = file.getFileName().toString();
+				long baseOffset = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+				segments.put(baseOffset, Segment.open(file, baseOffset, segmentSize));
+			}
+		}
+
+		if (segments.isEmpty())
+		{
+			active = newSegment(0L);
+		}
+		else
+		{
+			active = segments.lastEntry().getValue();
+		}
+
+		nextOffset = active.getBaseOffset() + active.getRecordCount();
+	}
+
+	private Segment newSegment(long baseOffset)
+	throws IOException
+	{
+		Path file = directory.resolve(String.format("%020d%s", baseOffset, SEGMENT_SUFFIX));
+		Segment segment = Segment.open(file, baseOffset, segmentSize);
+		segments.put(baseOffset, segment);
+		return segment;
+	}
+
+	public Path getDirectory()
+	{
+		return directory;
+	}
+
+	/**
+	 * Delete segments whose records are all below the offset given by the supplier, now and each time
+	 * the journal rolls to a new segment.
+	 * 
+	 * @param offsets supplies the lowest offset still needed, e.g. the minimum persisted by the readers. Null to keep them.
+	 */
+	public void retainFrom(LongSupplier offsets)
+	{
+		appendLock.lock();
+
+		try
+		{
+			this.retainFrom = offsets;
+
+			if (!isClosed) retain();
+		}
+		finally
+		{
+			appendLock.unlock();
+		}
+	}
+
+	/**
+	 * Limit the number of segments kept, deleting the oldest each time the journal rolls, even if their
+	 * records haven't been read. Bounds the journal's disk usage to about count * segment size.
+	 * 
+	 * @param count the maximum number of segments. Zero (the default) for no limit.
+	 */
+	public void setMaxSegments(int count)
+	{
+		this.maxSegments = Math.max(0, count);
+	}
+
+	public int getMaxSegments()
+	{
+		return maxSegments;
+	}
+
+	/**
+	 * @return the offset the next appended record will have. Also the number of records ever appended.
+	 */
+	public long getNextOffset()
+	{
+		return nextOffset;
+	}
+
+	/**
+	 * @return the offset of the oldest record in the journal. Advances as retention deletes segments.
+	 */
+	public long getFirstOffset()
+	{
+		return segments.firstKey();
+	}
+
+	/**
+	 * Append a record to the journal.
+	 * 
+	 * @param payload the record's bytes.
+	 * @return the offset of the appended record.
+	 * @throws IOException if a new segment cannot be created.
+	 * @throws IllegalArgumentException if the record is larger than a segment.
+	 * @throws IllegalStateException if the journal is closed.
+	 */
+	public long append(byte[] payload)
+	throws IOException
+	{
+		if (Segment.HEADER_SIZE + payload.length > segmentSize)
+		{
+			throw new IllegalArgumentException("Record of " + payload.length + " bytes exceeds segment size of " + segmentSize);
+		}
+
+		appendLock.lock();
+
+		try
+		{
+			if (isClosed) throw new IllegalStateException("Journal is closed");
+
+			long offset = nextOffset;
+
+			if (!active.canAppend(payload.length))
+			{
+				active.seal();
+				active.force();
+				active = newSegment(offset);
+				retain();
+			}
+
+			active.append(payload);
+
+			if (syncOnAppend)
+			{
+				active.force();
+			}
+
+			// Publishing the new offset makes the record visible to readers.
+			nextOffset = offset + 1;
+			appended.signalAll();
+			return offset;
+		}
+		finally
+		{
+			appendLock.unlock();
+		}
+	}
+
+	/**
+	 * Wait until the record at the given offset has been appended.
+	 * 
+	 * @param offset the offset to wait for.
+	 * @param timeout the maximum time to wait.
+	 * @param unit the unit of the timeout.
+	 * @return true if the record is available. False if the timeout elapsed or the journal was closed.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	public boolean awaitOffset(long offset, long timeout, TimeUnit unit)
+	throws InterruptedException
+	{
+		if (offset < nextOffset) return true;
+
+		long remaining = unit.toNanos(timeout);
+		appendLock.lock();
+
+		try
+		{
+			while (offset >= nextOffset && !isClosed)
+			{
+				if (remaining <= 0L) return false;
+
+				remaining = appended.awaitNanos(remaining);
+			}
+
+			return (offset < nextOffset);
+		}
+		finally
+		{
+			appendLock.unlock();
+		}
+	}
+
+	/**
+	 * Create a reader positioned at the given offset.
+	 * 
+	 * @param offset the offset of the first record to read. Clamped to the records in the journal.
+	 * @return a new JournalReader.
+	 */
+	public JournalReader newReader(long offset)
+	{
+		Lock lock = readLock();
+		lock.lock();
+
+		try
+		{
+			return new JournalReader(this, Math.max(getFirstOffset(), Math.min(offset, nextOffset)));
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Delete the segments retention no longer needs, never the active one. Called holding the append lock.
+	 */
+	private void retain()
+	{
+		LongSupplier offsets = retainFrom;
+		long keepFrom = (offsets != null ? offsets.getAsLong() : Long.MIN_VALUE);
+
+		while (segments.size() > 1)
+		{
+			Segment oldest = segments.firstEntry().getValue();
+			long nextBase = segments.higherKey(oldest.getBaseOffset());
+
+			if (nextBase > keepFrom && (maxSegments == 0 || segments.size() <= maxSegments)) return;
+
+			delete(oldest);
+		}
+	}
+
+	private void delete(Segment segment)
+	{
+		mappingLock.writeLock().lock();
+
+		try
+		{
+			segments.remove(segment.getBaseOffset());
+			segment.release();
+		}
+		finally
+		{
+			mappingLock.writeLock().unlock();
+		}
+
+		try
+		{
+			Files.deleteIfExists(segment.getPath());
+		}
+		catch (IOException e)
+		{
+			LOG.warn("Unable to delete journal segment: " + segment.getPath(), e);
+		}
+	}
+
+	Lock readLock()
+	{
+		return mappingLock.readLock();
+	}
+
+	Segment firstSegment()
+	{
+		return segments.firstEntry().getValue();
+	}
+
+	Map.Entry<Long, Segment> segmentFor(long offset)
+	{
+		return segments.floorEntry(offset);
+	}
+
+	Segment segmentAfter(Segment segment)
+	{
+		Map.Entry<Long, Segment> next = segments.higherEntry(segment.getBaseOffset());
+		return (next != null ? next.getValue() : null);
+	}
+
+	/**
+	 * Force all appended records to storage.
+	 */
+	public void flush()
+	{
+		appendLock.lock();
+
+		try
+		{
+			if (!isClosed) active.force();
+		}
+		finally
+		{
+			appendLock.unlock();
+		}
+	}
+
+	public boolean isClosed()
+	{
+		return isClosed;
+	}
+
+	/**
+	 * Flush and close the journal, waking any waiting readers, unmapping its segments and releasing the directory.
+	 */
+	@Override
+	public void close()
+	{
+		appendLock.lock();
+
+		try
+		{
+			if (isClosed) return;
+
+			isClosed = true;
+			active.force();
+			appended.signalAll();
+			releaseSegments();
+			unlock();
+		}
+		finally
+		{
+			appendLock.unlock();
+		}
+	}
+}
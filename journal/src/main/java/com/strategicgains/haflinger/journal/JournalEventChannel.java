@@ -0,0 +1,366 @@
+package com.strategicgains.haflinger.journal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.strategicgains.haflinger.channel.ConsumableEventChannel;
+import com.strategicgains.haflinger.channel.SubscribableEventChannel;
+import com.strategicgains.haflinger.consumer.ConsumerGroup;
+import com.strategicgains.haflinger.consumer.EventSubscriber;
+import com.strategicgains.haflinger.dispatch.DispatchExecutor;
+import com.strategicgains.haflinger.dispatch.DispatchExecutors;
+import com.strategicgains.haflinger.dispatch.EventDispatcher;
+import com.strategicgains.haflinger.dispatch.OrderedExecutor;
+import com.strategicgains.haflinger.dispatch.PartitionKeyExtractor;
+
+/**
+ * A durable Event Channel within the current JVM, backed by a memory-mapped {@link Journal}. Published
+ * events are serialized and appended to the journal, so they survive a restart of the JVM.
+ * 
+ * Consumers and subscribers read the journal independently, each from its own persisted position:
+ * <ul>
+ * <li>Consumers share a position named by the consumer name. get() returns the next event and commit()
+ * acknowledges every event returned to the calling thread so far. The persisted position is the oldest
+ * event not yet committed by its thread, so after a restart consumption resumes there: uncommitted
+ * events are delivered again, as may committed events read after them.</li>
+ * <li>Subscribers share a position that advances as events are handed to the dispatch executor, before
+ * they are handled. So delivery to subscribers is at-most-once: events dispatched but not yet handled
+ * when the JVM stops are not delivered again.</li>
+ * </ul>
+ * 
+ * The journal keeps the segments holding records that either consumers or subscribers have yet to
+ * read. Since a position that never advances (e.g. consumers' position, if the channel is only
+ * subscribed to) holds every later segment, also cap the number of segments to bound disk usage
+ * (see {@link JournalEventChannelBuilder#maxSegments(int)}).
+ * 
+ * EventConsumers can be run on managed threads in the channel's {@link ConsumerGroup}, which is
+ * shut down with the channel.
+ * 
+ * Only one channel may have a journal directory open at a time. Opening a directory that is already
+ * open, by this or another process, fails.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class JournalEventChannel
+implements SubscribableEventChannel, ConsumableEventChannel
+{
+	private static final Logger LOG = LoggerFactory.getLogger(JournalEventChannel.class);
+	public static final String DEFAULT_CONSUMER_NAME = "consumer";
+	private static final String SUBSCRIBERS_NAME = "subscribers";
+
+	private Journal journal;
+	private EventSerializer serializer;
+	private OffsetStore consumerOffsets;
+	private OffsetStore subscriberOffsets;
+	private JournalReader consumerReader;
+	private volatile long consumedOffset;
+	// The offset of each consuming thread's oldest uncommitted event. Guarded by consumerReader.
+	private final NavigableSet<Long> uncommitted = new TreeSet<>();
+	private final ThreadLocal<Long> oldestUncommitted = new ThreadLocal<>();
+	private JournalSubscriptionMonitor monitor;
+	private DispatchExecutor dispatchExecutor = DispatchExecutors.newDefault();
+	private boolean ownsDispatchExecutor = true;
+	private final ConsumerGroup consumers = new ConsumerGroup(this);
+
+	public JournalEventChannel(Path directory)
+	throws IOException
+	{
+		this(new Journal(directory), new JavaEventSerializer(), DEFAULT_CONSUMER_NAME);
+	}
+
+	/**
+	 * @param journal the journal to publish to and read from. Its retention is set to the channel's positions,
+	 * and it is closed when the channel is shut down.
+	 * @param serializer converts events to and from journal records.
+	 * @param consumerName names the persisted position of this channel's consumers.
+	 * @throws IOException if the persisted positions cannot be opened.
+	 */
+	public JournalEventChannel(Journal journal, EventSerializer serializer, String consumerName)
+	throws IOException
+	{
+		super();
+		this.journal = journal;
+		this.serializer = serializer;
+		this.consumerOffsets = new OffsetStore(journal.getDirectory(), consumerName);
+		this.consumerReader = journal.newReader(consumerOffsets.get());
+		this.consumedOffset = consumerReader.getOffset();
+		this.subscriberOffsets = new OffsetStore(journal.getDirectory(), SUBSCRIBERS_NAME);
+		this.monitor = new JournalSubscriptionMonitor(journal, subscriberOffsets, serializer, new EventDispatcher(dispatchExecutor));
+		journal.retainFrom(() -> Math.min(consumerOffsets.get(), subscriberOffsets.get()));
+		monitor.start();
+	}
+
+	/**
+	 * @return the group that runs this channel's consumers.
+	 */
+	public ConsumerGroup getConsumerGroup()
+	{
+		return consumers;
+	}
+
+	public Journal getJournal()
+	{
+		return journal;
+	}
+
+	/**
+	 * Run deliveries to subscribers on the given executor instead of the channel's default. The
+	 * channel does not shut down an executor set this way, so it can be shared between channels.
+	 * 
+	 * Existing subscribers, including batch subscribers and ordered lanes, move to the new executor.
+	 * The default executor is shut down gracefully, so deliveries already queued on it still run.
+	 * 
+	 * @param executor a {@link DispatchExecutor}.
+	 * @return this channel to facilitate method chaining.
+	 */
+	public JournalEventChannel dispatchExecutor(DispatchExecutor executor)
+	{
+		DispatchExecutor previous = dispatchExecutor;
+		monitor.setDispatcher(monitor.getDispatcher().withExecutor(executor));
+		this.dispatchExecutor = executor;
+
+		if (ownsDispatchExecutor)
+		{
+			ownsDispatchExecutor = false;
+			previous.shutdown();
+		}
+
+		return this;
+	}
+
+	public DispatchExecutor getDispatchExecutor()
+	{
+		return dispatchExecutor;
+	}
+
+	/**
+	 * Deliver events with the same partition key to each subscriber serially and in order, while
+	 * events with different keys are delivered in parallel. Events without a key are unordered.
+	 * 
+	 * @param partitionKeys extracts the partition key from events. Null for unordered delivery.
+	 * @return this channel to facilitate method chaining.
+	 */
+	public JournalEventChannel orderedBy(PartitionKeyExtractor partitionKeys)
+	{
+		return orderedBy(partitionKeys, OrderedExecutor.DEFAULT_LANES);
+	}
+
+	/**
+	 * Deliver events with the same partition key to each subscriber serially and in order, while
+	 * events with different keys are delivered in parallel. Events without a key are unordered.
+	 * 
+	 * @param partitionKeys extracts the partition key from events. Null for unordered delivery.
+	 * @param lanes the number of serial lanes, bounding the number of concurrent ordered deliveries.
+	 * @return this channel to facilitate method chaining.
+	 */
+	public JournalEventChannel orderedBy(PartitionKeyExtractor partitionKeys, int lanes)
+	{
+		monitor.setDispatcher(monitor.getDispatcher().orderedBy(partitionKeys, lanes));
+		return this;
+	}
+
+	/**
+	 * Serialize the event and append it to the journal.
+	 * 
+	 * @return true if the event was appended. False if it could not be serialized or written.
+	 */
+	@Override
+	public boolean publish(Object event)
+	{
+		try
+		{
+			journal.append(serializer.serialize(event));
+			return true;
+		}
+		catch (IOException | IllegalArgumentException | IllegalStateException e)
+		{
+			LOG.error("Unable to journal event: " + event, e);
+			return false;
+		}
+	}
+
+	@Override
+	public boolean subscribe(EventSubscriber handler)
+	{
+		return monitor.register(handler);
+	}
+
+	@Override
+	public void unsubscribe(EventSubscriber handler)
+	{
+		monitor.unregister(handler);
+	}
+
+	/**
+	 * Waits until an event is published.
+	 * 
+	 * @return an event object or null if the calling thread is interrupted while waiting or the channel is shut down.
+	 */
+	@Override
+	public Object get()
+	{
+		Object event;
+
+		do
+		{
+			event = get(Long.MAX_VALUE);
+		}
+		while (event == null && !journal.isClosed() && !Thread.currentThread().isInterrupted());
+
+		return event;
+	}
+
+	/**
+	 * Waits until an event is published or the timeout elapses.
+	 * 
+	 * @param timeoutMillis maximum number of milliseconds to wait for data.
+	 * @return an event object or null if none available within the timeout or the calling thread is interrupted.
+	 */
+	@Override
+	public Object get(long timeoutMillis)
+	{
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+		try
+		{
+			while (true)
+			{
+				byte[] record;
+				long offset;
+				boolean isOldest = false;
+
+				synchronized (consumerReader)
+				{
+					offset = consumerReader.getOffset();
+					record = consumerReader.next();
+					consumedOffset = consumerReader.getOffset();
+
+					if (record != null && oldestUncommitted.get() == null)
+					{
+						uncommitted.add(offset);
+						oldestUncommitted.set(offset);
+						isOldest = true;
+					}
+				}
+
+				if (record == null)
+				{
+					long remaining = (timeoutMillis == Long.MAX_VALUE ? Long.MAX_VALUE : deadline - System.nanoTime());
+
+					if (!journal.awaitOffset(consumedOffset, remaining, TimeUnit.NANOSECONDS)) return null;
+
+					continue;
+				}
+
+				try
+				{
+					return serializer.deserialize(record);
+				}
+				catch (IOException e)
+				{
+					LOG.error("Skipping unreadable journal record at offset " + offset, e);
+
+					if (isOldest) forget(offset);
+				}
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	/**
+	 * Acknowledge every event returned by get() to the calling thread so far, and persist the consumers'
+	 * position: the oldest event another thread has not yet committed, or else the end of everything read.
+	 */
+	@Override
+	public void commit()
+	{
+		Long offset = oldestUncommitted.get();
+		oldestUncommitted.remove();
+
+		synchronized (consumerReader)
+		{
+			if (offset != null) uncommitted.remove(offset);
+
+			consumerOffsets.set(uncommitted.isEmpty() ? consumedOffset : uncommitted.first());
+		}
+	}
+
+	/**
+	 * Forget an unreadable event that would have been the calling thread's oldest uncommitted one.
+	 */
+	private void forget(long offset)
+	{
+		oldestUncommitted.remove();
+
+		synchronized (consumerReader)
+		{
+			uncommitted.remove(offset);
+		}
+	}
+
+	/**
+	 * @return the offset consumers resume from after a restart.
+	 */
+	public long getCommittedOffset()
+	{
+		return consumerOffsets.get();
+	}
+
+	@Override
+	public void shutdown()
+	{
+		consumers.shutdown();
+		monitor.shutdown();
+		journal.close();
+		consumerOffsets.flush();
+
+		if (ownsDispatchExecutor)
+		{
+			dispatchExecutor.shutdown();
+		}
+	}
+
+	/**
+	 * Stop dispatching new records, then wait for the consumer group to stop and the deliveries in
+	 * flight to complete before closing the journal. Records not yet dispatched remain in the journal
+	 * and are dispatched when it is reopened. A dispatch executor not owned by this channel is not shut down or waited for.
+	 */
+	@Override
+	public boolean shutdown(Duration timeout)
+	{
+		long deadline = System.nanoTime() + timeout.toNanos();
+		monitor.shutdown();
+		boolean isDrained = consumers.shutdown(timeout);
+
+		try
+		{
+			monitor.join(Math.max(1L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			isDrained = false;
+		}
+
+		if (ownsDispatchExecutor)
+		{
+			isDrained &= DispatchExecutors.shutdownAndAwait(dispatchExecutor, deadline);
+		}
+
+		journal.close();
+		consumerOffsets.flush();
+		return isDrained;
+	}
+}
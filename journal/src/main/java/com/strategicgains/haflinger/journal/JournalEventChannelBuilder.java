@@ -0,0 +1,223 @@
+package com.strategicgains.haflinger.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import com.strategicgains.haflinger.channel.builder.ConsumableEventChannelBuilder;
+import com.strategicgains.haflinger.channel.builder.SubscribableEventChannelBuilder;
+import com.strategicgains.haflinger.consumer.EventConsumer;
+import com.strategicgains.haflinger.consumer.EventSubscriber;
+import com.strategicgains.haflinger.dispatch.DispatchExecutor;
+import com.strategicgains.haflinger.dispatch.DispatchExecutors;
+import com.strategicgains.haflinger.dispatch.OrderedExecutor;
+import com.strategicgains.haflinger.dispatch.PartitionKeyExtractor;
+
+/**
+ * Configure and build a durable, local {@link JournalEventChannel}.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class JournalEventChannelBuilder
+implements SubscribableEventChannelBuilder<JournalEventChannel, JournalEventChannelBuilder>,
+	ConsumableEventChannelBuilder<JournalEventChannel, JournalEventChannelBuilder>
+{
+	private Path directory;
+	private int segmentSize = Journal.DEFAULT_SEGMENT_SIZE;
+	private boolean syncOnAppend = false;
+	private int maxSegments = 0;
+	private EventSerializer serializer = new JavaEventSerializer();
+	private String consumerName = JournalEventChannel.DEFAULT_CONSUMER_NAME;
+	private DispatchExecutor dispatchExecutor = null;
+	private PartitionKeyExtractor partitionKeys = null;
+	private int orderingLanes = OrderedExecutor.DEFAULT_LANES;
+	private Set<EventSubscriber> handlers = new LinkedHashSet<>();
+	private Set<EventConsumer> consumers = new LinkedHashSet<>();
+
+	/**
+	 * @param directory where the journal's files are stored.
+	 */
+	public JournalEventChannelBuilder(Path directory)
+	{
+		super();
+		this.directory = directory;
+	}
+
+	/**
+	 * @throws UncheckedIOException if the journal cannot be opened.
+	 */
+	@Override
+	public JournalEventChannel build()
+	{
+		JournalEventChannel channel;
+
+		try
+		{
+			Journal journal = new Journal(directory, segmentSize, syncOnAppend);
+			journal.setMaxSegments(maxSegments);
+			channel = new JournalEventChannel(journal, serializer, consumerName);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+
+		if (dispatchExecutor != null)
+		{
+			channel.dispatchExecutor(dispatchExecutor);
+		}
+
+		if (partitionKeys != null)
+		{
+			channel.orderedBy(partitionKeys, orderingLanes);
+		}
+
+		for (EventSubscriber handler : handlers)
+		{
+			channel.subscribe(handler);
+		}
+
+		for (EventConsumer consumer : consumers)
+		{
+			channel.getConsumerGroup().add(consumer);
+		}
+
+		return channel;
+	}
+
+	/**
+	 * Sets the size of each segment file. The journal rolls to a new segment when the current one is full.
+	 * A single event cannot be larger than a segment.
+	 * 
+	 * @param bytes the segment size in bytes. Defaults to 64MB.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public JournalEventChannelBuilder segmentSize(int bytes)
+	{
+		this.segmentSize = bytes;
+		return this;
+	}
+
+	/**
+	 * Caps the number of segment files kept, deleting the oldest as the journal rolls, even if consumers
+	 * or subscribers haven't read them. Segments are deleted once both have read them regardless.
+	 * 
+	 * @param count the maximum number of segments. Defaults to zero, for no limit.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public JournalEventChannelBuilder maxSegments(int count)
+	{
+		this.maxSegments = count;
+		return this;
+	}
+
+	/**
+	 * Force each published event to storage before publish() returns, so it survives an operating
+	 * system crash. Events survive a JVM crash either way. Defaults to false.
+	 * 
+	 * @param value true to sync on every append.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public JournalEventChannelBuilder syncOnAppend(boolean value)
+	{
+		this.syncOnAppend = value;
+		return this;
+	}
+
+	/**
+	 * Sets how events are converted to journal records. Defaults to Java serialization.
+	 * 
+	 * @param serializer an {@link EventSerializer}.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public JournalEventChannelBuilder serializer(EventSerializer serializer)
+	{
+		this.serializer = serializer;
+		return this;
+	}
+
+	/**
+	 * Names the persisted position that consumers of the channel resume from after a restart.
+	 * 
+	 * @param name the consumer name.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public JournalEventChannelBuilder consumerName(String name)
+	{
+		this.consumerName = name;
+		return this;
+	}
+
+	/**
+	 * Run deliveries to subscribers on the given executor (see {@link DispatchExecutors}). The channel
+	 * does not shut down an executor set this way. By default, each channel creates and owns a
+	 * bounded executor.
+	 * 
+	 * @param executor a {@link DispatchExecutor}.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public JournalEventChannelBuilder dispatchExecutor(DispatchExecutor executor)
+	{
+		this.dispatchExecutor = executor;
+		return this;
+	}
+
+	/**
+	 * Deliver events with the same partition key to each subscriber serially and in order.
+	 * Events with different keys are still delivered in parallel.
+	 * 
+	 * @param partitionKeys extracts the partition key from events (e.g. {@link PartitionKeyExtractor#DEFAULT}).
+	 * @return this builder to facilitate method chaining.
+	 */
+	public JournalEventChannelBuilder orderedBy(PartitionKeyExtractor partitionKeys)
+	{
+		this.partitionKeys = partitionKeys;
+		return this;
+	}
+
+	/**
+	 * Deliver events with the same partition key to each subscriber serially and in order.
+	 * Events with different keys are still delivered in parallel, using up to the given number of lanes.
+	 * 
+	 * @param partitionKeys extracts the partition key from events (e.g. {@link PartitionKeyExtractor#DEFAULT}).
+	 * @param lanes the maximum number of ordered deliveries that run concurrently.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public JournalEventChannelBuilder orderedBy(PartitionKeyExtractor partitionKeys, int lanes)
+	{
+		this.partitionKeys = partitionKeys;
+		this.orderingLanes = lanes;
+		return this;
+	}
+
+	@Override
+	public JournalEventChannelBuilder subscribe(EventSubscriber handler)
+	{
+		handlers.add(handler);
+		return this;
+	}
+
+	@Override
+	public JournalEventChannelBuilder unsubscribe(EventSubscriber handler)
+	{
+		handlers.remove(handler);
+		return this;
+	}
+
+	@Override
+	public JournalEventChannelBuilder register(EventConsumer consumer)
+	{
+		consumers.add(consumer);
+		return this;
+	}
+
+	@Override
+	public JournalEventChannelBuilder unregister(EventConsumer consumer)
+	{
+		consumers.remove(consumer);
+		return this;
+	}
+}
@@ -0,0 +1,110 @@
+package com.strategicgains.haflinger.journal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Reads records sequentially from a {@link Journal}, starting at a given offset. Readers are not
+ * thread safe; use one per thread or synchronize externally.
+ * 
+ * A reader positioned in a segment deleted by the journal's retention skips ahead to the oldest
+ * remaining record.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class JournalReader
+{
+	private final Journal journal;
+	private Segment segment;
+	private int position;
+	private long offset;
+
+	JournalReader(Journal journal, long offset)
+	{
+		super();
+		this.journal = journal;
+		this.segment = journal.segmentFor(offset).getValue();
+		this.offset = segment.getBaseOffset();
+		this.position = 0;
+
+		while (this.offset < offset)
+		{
+			position += Segment.HEADER_SIZE + segment.lengthAt(position);
+			this.offset++;
+		}
+	}
+
+	/**
+	 * @return the offset of the next record to be read.
+	 */
+	public long getOffset()
+	{
+		return offset;
+	}
+
+	/**
+	 * Read the next record, if one is available.
+	 * 
+	 * @return the record's bytes, or null if there are no more records yet or the journal is closed.
+	 */
+	public byte[] next()
+	{
+		Lock lock = journal.readLock();
+		lock.lock();
+
+		try
+		{
+			if (journal.isClosed() || offset >= journal.getNextOffset()) return null;
+
+			if (segment.isReleased())
+			{
+				segment = journal.firstSegment();
+				position = 0;
+				offset = segment.getBaseOffset();
+
+				if (offset >= journal.getNextOffset()) return null;
+			}
+
+			return read();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	private byte[] read()
+	{
+		int length = segment.lengthAt(position);
+
+		if (length <= 0)
+		{
+			// End of a full segment. Records continue in the next one.
+			segment = journal.segmentAfter(segment);
+			position = 0;
+			length = segment.lengthAt(position);
+		}
+
+		byte[] payload = segment.read(position, length);
+		position += Segment.HEADER_SIZE + length;
+		offset++;
+		return payload;
+	}
+
+	/**
+	 * Read the next record, waiting for it to be appended if necessary.
+	 * 
+	 * @param timeout the maximum time to wait.
+	 * @param unit the unit of the timeout.
+	 * @return the record's bytes, or null if the timeout elapsed or the journal was closed.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	public byte[] next(long timeout, TimeUnit unit)
+	throws InterruptedException
+	{
+		if (!journal.awaitOffset(offset, timeout, unit)) return null;
+
+		return next();
+	}
+}
@@ -0,0 +1,246 @@
+package com.strategicgains.haflinger.journal;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.strategicgains.haflinger.consumer.BatchEventSubscriber;
+import com.strategicgains.haflinger.consumer.EventSubscriber;
+import com.strategicgains.haflinger.dispatch.EventBatcher;
+import com.strategicgains.haflinger.dispatch.EventDispatcher;
+import com.strategicgains.haflinger.routing.EventTypeIndex;
+import com.strategicgains.haflinger.routing.SelectiveEventSubscriber;
+import com.strategicgains.haflinger.routing.TypedEventSubscriber;
+
+/**
+ * A thread that tails a {@link Journal} and sends each record to the subscribers that accept it.
+ * 
+ * Subscribers share one position in the journal, which is persisted in an {@link OffsetStore} as
+ * records are dispatched. After a restart, subscribers resume from the last dispatched record instead
+ * of receiving the whole journal again. While there are no subscribers, the position doesn't advance.
+ * 
+ * The position advances once a record is handed to the dispatcher, not once its handlers finish, so
+ * delivery is at-most-once: records still queued or being handled when the JVM stops are not delivered
+ * again. Subscribers that can't lose events should consume from the channel and commit instead.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class JournalSubscriptionMonitor
+extends Thread
+{
+	private static final Logger LOG = LoggerFactory.getLogger(JournalSubscriptionMonitor.class);
+	private static final long POLL_MILLIS = 100L;
+
+	private final JournalReader reader;
+	private final OffsetStore offsets;
+	private final EventSerializer serializer;
+	private final EventTypeIndex<Subscription> handlersByEvent = new EventTypeIndex<>(Subscription::getEventTypes);
+	private final Object handlersChanged = new Object();
+	private volatile EventDispatcher dispatcher;
+	private volatile boolean shouldShutDown = false;
+
+	public JournalSubscriptionMonitor(Journal journal, OffsetStore offsets, EventSerializer serializer, EventDispatcher dispatcher)
+	{
+		super("haflinger-journal-monitor");
+		setDaemon(true);
+		this.reader = journal.newReader(offsets.get());
+		this.offsets = offsets;
+		this.serializer = serializer;
+		this.dispatcher = dispatcher;
+	}
+
+	/**
+	 * Run subsequent deliveries with the given dispatcher, moving batch subscribers to its executor.
+	 */
+	public void setDispatcher(EventDispatcher dispatcher)
+	{
+		this.dispatcher = dispatcher;
+
+		for (Subscription subscription : handlersByEvent.values())
+		{
+			if (subscription.batcher != null) subscription.batcher.setExecutor(dispatcher.getExecutor());
+		}
+	}
+
+	public EventDispatcher getDispatcher()
+	{
+		return dispatcher;
+	}
+
+	public boolean register(EventSubscriber handler)
+	{
+		EventDispatcher dispatcher = this.dispatcher;
+		Subscription subscription = new Subscription(handler, dispatcher);
+		boolean isAdded = handlersByEvent.add(subscription);
+
+		// The dispatcher may have changed while registering, missing this subscription.
+		if (subscription.batcher != null && this.dispatcher != dispatcher)
+		{
+			subscription.batcher.setExecutor(this.dispatcher.getExecutor());
+		}
+
+		synchronized (handlersChanged)
+		{
+			handlersChanged.notifyAll();
+		}
+
+		return isAdded;
+	}
+
+	public boolean unregister(EventSubscriber handler)
+	{
+		boolean isRemoved = handlersByEvent.remove(new Subscription(handler, null));
+		dispatcher.getExecutor().unsubscribe(handler);
+		return isRemoved;
+	}
+
+	public void shutdown()
+	{
+		shouldShutDown = true;
+		interrupt();
+	}
+
+	@Override
+	public void run()
+	{
+		while (!shouldShutDown)
+		{
+			try
+			{
+				if (handlersByEvent.isEmpty())
+				{
+					synchronized (handlersChanged)
+					{
+						handlersChanged.wait(POLL_MILLIS);
+					}
+
+					continue;
+				}
+
+				byte[] record = reader.next(POLL_MILLIS, TimeUnit.MILLISECONDS);
+
+				if (record != null)
+				{
+					processRecord(record);
+					// At-most-once: the handlers may still be running.
+					offsets.set(reader.getOffset());
+				}
+			}
+			catch (InterruptedException e)
+			{
+				// shutdown() interrupts a waiting monitor.
+			}
+			catch (RuntimeException e)
+			{
+				LOG.error("Error dispatching journal record at offset " + (reader.getOffset() - 1), e);
+			}
+		}
+
+		offsets.flush();
+		handlersByEvent.clear();
+	}
+
+	private void processRecord(byte[] record)
+	{
+		Object event;
+
+		try
+		{
+			event = serializer.deserialize(record);
+		}
+		catch (IOException e)
+		{
+			LOG.error("Skipping unreadable journal record at offset " + (reader.getOffset() - 1), e);
+			return;
+		}
+
+		EventDispatcher dispatcher = this.dispatcher;
+
+		for (Subscription subscription : handlersByEvent.get(event.getClass()))
+		{
+			if (!subscription.shouldHandle(event)) continue;
+
+			if (subscription.batcher != null)
+			{
+				subscription.batcher.add(event);
+				continue;
+			}
+
+			execute(dispatcher, subscription.handler, event, () -> {
+				try
+				{
+					subscription.handler.handle(event);
+				}
+				catch (Exception e)
+				{
+					LOG.error("Event handler failed", e);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Run a delivery. If the dispatcher's executor has been replaced and the previous one rejects it,
+	 * retry with the current dispatcher.
+	 */
+	private void execute(EventDispatcher dispatcher, EventSubscriber handler, Object event, Runnable delivery)
+	{
+		try
+		{
+			dispatcher.execute(handler, event, delivery);
+		}
+		catch (RejectedExecutionException e)
+		{
+			EventDispatcher current = this.dispatcher;
+
+			if (current == dispatcher) throw e;
+
+			execute(current, handler, event, delivery);
+		}
+	}
+
+	/**
+	 * A subscriber, with its selection capabilities resolved once at registration.
+	 */
+	private static class Subscription
+	{
+		private final EventSubscriber handler;
+		private final SelectiveEventSubscriber selector;
+		private final EventBatcher batcher;
+
+		public Subscription(EventSubscriber handler, EventDispatcher dispatcher)
+		{
+			super();
+			this.handler = handler;
+			this.selector = (handler instanceof SelectiveEventSubscriber ? (SelectiveEventSubscriber) handler : null);
+			this.batcher = (handler instanceof BatchEventSubscriber && dispatcher != null ? new EventBatcher((BatchEventSubscriber) handler, dispatcher.getExecutor()) : null);
+		}
+
+		public Collection<Class<?>> getEventTypes()
+		{
+			return (handler instanceof TypedEventSubscriber ? ((TypedEventSubscriber) handler).getEventTypes() : null);
+		}
+
+		public boolean shouldHandle(Object event)
+		{
+			return (selector == null || selector.test(event));
+		}
+
+		@Override
+		public boolean equals(Object that)
+		{
+			return (that instanceof Subscription && handler.equals(((Subscription) that).handler));
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return handler.hashCode();
+		}
+	}
+}
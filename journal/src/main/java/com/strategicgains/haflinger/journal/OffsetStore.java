@@ -0,0 +1,66 @@
+package com.strategicgains.haflinger.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Persists a reader's committed offset in a small, memory-mapped file, so consumption can resume
+ * from there after a restart.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class OffsetStore
+{
+	private static final String OFFSET_SUFFIX = ".offset";
+
+	private final String name;
+	private final MappedByteBuffer buffer;
+
+	/**
+	 * @param directory the directory holding the offset file, normally the journal's directory.
+	 * @param name the name of the reader (e.g. consumer or subscriber group).
+	 * @throws IOException if the offset file cannot be opened.
+	 */
+	public OffsetStore(Path directory, String name)
+	throws IOException
+	{
+		super();
+		this.name = name;
+
+		try (FileChannel channel = FileChannel.open(directory.resolve(name + OFFSET_SUFFIX), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+		{
+			this.buffer = channel.map(MapMode.READ_WRITE, 0, Long.BYTES);
+		}
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * @return the committed offset. Zero if nothing has been committed.
+	 */
+	public synchronized long get()
+	{
+		return buffer.getLong(0);
+	}
+
+	/**
+	 * @param offset the offset of the next record to read after a restart.
+	 */
+	public synchronized void set(long offset)
+	{
+		buffer.putLong(0, offset);
+	}
+
+	public synchronized void flush()
+	{
+		buffer.force();
+	}
+}
@@ -0,0 +1,230 @@
+package com.strategicgains.haflinger.journal;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * A single, fixed-size, memory-mapped file of a {@link Journal}. Each record is stored as its length,
+ * a CRC32 of its payload and the payload. A zero length marks unwritten space and a length of -1 marks
+ * the end of a full segment.
+ * 
+ * Records are written in the order payload, checksum, length, so a record is never recovered from a
+ * partial write.
+ * 
+ * A released segment is unmapped immediately where the runtime allows it, instead of when the buffer is
+ * garbage collected. It must not be read afterward.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+class Segment
+{
+	static final int HEADER_SIZE = 8;
+	static final int END_OF_SEGMENT = -1;
+	private static final Unmapper UNMAPPER = Unmapper.find();
+
+	private final long baseOffset;
+	private final Path path;
+	private final MappedByteBuffer buffer;
+	private int writePosition = 0;
+	private int recordCount = 0;
+	private volatile boolean isReleased = false;
+
+	private Segment(long baseOffset, Path path, MappedByteBuffer buffer)
+	{
+		super();
+		this.baseOffset = baseOffset;
+		this.path = path;
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Open (or create) a segment file, recovering its write position from the records it contains.
+	 */
+	static Segment open(Path path, long baseOffset, int size)
+	throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+		{
+			Segment segment = new Segment(baseOffset, path, channel.map(MapMode.READ_WRITE, 0, Math.max(size, channel.size())));
+			segment.recover();
+			return segment;
+		}
+	}
+
+	private void recover()
+	{
+		int position = 0;
+		int count = 0;
+
+		while (hasHeaderAt(position))
+		{
+			int length = buffer.getInt(position);
+
+			if (length <= 0 || length > capacity() - position - HEADER_SIZE) break;
+
+			if (buffer.getInt(position + 4) != checksum(read(position, length)))
+			{
+				// A partial write. Clear it so it can't be mistaken for a record later.
+				buffer.put(position, new byte[HEADER_SIZE + length]);
+				break;
+			}
+
+			position += HEADER_SIZE + length;
+			count++;
+		}
+
+		this.writePosition = position;
+		this.recordCount = count;
+	}
+
+	long getBaseOffset()
+	{
+		return baseOffset;
+	}
+
+	Path getPath()
+	{
+		return path;
+	}
+
+	int getRecordCount()
+	{
+		return recordCount;
+	}
+
+	int capacity()
+	{
+		return buffer.capacity();
+	}
+
+	boolean canAppend(int payloadLength)
+	{
+		return (writePosition + HEADER_SIZE + payloadLength <= capacity());
+	}
+
+	/**
+	 * Append a record. Callers must ensure there is room via canAppend().
+	 */
+	void append(byte[] payload)
+	{
+		buffer.put(writePosition + HEADER_SIZE, payload);
+		buffer.putInt(writePosition + 4, checksum(payload));
+		buffer.putInt(writePosition, payload.length);
+		writePosition += HEADER_SIZE + payload.length;
+		recordCount++;
+	}
+
+	/**
+	 * Mark this segment as full, so readers move on to the next segment.
+	 */
+	void seal()
+	{
+		if (writePosition + 4 <= capacity())
+		{
+			buffer.putInt(writePosition, END_OF_SEGMENT);
+		}
+	}
+
+	boolean hasHeaderAt(int position)
+	{
+		return (position + HEADER_SIZE <= capacity());
+	}
+
+	int lengthAt(int position)
+	{
+		return (hasHeaderAt(position) ? buffer.getInt(position) : END_OF_SEGMENT);
+	}
+
+	byte[] read(int position, int length)
+	{
+		byte[] payload = new byte[length];
+		buffer.get(position + HEADER_SIZE, payload);
+		return payload;
+	}
+
+	void force()
+	{
+		buffer.force();
+	}
+
+	boolean isReleased()
+	{
+		return isReleased;
+	}
+
+	/**
+	 * Unmap the segment. Callers must ensure no reader is using it.
+	 */
+	void release()
+	{
+		if (isReleased) return;
+
+		isReleased = true;
+		UNMAPPER.unmap(buffer);
+	}
+
+	private static int checksum(byte[] payload)
+	{
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		return (int) crc.getValue();
+	}
+
+
+	// SECTION: INNER CLASSES
+
+	/**
+	 * Unmaps a buffer with sun.misc.Unsafe.invokeCleaner(), if available. Otherwise, leaves it to the
+	 * garbage collector.
+	 */
+	private static class Unmapper
+	{
+		private final Object unsafe;
+		private final Method invokeCleaner;
+
+		private Unmapper(Object unsafe, Method invokeCleaner)
+		{
+			super();
+			this.unsafe = unsafe;
+			this.invokeCleaner = invokeCleaner;
+		}
+
+		static Unmapper find()
+		{
+			try
+			{
+				Class<?> type = Class.forName("sun.misc.Unsafe");
+				Field field = type.getDeclaredField("theUnsafe");
+				field.setAccessible(true);
+				return new Unmapper(field.get(null), type.getMethod("invokeCleaner", ByteBuffer.class));
+			}
+			catch (ReflectiveOperationException | RuntimeException e)
+			{
+				return new Unmapper(null, null);
+			}
+		}
+
+		void unmap(MappedByteBuffer buffer)
+		{
+			if (invokeCleaner == null) return;
+
+			try
+			{
+				invokeCleaner.invoke(unsafe, buffer);
+			}
+			catch (ReflectiveOperationException | RuntimeException e)
+			{
+				// Left to the garbage collector.
+			}
+		}
+	}
+}
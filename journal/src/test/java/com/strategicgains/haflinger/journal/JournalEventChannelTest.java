@@ -0,0 +1,195 @@
+package com.strategicgains.haflinger.journal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class JournalEventChannelTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void shouldConsumePublishedEvents()
+	throws Exception
+	{
+		JournalEventChannel channel = new JournalEventChannelBuilder(folder.getRoot().toPath()).build();
+
+		try
+		{
+			channel.publish("one");
+			channel.publish(2);
+			assertEquals("one", channel.get(100L));
+			assertEquals(2, channel.get(100L));
+			assertNull(channel.get(50L));
+		}
+		finally
+		{
+			channel.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldResumeFromCommittedOffsetAfterRestart()
+	throws Exception
+	{
+		Path directory = folder.getRoot().toPath();
+		JournalEventChannel channel = new JournalEventChannelBuilder(directory).build();
+
+		for (int i = 0; i < 5; i++)
+		{
+			channel.publish(i);
+		}
+
+		assertEquals(0, channel.get(100L));
+		assertEquals(1, channel.get(100L));
+		channel.commit();
+		assertEquals(2, channel.get(100L));
+		channel.shutdown();
+
+		channel = new JournalEventChannelBuilder(directory).build();
+
+		try
+		{
+			assertEquals(2L, channel.getCommittedOffset());
+			assertEquals(2, channel.get(100L));
+			channel.publish(5);
+			assertEquals(3, channel.get(100L));
+			assertEquals(4, channel.get(100L));
+			assertEquals(5, channel.get(100L));
+			assertEquals(6L, channel.getJournal().getNextOffset());
+		}
+		finally
+		{
+			channel.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldNotCommitPastAnotherThreadsEvents()
+	throws Exception
+	{
+		JournalEventChannel channel = new JournalEventChannelBuilder(folder.getRoot().toPath()).build();
+
+		try
+		{
+			for (int i = 0; i < 3; i++)
+			{
+				channel.publish(i);
+			}
+
+			assertEquals(0, channel.get(100L));
+
+			Thread other = new Thread(() -> {
+				channel.get(100L);
+				channel.get(100L);
+				channel.commit();
+			});
+			other.start();
+			other.join(5000L);
+			assertEquals(0L, channel.getCommittedOffset());
+
+			channel.commit();
+			assertEquals(3L, channel.getCommittedOffset());
+		}
+		finally
+		{
+			channel.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldRollSegments()
+	throws Exception
+	{
+		Path directory = folder.getRoot().toPath();
+		JournalEventChannel channel = new JournalEventChannelBuilder(directory)
+			.segmentSize(1024)
+			.build();
+
+		try
+		{
+			for (int i = 0; i < 100; i++)
+			{
+				assertTrue(channel.publish("event-" + i));
+			}
+
+			for (int i = 0; i < 100; i++)
+			{
+				assertEquals("event-" + i, channel.get(100L));
+			}
+		}
+		finally
+		{
+			channel.shutdown();
+		}
+
+		try (Stream<Path> files = Files.list(directory))
+		{
+			assertTrue(files.filter(f -> f.toString().endsWith(".log")).count() > 1);
+		}
+
+		Journal journal = new Journal(directory, 1024, false);
+		JournalReader reader = journal.newReader(42L);
+		assertEquals(100L, journal.getNextOffset());
+		assertEquals("event-42", new JavaEventSerializer().deserialize(reader.next()));
+		journal.close();
+	}
+
+	@Test
+	public void shouldNotifySubscribersAndResumeAfterRestart()
+	throws Exception
+	{
+		Path directory = folder.getRoot().toPath();
+		List<Object> received = new CopyOnWriteArrayList<>();
+		CountDownLatch first = new CountDownLatch(3);
+		JournalEventChannel channel = new JournalEventChannelBuilder(directory)
+			.subscribe(event -> {
+				received.add(event);
+				first.countDown();
+			})
+			.build();
+		channel.publish("a");
+		channel.publish("b");
+		channel.publish("c");
+		assertTrue(first.await(1, TimeUnit.SECONDS));
+		channel.shutdown();
+
+		CountDownLatch second = new CountDownLatch(1);
+		channel = new JournalEventChannelBuilder(directory)
+			.subscribe(event -> {
+				received.add(event);
+				second.countDown();
+			})
+			.build();
+
+		try
+		{
+			channel.publish("d");
+			assertTrue(second.await(1, TimeUnit.SECONDS));
+			Thread.sleep(50);
+			assertEquals(4, received.size());
+			assertEquals("d", received.get(3));
+		}
+		finally
+		{
+			channel.shutdown();
+		}
+	}
+}
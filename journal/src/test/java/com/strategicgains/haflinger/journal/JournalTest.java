@@ -0,0 +1,227 @@
+package com.strategicgains.haflinger.journal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class JournalTest
+{
+	private static final int SEGMENT_SIZE = 1024;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void shouldRejectDirectoryAlreadyOpen()
+	throws Exception
+	{
+		Path directory = folder.getRoot().toPath();
+		Journal journal = new Journal(directory);
+
+		try
+		{
+			new Journal(directory);
+			fail("Expected IOException");
+		}
+		catch (IOException e)
+		{
+			// expected
+		}
+		finally
+		{
+			journal.close();
+		}
+
+		journal = new Journal(directory);
+		assertEquals(0L, journal.getNextOffset());
+		journal.close();
+	}
+
+	@Test
+	public void shouldDiscardRecordWithBadChecksum()
+	throws Exception
+	{
+		Path directory = folder.getRoot().toPath();
+		appendAndClose(directory, "a", "bb", "ccc");
+
+		// Flip a byte of the last record's payload, which starts after the first two records and its header.
+		overwrite(directory, 9 + 10 + Segment.HEADER_SIZE, ByteBuffer.wrap(new byte[] {'x'}));
+
+		assertRecoveredWith(directory, 2L, "a", "bb");
+	}
+
+	@Test
+	public void shouldDiscardRecordWithBadLength()
+	throws Exception
+	{
+		Path directory = folder.getRoot().toPath();
+		appendAndClose(directory, "a", "bb", "ccc");
+
+		// A torn header after the last record, claiming more bytes than the segment holds.
+		overwrite(directory, 9 + 10 + 11, ByteBuffer.allocate(4).putInt(0, SEGMENT_SIZE));
+
+		assertRecoveredWith(directory, 3L, "a", "bb", "ccc");
+	}
+
+	@Test
+	public void shouldDeleteSegmentsBelowRetainedOffset()
+	throws Exception
+	{
+		Path directory = folder.getRoot().toPath();
+		Journal journal = new Journal(directory, SEGMENT_SIZE, false);
+		AtomicLong keepFrom = new AtomicLong();
+
+		try
+		{
+			journal.retainFrom(keepFrom::get);
+			JournalReader reader = journal.newReader(0L);
+			append(journal, 0, 50);
+			assertEquals(0L, journal.getFirstOffset());
+
+			keepFrom.set(30L);
+			append(journal, 50, 60);
+			assertTrue(journal.getFirstOffset() > 0L);
+			assertTrue(journal.getFirstOffset() <= 30L);
+			assertFalse(Files.exists(segmentFile(directory)));
+
+			// The reader was in a deleted segment, so it skips to the oldest remaining record.
+			assertArrayEquals(record(journal.getFirstOffset()), reader.next());
+		}
+		finally
+		{
+			journal.close();
+		}
+	}
+
+	@Test
+	public void shouldCapSegments()
+	throws Exception
+	{
+		Path directory = folder.getRoot().toPath();
+		Journal journal = new Journal(directory, SEGMENT_SIZE, false);
+
+		try
+		{
+			journal.setMaxSegments(2);
+			append(journal, 0, 50);
+			assertEquals(2L, countSegments(directory));
+			assertTrue(journal.getFirstOffset() > 0L);
+			assertArrayEquals(record(journal.getFirstOffset()), journal.newReader(0L).next());
+		}
+		finally
+		{
+			journal.close();
+		}
+	}
+
+	private static void append(Journal journal, int from, int to)
+	throws IOException
+	{
+		for (long i = from; i < to; i++)
+		{
+			assertEquals(i, journal.append(record(i)));
+		}
+	}
+
+	/**
+	 * A 100-byte record identified by its offset, so 9 fit in a segment.
+	 */
+	private static byte[] record(long offset)
+	{
+		byte[] record = new byte[100];
+		Arrays.fill(record, (byte) offset);
+		return record;
+	}
+
+	private static long countSegments(Path directory)
+	throws IOException
+	{
+		try (Stream<Path> files = Files.list(directory))
+		{
+			return files.filter(f -> f.toString().endsWith(".log")).count();
+		}
+	}
+
+	private static Path segmentFile(Path directory)
+	{
+		return directory.resolve(String.format("%020d.log", 0L));
+	}
+
+	private static void appendAndClose(Path directory, String... records)
+	throws IOException
+	{
+		Journal journal = new Journal(directory, SEGMENT_SIZE, false);
+
+		for (String record : records)
+		{
+			journal.append(record.getBytes(StandardCharsets.UTF_8));
+		}
+
+		journal.close();
+	}
+
+	private static void overwrite(Path directory, long position, ByteBuffer bytes)
+	throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(segmentFile(directory), StandardOpenOption.WRITE))
+		{
+			channel.write(bytes, position);
+		}
+	}
+
+	/**
+	 * Reopen the journal, then check where it resumes appending and that it reads back the recovered
+	 * records followed by a new one.
+	 */
+	private static void assertRecoveredWith(Path directory, long nextOffset, String... records)
+	throws IOException
+	{
+		Journal journal = new Journal(directory, SEGMENT_SIZE, false);
+
+		try
+		{
+			assertEquals(nextOffset, journal.getNextOffset());
+			assertEquals(nextOffset, journal.append("dddd".getBytes(StandardCharsets.UTF_8)));
+
+			JournalReader reader = journal.newReader(0L);
+
+			for (String record : records)
+			{
+				assertArrayEquals(record.getBytes(StandardCharsets.UTF_8), reader.next());
+			}
+
+			assertArrayEquals("dddd".getBytes(StandardCharsets.UTF_8), reader.next());
+			assertNull(reader.next());
+		}
+		finally
+		{
+			journal.close();
+		}
+
+		journal = new Journal(directory, SEGMENT_SIZE, false);
+		assertEquals(nextOffset + 1, journal.getNextOffset());
+		journal.close();
+	}
+}
@@ -0,0 +1,76 @@
+package com.strategicgains.haflinger.simple;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Blocks the waiting thread on a monitor until signalled (or until the timeout elapses). An idle
+ * dispatcher costs nothing. Publishers only acquire the monitor to signal when a thread is actually
+ * asleep, so a busy channel doesn't pay for a lock on every publish.
+ * 
+ * This is the default strategy.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class BlockingWaitStrategy
+implements WaitStrategy
+{
+	private final Object mutex = new Object();
+	private final AtomicInteger sleepers = new AtomicInteger();
+	private long timeoutMillis;
+
+	/**
+	 * Wait until signalled, without a timeout.
+	 */
+	public BlockingWaitStrategy()
+	{
+		this(0L);
+	}
+
+	/**
+	 * @param timeoutMillis the maximum time to block before returning to re-check the condition. Zero waits until signalled.
+	 */
+	public BlockingWaitStrategy(long timeoutMillis)
+	{
+		super();
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	@Override
+	public void await(BooleanSupplier condition)
+	throws InterruptedException
+	{
+		if (condition.getAsBoolean()) return;
+
+		synchronized (mutex)
+		{
+			sleepers.incrementAndGet();
+
+			try
+			{
+				// Re-check after announcing we're asleep, so a concurrent signal() can't be missed.
+				if (!condition.getAsBoolean())
+				{
+					mutex.wait(timeoutMillis);
+				}
+			}
+			finally
+			{
+				sleepers.decrementAndGet();
+			}
+		}
+	}
+
+	@Override
+	public void signal()
+	{
+		if (sleepers.get() > 0)
+		{
+			synchronized (mutex)
+			{
+				mutex.notifyAll();
+			}
+		}
+	}
+}
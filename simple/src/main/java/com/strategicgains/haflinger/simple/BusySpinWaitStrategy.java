@@ -0,0 +1,31 @@
+package com.strategicgains.haflinger.simple;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Spins on the condition without ever giving up the CPU. Lowest latency, but the dispatcher
+ * thread consumes a whole core even when idle. Use only when the channel has a dedicated core.
+ * 
+ * Publishing never has to signal.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class BusySpinWaitStrategy
+implements WaitStrategy
+{
+	@Override
+	public void await(BooleanSupplier condition)
+	{
+		while (!condition.getAsBoolean())
+		{
+			Thread.onSpinWait();
+		}
+	}
+
+	@Override
+	public void signal()
+	{
+		// Nothing to wake.
+	}
+}
@@ -0,0 +1,30 @@
+package com.strategicgains.haflinger.simple;
+
+/**
+ * Determines what a bounded event channel does with a published event when its buffer is full.
+ *
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public enum OverflowPolicy
+{
+	/**
+	 * Park the publisher until space is available. No events are lost.
+	 */
+	BLOCK,
+
+	/**
+	 * Discard the event being published. publish() returns false.
+	 */
+	DROP_NEWEST,
+
+	/**
+	 * Discard the oldest unconsumed event(s) to make room for the event being published.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * Throw an IllegalStateException from publish().
+	 */
+	FAIL
+}
@@ -0,0 +1,371 @@
+package com.strategicgains.haflinger.simple;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded, multi-producer, multi-consumer queue backed by a preallocated power-of-two ring.
+ *
+ * Producers and consumers each claim a position by advancing their own sequence (tail and head,
+ * respectively). Each slot carries a sequence number that acts as a barrier: a producer may only
+ * write a slot once the consumer one lap behind has released it, and a consumer may only read a slot
+ * once its producer has published it. No nodes are allocated per element.
+ *
+ * offer() and poll() are lock-free. The blocking operations (put, take and their timed variants) park
+ * the calling thread and only take the lock when a thread is actually waiting on the other side.
+ *
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class RingBuffer<E>
+extends AbstractQueue<E>
+implements BlockingQueue<E>
+{
+	private final Object[] slots;
+	private final AtomicLongArray sequences;
+	private final int mask;
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+	private final Condition notFull = lock.newCondition();
+	private final AtomicInteger waitingConsumers = new AtomicInteger();
+	private final AtomicInteger waitingProducers = new AtomicInteger();
+
+	/**
+	 * Create a ring buffer that holds at least 'capacity' elements. The capacity is
+	 * rounded up to the next power of two, with a minimum of two (a single slot cannot
+	 * distinguish a published element from a released one).
+	 *
+	 * @param capacity the minimum number of elements the buffer can hold.
+	 */
+	public RingBuffer(int capacity)
+	{
+		super();
+
+		if (capacity < 1 || capacity > (1 << 30))
+		{
+			throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+		}
+
+		int size = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+		this.slots = new Object[size];
+		this.sequences = new AtomicLongArray(size);
+		this.mask = size - 1;
+
+		for (int i = 0; i < size; i++)
+		{
+			sequences.set(i, i);
+		}
+	}
+
+	public int capacity()
+	{
+		return slots.length;
+	}
+
+	@Override
+	public boolean offer(E e)
+	{
+		Objects.requireNonNull(e);
+		long position = tail.get();
+
+		for (;;)
+		{
+			int index = (int) (position & mask);
+			long difference = sequences.get(index) - position;
+
+			if (difference == 0)
+			{
+				if (tail.compareAndSet(position, position + 1))
+				{
+					slots[index] = e;
+					sequences.set(index, position + 1);
+					signal(waitingConsumers, notEmpty);
+					return true;
+				}
+			}
+			else if (difference < 0)
+			{
+				return false;
+			}
+
+			position = tail.get();
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E poll()
+	{
+		long position = head.get();
+
+		for (;;)
+		{
+			int index = (int) (position & mask);
+			long difference = sequences.get(index) - (position + 1);
+
+			if (difference == 0)
+			{
+				if (head.compareAndSet(position, position + 1))
+				{
+					E e = (E) slots[index];
+					slots[index] = null;
+					sequences.set(index, position + slots.length);
+					signal(waitingProducers, notFull);
+					return e;
+				}
+			}
+			else if (difference < 0)
+			{
+				return null;
+			}
+
+			position = head.get();
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E peek()
+	{
+		long position = head.get();
+		int index = (int) (position & mask);
+
+		if (sequences.get(index) == position + 1)
+		{
+			return (E) slots[index];
+		}
+
+		return null;
+	}
+
+	@Override
+	public void put(E e)
+	throws InterruptedException
+	{
+		if (offer(e)) return;
+
+		lock.lockInterruptibly();
+		waitingProducers.incrementAndGet();
+
+		try
+		{
+			while (!offer(e))
+			{
+				notFull.await();
+			}
+		}
+		finally
+		{
+			waitingProducers.decrementAndGet();
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean offer(E e, long timeout, TimeUnit unit)
+	throws InterruptedException
+	{
+		if (offer(e)) return true;
+
+		long nanos = unit.toNanos(timeout);
+		lock.lockInterruptibly();
+		waitingProducers.incrementAndGet();
+
+		try
+		{
+			while (!offer(e))
+			{
+				if (nanos <= 0L) return false;
+
+				nanos = notFull.awaitNanos(nanos);
+			}
+
+			return true;
+		}
+		finally
+		{
+			waitingProducers.decrementAndGet();
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public E take()
+	throws InterruptedException
+	{
+		E e = poll();
+
+		if (e != null) return e;
+
+		lock.lockInterruptibly();
+		waitingConsumers.incrementAndGet();
+
+		try
+		{
+			while ((e = poll()) == null)
+			{
+				notEmpty.await();
+			}
+
+			return e;
+		}
+		finally
+		{
+			waitingConsumers.decrementAndGet();
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public E poll(long timeout, TimeUnit unit)
+	throws InterruptedException
+	{
+		E e = poll();
+
+		if (e != null) return e;
+
+		long nanos = unit.toNanos(timeout);
+		lock.lockInterruptibly();
+		waitingConsumers.incrementAndGet();
+
+		try
+		{
+			while ((e = poll()) == null)
+			{
+				if (nanos <= 0L) return null;
+
+				nanos = notEmpty.awaitNanos(nanos);
+			}
+
+			return e;
+		}
+		finally
+		{
+			waitingConsumers.decrementAndGet();
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int size()
+	{
+		long size = tail.get() - head.get();
+		return (int) Math.max(0L, Math.min(size, slots.length));
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return peek() == null;
+	}
+
+	@Override
+	public int remainingCapacity()
+	{
+		return slots.length - size();
+	}
+
+	@Override
+	public int drainTo(Collection<? super E> c)
+	{
+		return drainTo(c, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public int drainTo(Collection<? super E> c, int maxElements)
+	{
+		Objects.requireNonNull(c);
+		if (c == this) throw new IllegalArgumentException();
+
+		int count = 0;
+		E e;
+
+		while (count < maxElements && (e = poll()) != null)
+		{
+			c.add(e);
+			++count;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns a weakly-consistent iterator over the elements available at the time of the call.
+	 * Removal is not supported.
+	 */
+	@Override
+	public Iterator<E> iterator()
+	{
+		return new Iterator<E>()
+		{
+			private long position = head.get();
+			private final long end = tail.get();
+			private E next = advance();
+
+			@Override
+			public boolean hasNext()
+			{
+				return next != null;
+			}
+
+			@Override
+			public E next()
+			{
+				if (next == null) throw new NoSuchElementException();
+
+				E result = next;
+				next = advance();
+				return result;
+			}
+
+			@SuppressWarnings("unchecked")
+			private E advance()
+			{
+				while (position < end)
+				{
+					int index = (int) (position & mask);
+					boolean isReadable = (sequences.get(index) == position + 1);
+					Object e = slots[index];
+					++position;
+
+					if (isReadable && e != null) return (E) e;
+				}
+
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * Wake one waiting thread, only taking the lock if a thread is actually waiting.
+	 */
+	private void signal(AtomicInteger waiting, Condition condition)
+	{
+		if (waiting.get() > 0)
+		{
+			lock.lock();
+
+			try
+			{
+				condition.signal();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+	}
+}
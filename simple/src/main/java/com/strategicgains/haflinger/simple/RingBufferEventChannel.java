@@ -0,0 +1,43 @@
+package com.strategicgains.haflinger.simple;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.strategicgains.haflinger.consumer.EventSubscriber;
+
+/**
+ * A bounded variant of {@link SimpleEventChannel} that stores events in a preallocated,
+ * power-of-two {@link RingBuffer} instead of an unbounded linked queue. The memory footprint is fixed
+ * at construction and publishing allocates nothing per event.
+ *
+ * When the buffer is full, the {@link OverflowPolicy} determines whether the publisher blocks,
+ * the newest or oldest event is dropped, or publish() fails.
+ *
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class RingBufferEventChannel
+extends SimpleEventChannel
+{
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	public RingBufferEventChannel(EventSubscriber... handlers)
+	{
+		this(DEFAULT_CAPACITY, OverflowPolicy.BLOCK, handlers);
+	}
+
+	public RingBufferEventChannel(int capacity, OverflowPolicy overflowPolicy, EventSubscriber... handlers)
+	{
+		this(capacity, overflowPolicy, 0L, Arrays.asList(handlers));
+	}
+
+	public RingBufferEventChannel(int capacity, OverflowPolicy overflowPolicy, long pollDelayMillis, Collection<EventSubscriber> handlers)
+	{
+		this(capacity, overflowPolicy, new BlockingWaitStrategy(pollDelayMillis), handlers);
+	}
+
+	public RingBufferEventChannel(int capacity, OverflowPolicy overflowPolicy, WaitStrategy waitStrategy, Collection<EventSubscriber> handlers)
+	{
+		super(new RingBuffer<>(capacity), overflowPolicy, waitStrategy, handlers);
+	}
+}
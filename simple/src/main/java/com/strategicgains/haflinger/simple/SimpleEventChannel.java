@@ -1,13 +1,29 @@
 package com.strategicgains.haflinger.simple;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.strategicgains.haflinger.channel.ConsumableEventChannel;
+import com.strategicgains.haflinger.channel.InterestAware;
+import com.strategicgains.haflinger.channel.Measurable;
 import com.strategicgains.haflinger.channel.SubscribableEventChannel;
+import com.strategicgains.haflinger.consumer.BatchEventSubscriber;
+import com.strategicgains.haflinger.consumer.ConsumerGroup;
 import com.strategicgains.haflinger.consumer.EventSubscriber;
+import com.strategicgains.haflinger.dispatch.DispatchExecutor;
+import com.strategicgains.haflinger.dispatch.DispatchExecutors;
+import com.strategicgains.haflinger.dispatch.OrderedExecutor;
+import com.strategicgains.haflinger.dispatch.PartitionKeyExtractor;
+import com.strategicgains.haflinger.routing.TypedEventSubscriber;
 
 /**
  * Note: Do not use for production.
@@ -16,6 +32,23 @@ import com.strategicgains.haflinger.consumer.EventSubscriber;
  * Uses an in-memory concurrent queue to store messages. There are no durability guarantees--if the JVM
  * is terminated before messages are consumed, unconsumed messages are lost.
  * 
+ * Consumers calling get() or get(long) are parked (not spinning) while the queue is empty and are
+ * woken as soon as an event is published.
+ * 
+ * With a visibility timeout set, the channel acts as a work queue for competing consumers: each get() leases
+ * the event to the calling thread and commit() acknowledges it. If the lease isn't committed within the
+ * visibility timeout (e.g. the consumer failed mid-processing), the event is published again for another
+ * get(). Delivery is then at-least-once, so consumers should be idempotent.
+ * 
+ * EventConsumers can be run on managed threads in the channel's {@link ConsumerGroup}, which is
+ * shut down with the channel.
+ * 
+ * Subscribers are called on a {@link DispatchExecutor}. Unless one is set via dispatchExecutor(), the channel
+ * creates a bounded default executor and shuts it down with the channel.
+ * 
+ * With dropUninteresting(true), events that no subscriber accepts by type are discarded on publish,
+ * before they are queued. It is off by default, because such events are otherwise left for get().
+ * 
  * While this event channel is both subscribable and consumable, choose only one method for receiving
  * messages from this channel as both are destructive, in that both methods remove items from the
  * queue. If both get() and subscribe() are used simultaneous, results will be inconsistent.
@@ -25,10 +58,21 @@ import com.strategicgains.haflinger.consumer.EventSubscriber;
  * @since Oct 18, 2012
  */
 public class SimpleEventChannel
-implements SubscribableEventChannel, ConsumableEventChannel
+implements SubscribableEventChannel, ConsumableEventChannel, Measurable, InterestAware
 {
-	private Queue<Object> queue = new ConcurrentLinkedQueue<>();
+	private BlockingQueue<Object> queue;
+	private OverflowPolicy overflowPolicy;
+	private WaitStrategy waitStrategy;
 	private SimpleSubscriptionMonitor monitor;
+	private DispatchExecutor dispatchExecutor = DispatchExecutors.newDefault();
+	private boolean ownsDispatchExecutor = true;
+	private volatile long visibilityTimeoutNanos = 0L;
+	private final Queue<Lease> leases = new ConcurrentLinkedQueue<>();
+	private final ThreadLocal<Lease> currentLease = new ThreadLocal<>();
+	private final ReentrantLock redeliveryLock = new ReentrantLock();
+	private volatile boolean isShutdown = false;
+	private volatile boolean isDroppingUninteresting = false;
+	private final ConsumerGroup consumers = new ConsumerGroup(this);
 
 	public SimpleEventChannel(EventSubscriber... handlers)
 	{
@@ -41,17 +85,39 @@ implements SubscribableEventChannel, ConsumableEventChannel
 	}
 
 	public SimpleEventChannel(long pollDelayMillis, Collection<EventSubscriber> handlers)
+	{
+		this(new BlockingWaitStrategy(pollDelayMillis), handlers);
+	}
+
+	public SimpleEventChannel(WaitStrategy waitStrategy, Collection<EventSubscriber> handlers)
+	{
+		this(new LinkedBlockingQueue<>(), OverflowPolicy.BLOCK, waitStrategy, handlers);
+	}
+
+	/**
+	 * Create a channel backed by the given queue. The overflow policy only applies
+	 * when the queue is bounded.
+	 * 
+	 * @param queue the queue that holds published events until they are dispatched or consumed.
+	 * @param overflowPolicy what to do with a published event when the queue is full.
+	 * @param waitStrategy how the subscription monitor waits for published events.
+	 * @param handlers the initial subscribers.
+	 */
+	protected SimpleEventChannel(BlockingQueue<Object> queue, OverflowPolicy overflowPolicy, WaitStrategy waitStrategy, Collection<EventSubscriber> handlers)
 	{
 		super();
-		initializeMonitor(pollDelayMillis, handlers);
+		this.queue = queue;
+		this.overflowPolicy = overflowPolicy;
+		this.waitStrategy = waitStrategy;
+		initializeMonitor(handlers);
 	}
 
 	/**
 	 * @param handlers
 	 */
-	private void initializeMonitor(long pollDelayMillis, Collection<EventSubscriber> handlers)
+	private void initializeMonitor(Collection<EventSubscriber> handlers)
 	{
-		monitor = new SimpleSubscriptionMonitor(this, pollDelayMillis);
+		monitor = new SimpleSubscriptionMonitor(this, waitStrategy, dispatchExecutor);
 
 		for (EventSubscriber handler : handlers)
 		{
@@ -66,29 +132,352 @@ implements SubscribableEventChannel, ConsumableEventChannel
 		return queue.isEmpty();
 	}
 
+	/**
+	 * @return the number of queued events plus the deliveries waiting for or running on the dispatch executor.
+	 */
+	@Override
+	public int getQueueDepth()
+	{
+		return queue.size() + dispatchExecutor.getQueueDepth() + dispatchExecutor.getActiveCount();
+	}
+
 	public Object poll()
 	{
 		return queue.poll();
 	}
 
+	/**
+	 * Remove up to maxEvents available events from the channel, without waiting.
+	 * 
+	 * @param events the collection to add the events to.
+	 * @param maxEvents the maximum number of events to remove.
+	 * @return the number of events removed.
+	 */
+	public int drainTo(Collection<Object> events, int maxEvents)
+	{
+		return queue.drainTo(events, maxEvents);
+	}
+
+	/**
+	 * Set the maximum number of events delivered in a single call to a {@link BatchEventSubscriber}.
+	 * Applies to subscriptions made after the call.
+	 * 
+	 * @param size the maximum batch size.
+	 * @return this channel to facilitate method chaining.
+	 */
+	public SimpleEventChannel maxBatchSize(int size)
+	{
+		monitor.setMaxBatchSize(size);
+		return this;
+	}
+
+	/**
+	 * Run deliveries to subscribers on the given executor instead of the channel's default. The
+	 * channel does not shut down an executor set this way, so it can be shared between channels.
+	 * 
+	 * Existing subscribers, including batch subscribers and ordered lanes, move to the new executor.
+	 * The default executor is shut down gracefully, so deliveries already queued on it still run.
+	 * 
+	 * @param executor a {@link DispatchExecutor}.
+	 * @return this channel to facilitate method chaining.
+	 */
+	public SimpleEventChannel dispatchExecutor(DispatchExecutor executor)
+	{
+		DispatchExecutor previous = dispatchExecutor;
+		monitor.setDispatchExecutor(executor);
+		this.dispatchExecutor = executor;
+
+		if (ownsDispatchExecutor)
+		{
+			ownsDispatchExecutor = false;
+			previous.shutdown();
+		}
+
+		return this;
+	}
+
+	public DispatchExecutor getDispatchExecutor()
+	{
+		return dispatchExecutor;
+	}
+
+	/**
+	 * Deliver events with the same partition key to each subscriber serially and in order, while
+	 * events with different keys are delivered in parallel. Events without a key are unordered.
+	 * 
+	 * @param partitionKeys extracts the partition key from events. Null for unordered delivery.
+	 * @return this channel to facilitate method chaining.
+	 */
+	public SimpleEventChannel orderedBy(PartitionKeyExtractor partitionKeys)
+	{
+		return orderedBy(partitionKeys, OrderedExecutor.DEFAULT_LANES);
+	}
+
+	/**
+	 * Deliver events with the same partition key to each subscriber serially and in order, while
+	 * events with different keys are delivered in parallel. Events without a key are unordered.
+	 * 
+	 * @param partitionKeys extracts the partition key from events. Null for unordered delivery.
+	 * @param lanes the number of serial lanes, bounding the number of concurrent ordered deliveries.
+	 * @return this channel to facilitate method chaining.
+	 */
+	public SimpleEventChannel orderedBy(PartitionKeyExtractor partitionKeys, int lanes)
+	{
+		monitor.setOrdering(partitionKeys, lanes);
+		return this;
+	}
+
+	/**
+	 * Lease events returned by get() to the calling thread until it calls commit(). Uncommitted events
+	 * are published again once the timeout elapses. Zero (the default) turns leasing off, in which case
+	 * get() removes events permanently.
+	 * 
+	 * @param millis the visibility timeout in milliseconds.
+	 * @return this channel to facilitate method chaining.
+	 */
+	public SimpleEventChannel visibilityTimeout(long millis)
+	{
+		this.visibilityTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, millis));
+		return this;
+	}
+
+	public long getVisibilityTimeout()
+	{
+		return TimeUnit.NANOSECONDS.toMillis(visibilityTimeoutNanos);
+	}
+
+	/**
+	 * Discard published events that no subscriber accepts by type (see {@link TypedEventSubscriber}),
+	 * instead of queueing them and waking the subscription monitor. Only use this when events are
+	 * received by subscribing, not by get(), since it would otherwise discard events meant for consumers.
+	 * 
+	 * @param isDropping true to discard uninteresting events. False (the default) to queue all events.
+	 * @return this channel to facilitate method chaining.
+	 */
+	public SimpleEventChannel dropUninteresting(boolean isDropping)
+	{
+		this.isDroppingUninteresting = isDropping;
+		return this;
+	}
+
+	public boolean isDroppingUninteresting()
+	{
+		return isDroppingUninteresting;
+	}
+
+	/**
+	 * @return true if the channel queues events of the given class. Always true unless dropping uninteresting events.
+	 */
+	@Override
+	public boolean isInterestedIn(Class<?> eventType)
+	{
+		return (!isDroppingUninteresting || monitor.hasSubscribersFor(eventType));
+	}
+
+	/**
+	 * @return the group that runs this channel's consumers.
+	 */
+	public ConsumerGroup getConsumerGroup()
+	{
+		return consumers;
+	}
+
+	public OverflowPolicy getOverflowPolicy()
+	{
+		return overflowPolicy;
+	}
+
+	/**
+	 * Publish an event to this channel, applying the overflow policy if the underlying queue is full.
+	 * 
+	 * @return true if the event was enqueued, or discarded as uninteresting. False if it was dropped (DROP_NEWEST), the publishing thread was interrupted while blocked, or the channel is shut down.
+	 * @throws IllegalStateException if the queue is full and the overflow policy is FAIL.
+	 */
 	@Override
 	public boolean publish(Object event)
 	{
-		boolean isAdded = queue.add(event);
+		if (isShutdown) return false;
+		if (!isInterestedIn(event.getClass())) return true;
 
-		synchronized (this)
+		boolean isAdded = enqueue(event);
+
+		if (isAdded)
 		{
-			notifyAll();
+			waitStrategy.signal();
 		}
 
 		return isAdded;
 	}
 
+	/**
+	 * Publish a batch of events to this channel in one pass, waking the subscription monitor once
+	 * rather than once per event. The overflow policy applies to each event individually.
+	 *
+	 * @return the number of events enqueued or discarded as uninteresting.
+	 * @throws IllegalStateException if the queue is full and the overflow policy is FAIL. Events before the failing one remain enqueued.
+	 */
+	@Override
+	public int publishAll(Collection<?> events)
+	{
+		if (isShutdown) return 0;
+
+		int count = 0;
+		boolean isPending = false;
+
+		try
+		{
+			for (Object event : events)
+			{
+				if (!isInterestedIn(event.getClass()))
+				{
+					count++;
+					continue;
+				}
+
+				if (!queue.offer(event))
+				{
+					// The queue is full. Wake the monitor to drain it before the overflow policy blocks or drops.
+					if (isPending)
+					{
+						waitStrategy.signal();
+						isPending = false;
+					}
+
+					if (!enqueue(event)) continue;
+				}
+
+				count++;
+				isPending = true;
+			}
+		}
+		finally
+		{
+			if (isPending)
+			{
+				waitStrategy.signal();
+			}
+		}
+
+		return count;
+	}
+
+	private boolean enqueue(Object event)
+	{
+		switch (overflowPolicy)
+		{
+			case DROP_NEWEST:
+				return queue.offer(event);
+
+			case DROP_OLDEST:
+				while (!queue.offer(event))
+				{
+					queue.poll();
+				}
+
+				return true;
+
+			case FAIL:
+				return queue.add(event);
+
+			case BLOCK:
+			default:
+				try
+				{
+					queue.put(event);
+					return true;
+				}
+				catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+					return false;
+				}
+		}
+	}
+
 	@Override
 	public void shutdown()
 	{
+		isShutdown = true;
+		consumers.shutdown();
+		monitor.shutdown();
+		queue.clear();
+		leases.clear();
+
+		if (ownsDispatchExecutor)
+		{
+			dispatchExecutor.shutdown();
+		}
+	}
+
+	/**
+	 * Stop accepting events, then wait until the queued events are dispatched (or consumed and, if
+	 * leasing, committed), the consumer group stops and the deliveries in flight complete. Whatever remains at the timeout is
+	 * dropped. A dispatch executor not owned by this channel is not shut down or waited for.
+	 */
+	@Override
+	public boolean shutdown(Duration timeout)
+	{
+		long deadline = System.nanoTime() + timeout.toNanos();
+		isShutdown = true;
+		boolean isDrained = awaitEmpty(deadline);
+		isDrained &= consumers.shutdown(Duration.ofNanos(Math.max(0L, deadline - System.nanoTime())));
+		monitor.shutdown();
+
+		try
+		{
+			// The monitor may still be handing its last pass to the executor.
+			monitor.join(Math.max(1L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		isDrained &= !monitor.isAlive();
+
+		if (ownsDispatchExecutor)
+		{
+			isDrained &= DispatchExecutors.shutdownAndAwait(dispatchExecutor, deadline);
+		}
+
 		queue.clear();
-		queue = null;
+		leases.clear();
+		return isDrained;
+	}
+
+	public boolean isShutdown()
+	{
+		return isShutdown;
+	}
+
+	private boolean awaitEmpty(long deadline)
+	{
+		while (!queue.isEmpty() || hasUncommittedLeases())
+		{
+			if (System.nanoTime() - deadline >= 0L || Thread.currentThread().isInterrupted()) return false;
+
+			LockSupport.parkNanos(1_000_000L);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Committed leases stay queued until get() redelivers past them, so purge them before checking.
+	 */
+	private boolean hasUncommittedLeases()
+	{
+		redeliveryLock.lock();
+
+		try
+		{
+			leases.removeIf(Lease::isSettled);
+			return !leases.isEmpty();
+		}
+		finally
+		{
+			redeliveryLock.unlock();
+		}
 	}
 
     @Override
@@ -103,33 +492,179 @@ implements SubscribableEventChannel, ConsumableEventChannel
     	monitor.unregister(handler);
     }
 
+	/**
+	 * Parks the calling thread until an event is published. If leasing, any uncommitted
+	 * event previously leased to the calling thread is left to expire.
+	 * 
+	 * @return an event object or null if the calling thread is interrupted while waiting.
+	 */
 	@Override
 	public Object get()
 	{
-		Object result;
-		while((result = poll()) != null);
-		return result;
+		try
+		{
+			return (visibilityTimeoutNanos > 0L ? lease(-1L) : queue.take());
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return null;
+		}
 	}
 
+	/**
+	 * Parks the calling thread until an event is published or the timeout elapses. If leasing, any
+	 * uncommitted event previously leased to the calling thread is left to expire.
+	 * 
+	 * @param timeoutMillis maximum number of milliseconds to wait for data.
+	 * @return an event object or null if none available within the timeout or the calling thread is interrupted.
+	 */
 	@Override
 	public Object get(long timeoutMillis)
 	{
-		Object result = null;
-		long startMillis = System.currentTimeMillis();
-		long maxTimeout = startMillis + timeoutMillis;
-
-		while(startMillis < maxTimeout)
+		try
 		{
-			result = poll();
+			if (visibilityTimeoutNanos > 0L)
+			{
+				return lease(TimeUnit.MILLISECONDS.toNanos(Math.max(0L, timeoutMillis)));
+			}
 
-			if (result != null) return result;
+			return queue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return null;
 		}
-
-		return result;
 	}
 
+	/**
+	 * Acknowledge the event most recently leased to the calling thread, so it is not redelivered.
+	 * Does nothing if leasing is off or the thread holds no lease.
+	 */
 	@Override
 	public void commit()
 	{
+		Lease lease = currentLease.get();
+
+		if (lease != null)
+		{
+			currentLease.remove();
+			lease.settle();
+		}
+	}
+
+	/**
+	 * Wait for an event and lease it to the calling thread, redelivering expired leases while waiting.
+	 * 
+	 * @param timeoutNanos the maximum time to wait. Negative to wait indefinitely.
+	 * @return the leased event or null if the timeout elapsed.
+	 */
+	private Object lease(long timeoutNanos)
+	throws InterruptedException
+	{
+		currentLease.remove();
+		long deadline = System.nanoTime() + timeoutNanos;
+
+		while (true)
+		{
+			long untilExpiry = redeliverExpired();
+			long remaining = (timeoutNanos < 0L ? Long.MAX_VALUE : Math.max(0L, deadline - System.nanoTime()));
+			Object event = queue.poll(Math.min(untilExpiry, remaining), TimeUnit.NANOSECONDS);
+
+			if (event != null)
+			{
+				Lease lease = new Lease(event, System.nanoTime() + visibilityTimeoutNanos);
+				leases.add(lease);
+				currentLease.set(lease);
+				return event;
+			}
+
+			if (remaining <= untilExpiry) return null;
+		}
+	}
+
+	/**
+	 * Publish the events of expired, uncommitted leases again. Leases expire in the order they were
+	 * taken, so only the oldest leases need to be examined.
+	 * 
+	 * @return the number of nanoseconds until the next lease could expire.
+	 */
+	private long redeliverExpired()
+	{
+		long timeout = visibilityTimeoutNanos;
+
+		if (!redeliveryLock.tryLock()) return timeout;
+
+		try
+		{
+			long now = System.nanoTime();
+			Lease lease;
+
+			while ((lease = leases.peek()) != null)
+			{
+				if (!lease.isSettled())
+				{
+					long untilExpiry = lease.expiresAt - now;
+
+					if (untilExpiry > 0L) return Math.min(untilExpiry, timeout);
+				}
+
+				leases.poll();
+
+				if (lease.settle())
+				{
+					if (queue.offer(lease.event))
+					{
+						waitStrategy.signal();
+					}
+					else
+					{
+						// The queue is full. Keep the event leased until there is room.
+						leases.add(new Lease(lease.event, now + timeout));
+					}
+				}
+			}
+
+			return timeout;
+		}
+		finally
+		{
+			redeliveryLock.unlock();
+		}
+	}
+
+
+
+	// SECTION: INNER CLASSES
+
+	/**
+	 * An event leased to a consumer. Settled exactly once: either by commit() or by expiring.
+	 */
+	private static class Lease
+	{
+		private final Object event;
+		private final long expiresAt;
+		private final AtomicBoolean isSettled = new AtomicBoolean();
+
+		public Lease(Object event, long expiresAt)
+		{
+			super();
+			this.event = event;
+			this.expiresAt = expiresAt;
+		}
+
+		public boolean isSettled()
+		{
+			return isSettled.get();
+		}
+
+		/**
+		 * @return true if this call settled the lease. False if it was already settled.
+		 */
+		public boolean settle()
+		{
+			return isSettled.compareAndSet(false, true);
+		}
 	}
 }
@@ -1,13 +1,19 @@
 package com.strategicgains.haflinger.simple;
 
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
 import com.strategicgains.haflinger.channel.builder.ConsumableEventChannelBuilder;
 import com.strategicgains.haflinger.channel.builder.SubscribableEventChannelBuilder;
+import com.strategicgains.haflinger.consumer.BatchEventSubscriber;
 import com.strategicgains.haflinger.consumer.EventConsumer;
 import com.strategicgains.haflinger.consumer.EventSubscriber;
-import com.strategicgains.haflinger.exception.ConsumptionException;
+import com.strategicgains.haflinger.dispatch.DispatchExecutor;
+import com.strategicgains.haflinger.dispatch.DispatchExecutors;
+import com.strategicgains.haflinger.dispatch.EventBatcher;
+import com.strategicgains.haflinger.dispatch.OrderedExecutor;
+import com.strategicgains.haflinger.dispatch.PartitionKeyExtractor;
 
 /**
  * Configure and build a local EventQueue that receives events only within the current JVM.
@@ -24,6 +30,15 @@ implements SubscribableEventChannelBuilder<SimpleEventChannel, SimpleEventChanne
 	private Set<EventSubscriber> handlers = new LinkedHashSet<>();
 	private Set<EventConsumer> consumers = new LinkedHashSet<>();
 	private long pollDelay = DEFAULT_POLL_DELAY;
+	private int bufferSize = 0;
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+	private WaitStrategy waitStrategy = null;
+	private int maxBatchSize = EventBatcher.DEFAULT_MAX_BATCH_SIZE;
+	private PartitionKeyExtractor partitionKeys = null;
+	private DispatchExecutor dispatchExecutor = null;
+	private long visibilityTimeout = 0L;
+	private int orderingLanes = OrderedExecutor.DEFAULT_LANES;
+	private boolean isDroppingUninteresting = false;
 
 	public SimpleEventChannelBuilder()
 	{
@@ -33,18 +48,32 @@ implements SubscribableEventChannelBuilder<SimpleEventChannel, SimpleEventChanne
 	@Override
 	public SimpleEventChannel build()
 	{
-		SimpleEventChannel channel = new SimpleEventChannel(pollDelay, handlers);
+		WaitStrategy strategy = (waitStrategy != null ? waitStrategy : new BlockingWaitStrategy(pollDelay));
+		SimpleEventChannel channel = (bufferSize > 0
+			? new RingBufferEventChannel(bufferSize, overflowPolicy, strategy, Collections.emptyList())
+			: new SimpleEventChannel(strategy, Collections.emptyList()));
+		channel.maxBatchSize(maxBatchSize)
+			.visibilityTimeout(visibilityTimeout)
+			.dropUninteresting(isDroppingUninteresting);
+
+		if (dispatchExecutor != null)
+		{
+			channel.dispatchExecutor(dispatchExecutor);
+		}
+
+		if (partitionKeys != null)
+		{
+			channel.orderedBy(partitionKeys, orderingLanes);
+		}
+
+		for (EventSubscriber handler : handlers)
+		{
+			channel.subscribe(handler);
+		}
 
 		for (EventConsumer consumer : consumers)
 		{
-			try
-			{
-				consumer.consume(channel);
-			}
-			catch (ConsumptionException e)
-			{
-				e.printStackTrace();
-			}
+			channel.getConsumerGroup().add(consumer);
 		}
 
 		return channel;
@@ -56,6 +85,127 @@ implements SubscribableEventChannelBuilder<SimpleEventChannel, SimpleEventChanne
     	return this;
     }
 
+	/**
+	 * Determines how the channel's dispatcher thread waits for events. Defaults to a
+	 * {@link BlockingWaitStrategy} using the pollDelay as its timeout. Setting a wait strategy
+	 * overrides pollDelay.
+	 * 
+	 * @param strategy a {@link WaitStrategy}. Must not be shared with other channels.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public SimpleEventChannelBuilder waitStrategy(WaitStrategy strategy)
+	{
+		this.waitStrategy = strategy;
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of events drained per dispatch pass and delivered in a single
+	 * call to a {@link BatchEventSubscriber}.
+	 * 
+	 * @param size the maximum batch size.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public SimpleEventChannelBuilder maxBatchSize(int size)
+	{
+		this.maxBatchSize = size;
+		return this;
+	}
+
+	/**
+	 * Run deliveries to subscribers on the given executor (see {@link DispatchExecutors}). The channel
+	 * does not shut down an executor set this way. By default, each channel creates and owns a
+	 * bounded executor.
+	 * 
+	 * @param executor a {@link DispatchExecutor}.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public SimpleEventChannelBuilder dispatchExecutor(DispatchExecutor executor)
+	{
+		this.dispatchExecutor = executor;
+		return this;
+	}
+
+	/**
+	 * Deliver events with the same partition key to each subscriber serially and in order.
+	 * Events with different keys are still delivered in parallel.
+	 * 
+	 * @param partitionKeys extracts the partition key from events (e.g. {@link PartitionKeyExtractor#DEFAULT}).
+	 * @return this builder to facilitate method chaining.
+	 */
+	public SimpleEventChannelBuilder orderedBy(PartitionKeyExtractor partitionKeys)
+	{
+		this.partitionKeys = partitionKeys;
+		return this;
+	}
+
+	/**
+	 * Deliver events with the same partition key to each subscriber serially and in order.
+	 * Events with different keys are still delivered in parallel, using up to the given number of lanes.
+	 * 
+	 * @param partitionKeys extracts the partition key from events (e.g. {@link PartitionKeyExtractor#DEFAULT}).
+	 * @param lanes the maximum number of ordered deliveries that run concurrently.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public SimpleEventChannelBuilder orderedBy(PartitionKeyExtractor partitionKeys, int lanes)
+	{
+		this.partitionKeys = partitionKeys;
+		this.orderingLanes = lanes;
+		return this;
+	}
+
+	/**
+	 * Turn on work-queue semantics for consumers: each get() leases the event to the calling thread
+	 * until it calls commit(), and uncommitted events are redelivered after the timeout.
+	 * 
+	 * @param millis the visibility timeout in milliseconds. Zero (the default) turns leasing off.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public SimpleEventChannelBuilder visibilityTimeout(long millis)
+	{
+		this.visibilityTimeout = millis;
+		return this;
+	}
+
+	/**
+	 * Use a bounded {@link RingBufferEventChannel} of (at least) the given size instead of
+	 * an unbounded queue. The size is rounded up to the next power of two.
+	 * 
+	 * @param size the minimum number of events the channel can hold.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public SimpleEventChannelBuilder bufferSize(int size)
+	{
+		this.bufferSize = size;
+		return this;
+	}
+
+	/**
+	 * Determines what happens when publishing to a full, bounded channel. Defaults to BLOCK.
+	 * Only applies if bufferSize(int) is set.
+	 * 
+	 * @param policy an {@link OverflowPolicy}.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public SimpleEventChannelBuilder overflowPolicy(OverflowPolicy policy)
+	{
+		this.overflowPolicy = policy;
+		return this;
+	}
+
+	/**
+	 * Discard published events that no subscriber accepts by type, instead of queueing them.
+	 * Only use this when events are received by subscribing, not by consumers.
+	 * 
+	 * @param isDropping true to discard uninteresting events. Defaults to false.
+	 * @return this builder to facilitate method chaining.
+	 */
+	public SimpleEventChannelBuilder dropUninteresting(boolean isDropping)
+	{
+		this.isDroppingUninteresting = isDropping;
+		return this;
+	}
+
     @Override
     public SimpleEventChannelBuilder subscribe(EventSubscriber handler)
     {
@@ -1,22 +1,38 @@
 package com.strategicgains.haflinger.simple;
 
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
 
+import com.strategicgains.haflinger.consumer.BatchEventSubscriber;
 import com.strategicgains.haflinger.consumer.EventSubscriber;
+import com.strategicgains.haflinger.dispatch.DispatchExecutor;
+import com.strategicgains.haflinger.dispatch.EventBatcher;
+import com.strategicgains.haflinger.dispatch.EventDispatcher;
+import com.strategicgains.haflinger.dispatch.PartitionKeyExtractor;
+import com.strategicgains.haflinger.routing.EventTypeIndex;
 import com.strategicgains.haflinger.routing.SelectiveEventSubscriber;
+import com.strategicgains.haflinger.routing.TypedEventSubscriber;
 
 /**
  * A thread that receives published events and sends them to subscribers.
  * Registered event {@link EventSubscriber}s will be called for whatever event types each can process.
  * 
- * {@link EventSubscriber}s are called using an Executor pool that grows dynamically as needed, so
- * they are run asynchronously.
+ * {@link EventSubscriber}s are called using the channel's {@link DispatchExecutor}, so they are
+ * normally run asynchronously.
+ * 
+ * Subscribers are indexed by the event class they accept (see {@link TypedEventSubscriber}), so each
+ * event is only offered to the subscribers that can handle it. The index is rebuilt lazily per event
+ * class after a register() or unregister().
+ * 
+ * Each pass drains everything available on the channel, up to the maximum batch size. A
+ * {@link BatchEventSubscriber} receives all the events it accepts from a pass in a single call.
+ * 
+ * When ordered by a {@link PartitionKeyExtractor}, events with the same partition key are delivered to
+ * each subscriber serially and in order, while different keys are delivered in parallel.
  * 
  * Events that have no consumers are simply removed from the queue and ignored.
  * 
@@ -26,52 +42,138 @@ import com.strategicgains.haflinger.routing.SelectiveEventSubscriber;
 public class SimpleSubscriptionMonitor
 extends Thread
 {
-	// SECTION: CONSTANTS
-
-	private static final Executor EVENT_EXECUTOR = Executors.newCachedThreadPool();
-
-	
-	// SECTION: INSTANCE METHODS
+	// SECTION: INSTANCE VARIABLES
 
-	private Map<Class<?>, List<EventSubscriber>> handlersByEvent = new ConcurrentHashMap<Class<?>, List<EventSubscriber>>();
-	private Set<EventSubscriber> handlers = new LinkedHashSet<>();
-	private boolean shouldShutDown = false;
+	private EventTypeIndex<Subscription> handlersByEvent = new EventTypeIndex<>(Subscription::getEventTypes);
+	private volatile boolean shouldShutDown = false;
 	private SimpleEventChannel events;
-	private long delay;
+	private WaitStrategy waitStrategy;
+	private BooleanSupplier isReady = () -> (shouldShutDown || (hasHandlers() && !events.isEmpty()));
+	private volatile int maxBatchSize = EventBatcher.DEFAULT_MAX_BATCH_SIZE;
+	private volatile EventDispatcher dispatcher;
 
 
 	// SECTION: CONSTRUCTORS
 
-	public SimpleSubscriptionMonitor(SimpleEventChannel queue, long pollDelayMillis)
+	public SimpleSubscriptionMonitor(SimpleEventChannel queue, long pollDelayMillis, DispatchExecutor executor)
+	{
+		this(queue, new BlockingWaitStrategy(pollDelayMillis), executor);
+	}
+
+	/**
+	 * @param queue the channel to dispatch events from.
+	 * @param waitStrategy how this thread waits for events. Publishers to the channel must call its signal() method.
+	 * @param executor runs the deliveries to subscribers. Not shut down by this monitor.
+	 */
+	public SimpleSubscriptionMonitor(SimpleEventChannel queue, WaitStrategy waitStrategy, DispatchExecutor executor)
 	{
 		super();
 		setDaemon(true);
-		this.delay = pollDelayMillis;
 		this.events = queue;
+		this.waitStrategy = waitStrategy;
+		this.dispatcher = new EventDispatcher(executor);
 	}
 
 	
 	// SECTION: INSTANCE METHODS
 
-	public synchronized boolean register(EventSubscriber handler)
+	/**
+	 * Set the maximum number of events drained from the channel per pass and delivered
+	 * in a single call to a {@link BatchEventSubscriber}. Applies to batch subscribers
+	 * registered after the call.
+	 * 
+	 * @param size the maximum batch size.
+	 */
+	public void setMaxBatchSize(int size)
 	{
-		return handlers.add(handler);
+		this.maxBatchSize = Math.max(1, size);
 	}
 
-	public synchronized boolean unregister(EventSubscriber handler)
+	public int getMaxBatchSize()
 	{
-		return handlers.remove(handler);
+		return maxBatchSize;
 	}
 
-	public void shutdown()
+	/**
+	 * Deliver events with the same partition key to each subscriber serially and in order.
+	 * 
+	 * @param partitionKeys extracts the partition key from events. Null for unordered delivery.
+	 * @param lanes the number of serial lanes, bounding the number of concurrent ordered deliveries.
+	 */
+	public void setOrdering(PartitionKeyExtractor partitionKeys, int lanes)
 	{
-		shouldShutDown = true;
-		System.out.println("Event monitor notified for shutdown.");
+		this.dispatcher = dispatcher.orderedBy(partitionKeys, lanes);
+	}
+
+	/**
+	 * Run subsequent deliveries on the given executor, moving the ordered lanes and batch subscribers
+	 * to it too. Deliveries already submitted still run on the previous executor, so shut it down
+	 * gracefully, if at all.
+	 * 
+	 * @param executor runs the deliveries to subscribers. Not shut down by this monitor.
+	 */
+	public void setDispatchExecutor(DispatchExecutor executor)
+	{
+		this.dispatcher = dispatcher.withExecutor(executor);
+
+		for (Subscription subscription : handlersByEvent.values())
+		{
+			if (subscription.isBatched()) subscription.batcher.setExecutor(executor);
+		}
+	}
+
+	public DispatchExecutor getDispatchExecutor()
+	{
+		return dispatcher.getExecutor();
+	}
+
+	public boolean isOrdered()
+	{
+		return dispatcher.isOrdered();
+	}
 
-		synchronized(events)
+	public boolean register(EventSubscriber handler)
+	{
+		Executor executor = dispatcher.getExecutor();
+		Subscription subscription = new Subscription(handler, maxBatchSize, executor);
+		boolean isAdded = handlersByEvent.add(subscription);
+
+		// The executor may have changed while registering, missing this subscription.
+		if (subscription.isBatched() && dispatcher.getExecutor() != executor)
 		{
-			events.notifyAll();
+			subscription.batcher.setExecutor(dispatcher.getExecutor());
 		}
+
+		waitStrategy.signal();
+		return isAdded;
+	}
+
+	public boolean unregister(EventSubscriber handler)
+	{
+		boolean isRemoved = handlersByEvent.remove(new Subscription(handler, maxBatchSize, null));
+		dispatcher.getExecutor().unsubscribe(handler);
+		return isRemoved;
+	}
+
+	/**
+	 * @param eventType the class of an event.
+	 * @return true if at least one subscriber accepts events of the given class.
+	 */
+	public boolean hasSubscribersFor(Class<?> eventType)
+	{
+		return handlersByEvent.matches(eventType);
+	}
+
+	private boolean hasHandlers()
+	{
+		return !handlersByEvent.isEmpty();
+	}
+
+	public void shutdown()
+	{
+		shouldShutDown = true;
+		System.out.println("Event monitor notified for shutdown.");
+		waitStrategy.signal();
 	}
 	
 	// SECTION: RUNNABLE/THREAD
@@ -80,18 +182,14 @@ extends Thread
 	public void run()
 	{
 		System.out.println("Event monitor starting...");
+		List<Object> batch = new ArrayList<>();
+		List<Subscription> batched = new ArrayList<>();
 
 		while(!shouldShutDown)
 		{
 			try
 			{
-				synchronized (events)
-				{
-					if (events.isEmpty())
-					{
-						events.wait(delay);		// Support wake-up via events.notify()
-					}
-				}
+				waitStrategy.await(isReady);
 			}
 			catch (InterruptedException e)
 			{
@@ -100,44 +198,105 @@ extends Thread
 				continue;
 			}
 
-			Object event = null;
+			// Leave events on the queue for consumers when nothing is subscribed.
+			if (!hasHandlers()) continue;
 
-			while ((event = events.poll()) != null)
+			while (!shouldShutDown && events.drainTo(batch, maxBatchSize) > 0)
 			{
-				processEvent(event);
+				try
+				{
+					processEvents(batch, batched);
+				}
+				catch (RuntimeException e)
+				{
+					// Keep the monitor alive if a subscriber's selector fails.
+					e.printStackTrace();
+				}
+
+				batch.clear();
 			}
 		}
 		
 		System.out.println("Event monitor exiting...");
-		handlers.clear();
 		handlersByEvent.clear();
 	}
 
 	/**
-	 * Runs each appropriate EventHandler in an Executor.
+	 * Collects the accepted events of each batch subscriber into a single delivery and runs
+	 * each other EventHandler once per event.
+	 * 
+	 * @param events the events drained in this pass.
+	 * @param batched a scratch list to track the batch subscribers that received events.
+	 */
+	private void processEvents(List<Object> events, List<Subscription> batched)
+	{
+		try
+		{
+			for (int i = 0; i < events.size(); i++)
+			{
+				processEvent(events.get(i), batched);
+			}
+		}
+		finally
+		{
+			for (int i = 0; i < batched.size(); i++)
+			{
+				try
+				{
+					batched.get(i).flush();
+				}
+				catch (RejectedExecutionException e)
+				{
+					// The batcher keeps the events and delivers them on its next flush.
+					e.printStackTrace();
+				}
+			}
+
+			batched.clear();
+		}
+	}
+
+	/**
+	 * Runs each EventHandler that accepts the event's type in an Executor.
 	 * 
 	 * @param event
+	 * @param batched collects the batch subscribers that accepted the event.
 	 */
-	private void processEvent(final Object event)
+	private void processEvent(final Object event, List<Subscription> batched)
     {
 	    System.out.println("Processing event: " + event.toString());
-	    for (final EventSubscriber handler : handlers)
+	    EventDispatcher dispatcher = this.dispatcher;
+	    List<Subscription> subscriptions = handlersByEvent.get(event.getClass());
+
+	    for (int i = 0; i < subscriptions.size(); i++)
 	    {
-    		EVENT_EXECUTOR.execute(new Runnable(){
+	    	final Subscription subscription = subscriptions.get(i);
+
+	    	if (subscription.isBatched())
+	    	{
+	    		if (subscription.collect(event))
+	    		{
+	    			batched.add(subscription);
+	    		}
+
+	    		continue;
+	    	}
+
+    		execute(dispatcher, subscription.handler, event, new Runnable(){
 				@Override
                 public void run()
                 {
 			    	try
 			    	{
-		    			if (shouldHandle(handler, event))
+		    			if (subscription.shouldHandle(event))
 		    			{
-		    				handler.handle(event);
+		    				subscription.handler.handle(event);
 		    			}
 			    	}
 			    	catch(Exception e)
 			    	{
 			    		e.printStackTrace();
-			    		
+
 //			    		if (shouldReRaiseOnError)
 //			    		{
 //			    			System.out.println("Event handler failed. Re-publishing event: " + event.toString());
@@ -152,22 +311,118 @@ extends Thread
 //			    		}
 			    	}
                 }
-
-				private boolean shouldHandle(EventSubscriber handler, Object event)
-				{
-					if (isSelectiveHandler(handler))
-					{
-						return ((SelectiveEventSubscriber) handler).test(event);
-					}
-
-					return true;
-				}
-
-				private boolean isSelectiveHandler(EventSubscriber handler)
-				{
-					return (SelectiveEventSubscriber.class.isAssignableFrom(handler.getClass()));
-				}
     		});
 	    }
     }
+
+	/**
+	 * Run a delivery. If the executor has been replaced and the previous one rejects it, retry on the
+	 * current executor. Otherwise, log the rejection and drop the delivery rather than stopping the monitor.
+	 */
+	private void execute(EventDispatcher dispatcher, EventSubscriber handler, Object event, Runnable delivery)
+	{
+		try
+		{
+			dispatcher.execute(handler, event, delivery);
+		}
+		catch (RejectedExecutionException e)
+		{
+			EventDispatcher current = this.dispatcher;
+
+			if (current != dispatcher)
+			{
+				execute(current, handler, event, delivery);
+				return;
+			}
+
+			e.printStackTrace();
+			System.err.println("Dispatch executor rejected event: " + event.toString());
+		}
+	}
+
+	/**
+	 * An indexed subscriber, with its selection capabilities resolved once at registration.
+	 */
+	private static class Subscription
+	{
+		private final EventSubscriber handler;
+		private final SelectiveEventSubscriber selector;
+		private final Collection<Class<?>> eventTypes;
+		private final EventBatcher batcher;
+		private final List<Object> pending;
+
+		public Subscription(EventSubscriber handler, int maxBatchSize, Executor executor)
+		{
+			super();
+			this.handler = handler;
+			this.selector = (handler instanceof SelectiveEventSubscriber ? (SelectiveEventSubscriber) handler : null);
+			this.eventTypes = (handler instanceof TypedEventSubscriber ? ((TypedEventSubscriber) handler).getEventTypes() : null);
+
+			if (handler instanceof BatchEventSubscriber)
+			{
+				this.batcher = new EventBatcher((BatchEventSubscriber) handler, executor, maxBatchSize);
+				this.pending = new ArrayList<>();
+			}
+			else
+			{
+				this.batcher = null;
+				this.pending = null;
+			}
+		}
+
+		public boolean isBatched()
+		{
+			return (batcher != null);
+		}
+
+		/**
+		 * Add the event to this pass's batch, if selected. Only called from the monitor thread.
+		 * 
+		 * @return true if this is the first event collected since the last flush().
+		 */
+		public boolean collect(Object event)
+		{
+			if (!shouldHandle(event)) return false;
+
+			pending.add(event);
+			return (pending.size() == 1);
+		}
+
+		/**
+		 * Hand this pass's batch to the batcher for delivery. Only called from the monitor thread.
+		 */
+		public void flush()
+		{
+			try
+			{
+				batcher.addAll(pending);
+			}
+			finally
+			{
+				pending.clear();
+			}
+		}
+
+		public Collection<Class<?>> getEventTypes()
+		{
+			return eventTypes;
+		}
+
+		public boolean shouldHandle(Object event)
+		{
+			return (selector == null || selector.test(event));
+		}
+
+		@Override
+		public boolean equals(Object that)
+		{
+			return (that instanceof Subscription && handler.equals(((Subscription) that).handler));
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return handler.hashCode();
+		}
+	}
 }
@@ -0,0 +1,34 @@
+package com.strategicgains.haflinger.simple;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Determines how the {@link SimpleSubscriptionMonitor} dispatcher thread waits for published events and
+ * what a publisher has to do to wake it.
+ * 
+ * Busy-spinning and yielding strategies give the lowest latency at the cost of a core per channel. Parking
+ * and blocking strategies let an idle dispatcher cost (almost) nothing, at the cost of wake-up latency.
+ * 
+ * A WaitStrategy instance holds per-channel state and should not be shared between channels.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public interface WaitStrategy
+{
+	/**
+	 * Wait until the condition is true. Implementations may return before the condition is true
+	 * (e.g. on a timeout), so callers must re-check it.
+	 * 
+	 * @param condition true when the waiting thread has work to do (or should shut down).
+	 * @throws InterruptedException if the waiting thread is interrupted.
+	 */
+	void await(BooleanSupplier condition)
+	throws InterruptedException;
+
+	/**
+	 * Called after the condition may have become true (e.g. an event was published) to wake a waiting thread.
+	 * Must be cheap when no thread is waiting, as it is called on every publish.
+	 */
+	void signal();
+}
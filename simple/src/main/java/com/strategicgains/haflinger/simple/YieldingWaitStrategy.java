@@ -0,0 +1,56 @@
+package com.strategicgains.haflinger.simple;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Spins on the condition for a number of iterations, then yields the CPU between checks.
+ * Low latency while letting other threads run on a busy machine, but still never idle.
+ * 
+ * Publishing never has to signal.
+ * 
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class YieldingWaitStrategy
+implements WaitStrategy
+{
+	private static final int DEFAULT_SPIN_TRIES = 100;
+
+	private int spinTries;
+
+	public YieldingWaitStrategy()
+	{
+		this(DEFAULT_SPIN_TRIES);
+	}
+
+	public YieldingWaitStrategy(int spinTries)
+	{
+		super();
+		this.spinTries = spinTries;
+	}
+
+	@Override
+	public void await(BooleanSupplier condition)
+	{
+		int counter = spinTries;
+
+		while (!condition.getAsBoolean())
+		{
+			if (counter > 0)
+			{
+				--counter;
+				Thread.onSpinWait();
+			}
+			else
+			{
+				Thread.yield();
+			}
+		}
+	}
+
+	@Override
+	public void signal()
+	{
+		// Nothing to wake.
+	}
+}
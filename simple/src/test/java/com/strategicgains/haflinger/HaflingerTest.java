@@ -1,13 +1,27 @@
 package com.strategicgains.haflinger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import com.strategicgains.haflinger.channel.EventChannel;
+import com.strategicgains.haflinger.channel.InterestAware;
 import com.strategicgains.haflinger.routing.EventChannelRouter;
 import com.strategicgains.haflinger.routing.RoutingRule;
 import com.strategicgains.haflinger.routing.SelectiveEventSubscriber;
@@ -209,9 +223,295 @@ public class HaflingerTest
 		assertEquals(0, longHandler.getCallCount());
 	}
 
+	@Test
+	public void shouldAddAndRemoveChannelsWhilePublishing()
+	throws Exception
+	{
+		AtomicInteger published = new AtomicInteger();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread publisher = new Thread(() -> {
+			try
+			{
+				for (int i = 0; i < 20_000; i++)
+				{
+					Haflinger.publish(new IgnoredEvent());
+				}
+			}
+			catch (Throwable t)
+			{
+				failure.set(t);
+			}
+		});
+		publisher.start();
+
+		for (int i = 0; i < 200; i++)
+		{
+			assertTrue(Haflinger.addChannel("counting-" + i, new CountingChannel(published)));
+		}
+
+		for (int i = 0; i < 200; i++)
+		{
+			assertTrue(Haflinger.removeChannel("counting-" + i));
+		}
+
+		publisher.join(5000L);
+		assertNull(failure.get());
+		assertFalse(Haflinger.removeChannel("counting-0"));
+	}
+
+	@Test
+	public void shouldPublishThroughChannelHandle()
+	{
+		AtomicInteger published = new AtomicInteger();
+		ChannelHandle<CountingChannel> handle = Haflinger.addChannelHandle("counting", new CountingChannel(published));
+		assertNull(Haflinger.addChannelHandle("counting", new CountingChannel(published)));
+		assertTrue(handle == Haflinger.<CountingChannel>getChannelHandle("counting"));
+		assertNull(Haflinger.getChannelHandle("missing"));
+
+		assertTrue(handle.publish(new IgnoredEvent()));
+		assertTrue(Haflinger.tryPublish("counting", new IgnoredEvent()));
+		assertFalse(Haflinger.tryPublish("missing", new IgnoredEvent()));
+		assertEquals(2, published.get());
+
+		Haflinger.removeChannel("counting");
+		assertFalse(handle.isRegistered());
+		assertFalse(handle.publish(new IgnoredEvent()));
+		assertEquals(2, published.get());
+	}
+
+	@Test
+	public void shouldFanOutConcurrentlyWithinDeadline()
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try
+		{
+			Haflinger.addChannel("slow-1", new SlowChannel(150L));
+			Haflinger.addChannel("slow-2", new SlowChannel(150L));
+			Haflinger.addChannel("stuck", new SlowChannel(3000L));
+			Haflinger.addChannel("failing", new SlowChannel(-1L));
+			Haflinger.fanOut(FanOut.concurrent(executor, Duration.ofMillis(600L)));
+
+			long start = System.nanoTime();
+			BroadcastResult result = Haflinger.broadcast(new IgnoredEvent());
+			long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+			assertTrue("Took " + elapsedMillis + "ms", elapsedMillis >= 590L && elapsedMillis < 1500L);
+			assertFalse(result.isPublished());
+			assertEquals(BroadcastResult.Status.PUBLISHED, result.getStatus("primary"));
+			assertEquals(BroadcastResult.Status.PUBLISHED, result.getStatus("slow-1"));
+			assertEquals(BroadcastResult.Status.PUBLISHED, result.getStatus("slow-2"));
+			assertEquals(BroadcastResult.Status.TIMED_OUT, result.getStatus("stuck"));
+			assertEquals(BroadcastResult.Status.FAILED, result.getStatus("failing"));
+			assertTrue(result.getFailure("failing") instanceof IllegalStateException);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void shouldSkipUninterestedChannelsInConcurrentFanOut()
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		try
+		{
+			AtomicInteger published = new AtomicInteger();
+			Haflinger.addChannel("uninterested", new UninterestedChannel(published));
+			Haflinger.addChannel("counting", new CountingChannel(published));
+			Haflinger.fanOut(FanOut.concurrent(executor, Duration.ofSeconds(1L)));
+
+			BroadcastResult result = Haflinger.broadcast(new IgnoredEvent());
+			assertTrue(result.isPublished());
+			assertNull(result.getStatus("uninterested"));
+			assertEquals(BroadcastResult.Status.PUBLISHED, result.getStatus("counting"));
+			assertEquals(1, published.get());
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void shouldPublishUnitOfWorkOnCommit()
+	{
+		RecordingChannel recorder = new RecordingChannel();
+		Haflinger.addChannel("recording", recorder);
+
+		try (UnitOfWork uow = Haflinger.beginUnitOfWork())
+		{
+			Haflinger.publish("recording", "one");
+			Haflinger.publish("recording", "two");
+			Haflinger.publish(new IgnoredEvent());
+			Haflinger.publish("recording", "three");
+			assertEquals(4, uow.size());
+			assertTrue(recorder.batches.isEmpty());
+			assertEquals(0, ignoredHandler.getCallCount());
+			uow.commit();
+		}
+
+		assertNull(Haflinger.currentUnitOfWork());
+		assertEquals(3, recorder.batches.size());
+		assertEquals(Arrays.asList("one", "two"), recorder.batches.get(0));
+		assertTrue(recorder.batches.get(1).get(0) instanceof IgnoredEvent);
+		assertEquals(Arrays.asList("three"), recorder.batches.get(2));
+	}
+
+	@Test
+	public void shouldFanOutCommittedUnitOfWorkToInterestedChannels()
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		try
+		{
+			AtomicInteger published = new AtomicInteger();
+			RecordingChannel recorder = new RecordingChannel();
+			Haflinger.addChannel("uninterested", new UninterestedChannel(published));
+			Haflinger.addChannel("recording", recorder);
+			Haflinger.fanOut(FanOut.concurrent(executor, Duration.ofSeconds(1L)));
+
+			try (UnitOfWork uow = Haflinger.beginUnitOfWork())
+			{
+				Haflinger.publish(new IgnoredEvent());
+				Haflinger.publish("two");
+				uow.commit();
+			}
+
+			assertEquals(0, published.get());
+			assertEquals(1, recorder.batches.size());
+			assertEquals(2, recorder.batches.get(0).size());
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void shouldDiscardUnitOfWorkOnRollback()
+	{
+		RecordingChannel recorder = new RecordingChannel();
+		Haflinger.addChannel("recording", recorder);
+
+		try (UnitOfWork uow = Haflinger.beginUnitOfWork())
+		{
+			Haflinger.publish("recording", "one");
+			Haflinger.publishAll("recording", Arrays.asList("two", "three"));
+			assertTrue(uow == Haflinger.currentUnitOfWork());
+		}
+
+		assertNull(Haflinger.currentUnitOfWork());
+		assertTrue(recorder.batches.isEmpty());
+		Haflinger.publish("recording", "four");
+		assertEquals(Arrays.asList("four"), recorder.batches.get(0));
+	}
 	
 	// SECTION: INNER CLASSES
 
+	private static class RecordingChannel
+	implements EventChannel
+	{
+		private List<List<Object>> batches = new ArrayList<>();
+
+		@Override
+		public boolean publish(Object event)
+		{
+			batches.add(Arrays.asList(event));
+			return true;
+		}
+
+		@Override
+		public int publishAll(Collection<?> events)
+		{
+			batches.add(new ArrayList<>(events));
+			return events.size();
+		}
+
+		@Override
+		public void shutdown()
+		{
+		}
+	}
+
+	private static class SlowChannel
+	implements EventChannel
+	{
+		private long delayMillis;
+
+		/**
+		 * @param delayMillis how long publish takes. Negative to fail immediately.
+		 */
+		public SlowChannel(long delayMillis)
+		{
+			super();
+			this.delayMillis = delayMillis;
+		}
+
+		@Override
+		public boolean publish(Object event)
+		{
+			if (delayMillis < 0) throw new IllegalStateException("Publish failed");
+
+			try
+			{
+				Thread.sleep(delayMillis);
+				return true;
+			}
+			catch (InterruptedException e)
+			{
+				return false;
+			}
+		}
+
+		@Override
+		public void shutdown()
+		{
+		}
+	}
+
+	private static class CountingChannel
+	implements EventChannel
+	{
+		private AtomicInteger count;
+
+		public CountingChannel(AtomicInteger count)
+		{
+			super();
+			this.count = count;
+		}
+
+		@Override
+		public boolean publish(Object event)
+		{
+			count.incrementAndGet();
+			return true;
+		}
+
+		@Override
+		public void shutdown()
+		{
+		}
+	}
+
+	private static class UninterestedChannel
+	extends CountingChannel
+	implements InterestAware
+	{
+		public UninterestedChannel(AtomicInteger count)
+		{
+			super(count);
+		}
+
+		@Override
+		public boolean isInterestedIn(Class<?> eventType)
+		{
+			return false;
+		}
+	}
+
 	private class HandledEvent
 	{
 		public void kerBlooey()
@@ -0,0 +1,155 @@
+package com.strategicgains.haflinger.routing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.strategicgains.haflinger.channel.EventChannel;
+
+/**
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class ConsistentHashRouterTest
+{
+	private static final int KEYS = 10_000;
+
+	// Events are "key:sequence" strings.
+	private ConsistentHashRouter router = new ConsistentHashRouter(event -> ((String) event).split(":")[0]);
+
+	@Test
+	public void shouldSpreadKeysEvenly()
+	{
+		assertNull(router.getPartition("any"));
+		assertNull(router.getPartition(null));
+		Map<EventChannel, Integer> counts = new HashMap<>();
+
+		for (int i = 0; i < 4; i++)
+		{
+			assertTrue(router.addPartition("p" + i, new RecordingChannel()));
+		}
+
+		assertFalse(router.addPartition("p0", new RecordingChannel()));
+		assertNull(router.getPartition(null));
+		assertTrue(router.getPartition(Thread.State.NEW) == router.getPartition("NEW"));
+
+		for (int i = 0; i < KEYS; i++)
+		{
+			counts.merge(router.getPartition("key-" + i), 1, Integer::sum);
+		}
+
+		assertEquals(4, counts.size());
+
+		for (int count : counts.values())
+		{
+			assertTrue("Partition got " + count + " keys", count > KEYS / 8 && count < KEYS * 3 / 8);
+		}
+	}
+
+	@Test
+	public void shouldOnlyRemapKeysOfChangedPartition()
+	{
+		for (int i = 0; i < 4; i++)
+		{
+			router.addPartition("p" + i, new RecordingChannel());
+		}
+
+		EventChannel[] before = mapKeys();
+		RecordingChannel added = new RecordingChannel();
+		router.addPartition("p4", added);
+		EventChannel[] after = mapKeys();
+		int moved = 0;
+
+		for (int i = 0; i < KEYS; i++)
+		{
+			if (before[i] != after[i])
+			{
+				assertTrue(after[i] == added);
+				moved++;
+			}
+		}
+
+		assertTrue("Moved " + moved + " keys", moved > KEYS / 10 && moved < KEYS * 3 / 10);
+		assertTrue(router.removePartition("p4") == added);
+		assertTrue(Arrays.equals(before, mapKeys()));
+	}
+
+	@Test
+	public void shouldKeepPerKeyOrderInBatches()
+	{
+		RecordingChannel p0 = new RecordingChannel();
+		RecordingChannel p1 = new RecordingChannel();
+		router.addPartition("p0", p0);
+		router.addPartition("p1", p1);
+		List<Object> events = new ArrayList<>();
+
+		for (int i = 0; i < 100; i++)
+		{
+			events.add("key-" + (i % 10) + ":" + i);
+		}
+
+		assertEquals(100, router.publishAll(events));
+		assertEquals(100, p0.events.size() + p1.events.size());
+		assertTrue(router.publish("key-3:100"));
+
+		for (int k = 0; k < 10; k++)
+		{
+			RecordingChannel owner = (RecordingChannel) router.getPartition("key-" + k);
+			int last = -1;
+
+			for (Object event : owner.events)
+			{
+				String[] parts = ((String) event).split(":");
+
+				if (!parts[0].equals("key-" + k)) continue;
+
+				assertTrue(Integer.parseInt(parts[1]) > last);
+				last = Integer.parseInt(parts[1]);
+			}
+
+			assertEquals((k == 3 ? 100 : 90 + k), last);
+		}
+	}
+
+	private EventChannel[] mapKeys()
+	{
+		EventChannel[] owners = new EventChannel[KEYS];
+
+		for (int i = 0; i < KEYS; i++)
+		{
+			owners[i] = router.getPartition("key-" + i);
+		}
+
+		return owners;
+	}
+
+
+	// SECTION: INNER CLASSES
+
+	private static class RecordingChannel
+	implements EventChannel
+	{
+		private List<Object> events = new ArrayList<>();
+
+		@Override
+		public boolean publish(Object event)
+		{
+			events.add(event);
+			return true;
+		}
+
+		@Override
+		public void shutdown()
+		{
+		}
+	}
+}
@@ -0,0 +1,251 @@
+package com.strategicgains.haflinger.routing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.strategicgains.haflinger.channel.EventChannel;
+
+/**
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class EventChannelRouterTest
+{
+	private EventChannelRouter router = new EventChannelRouter();
+	private RecordingChannel base = new RecordingChannel();
+	private RecordingChannel marked = new RecordingChannel();
+	private RecordingChannel other = new RecordingChannel();
+	private RecordingChannel all = new RecordingChannel();
+
+	@Test
+	public void shouldRouteByEventType()
+	{
+		router.addChannel(TypedRoutingRule.of(BaseEvent.class), base);
+		router.addChannel(TypedRoutingRule.of(Marked.class), marked);
+		router.addChannel(TypedRoutingRule.of(OtherEvent.class), other);
+		router.addChannel(event -> true, all);
+
+		assertTrue(router.publish(new BaseEvent()));
+		assertTrue(router.publish(new DerivedEvent()));
+		assertTrue(router.publish(new OtherEvent()));
+		assertTrue(router.publish("unrouted"));
+
+		assertEquals(2, base.events.size());
+		assertEquals(1, marked.events.size());
+		assertTrue(marked.events.get(0) instanceof DerivedEvent);
+		assertEquals(1, other.events.size());
+		assertEquals(4, all.events.size());
+	}
+
+	@Test
+	public void shouldOnlyTestRulesForEventType()
+	{
+		AtomicInteger tests = new AtomicInteger();
+		router.addChannel(new TypedRoutingRule()
+		{
+			@Override
+			public Collection<Class<?>> getEventTypes()
+			{
+				return Arrays.asList(OtherEvent.class);
+			}
+
+			@Override
+			public boolean test(Object event)
+			{
+				tests.incrementAndGet();
+				return ((OtherEvent) event).isRouted;
+			}
+		}, other);
+
+		assertFalse(router.publish(new BaseEvent()));
+		assertEquals(0, tests.get());
+		assertFalse(router.publish(new OtherEvent(false)));
+		assertTrue(router.publish(new OtherEvent(true)));
+		assertEquals(2, tests.get());
+		assertEquals(1, other.events.size());
+	}
+
+	@Test
+	public void shouldRouteBatchesByEventType()
+	{
+		router.addChannel(TypedRoutingRule.of(BaseEvent.class), base);
+		router.addChannel(TypedRoutingRule.of(OtherEvent.class), other);
+
+		assertEquals(3, router.publishAll(Arrays.asList(new BaseEvent(), new OtherEvent(), "unrouted", new DerivedEvent())));
+		assertEquals(2, base.events.size());
+		assertTrue(base.events.get(1) instanceof DerivedEvent);
+		assertEquals(1, other.events.size());
+	}
+
+	@Test
+	public void shouldRemoveChannel()
+	{
+		router.addChannel(TypedRoutingRule.of(BaseEvent.class), base);
+		router.addChannel(TypedRoutingRule.of(DerivedEvent.class), base);
+		router.addChannel(TypedRoutingRule.of(BaseEvent.class), other);
+
+		router.publish(new DerivedEvent());
+		assertEquals(2, base.events.size());
+		assertTrue(router.removeChannel(base));
+		assertFalse(router.removeChannel(base));
+		router.publish(new DerivedEvent());
+		assertEquals(2, base.events.size());
+		assertEquals(2, other.events.size());
+	}
+
+	@Test
+	public void shouldReportEveryRouteInAllMatchMode()
+	{
+		RecordingChannel rejecting = new RecordingChannel(false, false);
+		router.addChannel(TypedRoutingRule.of(BaseEvent.class), rejecting);
+		router.addChannel(TypedRoutingRule.of(BaseEvent.class), base);
+
+		assertFalse(router.publish(new BaseEvent()));
+		RoutingResult result = router.route(new BaseEvent());
+		assertFalse(result.isPublished());
+		assertEquals(2, result.getOutcomes().size());
+		assertEquals(RoutingResult.Status.REJECTED, result.getOutcomes().get(0).getStatus());
+		assertEquals(RoutingResult.Status.PUBLISHED, result.getOutcomes().get(1).getStatus());
+		assertEquals(2, base.events.size());
+		assertFalse(router.route("unrouted").isRouted());
+	}
+
+	@Test
+	public void shouldShortCircuitInFirstMatchMode()
+	{
+		AtomicInteger tests = new AtomicInteger();
+		router.mode(RoutingMode.FIRST_MATCH);
+		router.addChannel(TypedRoutingRule.of(BaseEvent.class), base);
+		router.addChannel(event -> tests.incrementAndGet() > 0, all);
+
+		assertTrue(router.publish(new DerivedEvent()));
+		assertEquals(2, router.publishAll(Arrays.asList(new BaseEvent(), "other")));
+		assertEquals(2, base.events.size());
+		assertEquals(Arrays.asList("other"), all.events);
+		assertEquals(1, tests.get());
+	}
+
+	@Test
+	public void shouldFallBackInPriorityMode()
+	throws Exception
+	{
+		RecordingChannel failing = new RecordingChannel(true, true);
+		router.mode(RoutingMode.PRIORITY);
+		router.addChannel(TypedRoutingRule.of(BaseEvent.class), base, 1);
+		router.addChannel(TypedRoutingRule.of(BaseEvent.class), failing, 10);
+		router.addChannel(TypedRoutingRule.of(BaseEvent.class), other, 1);
+
+		RoutingResult result = router.route(new BaseEvent());
+		assertTrue(result.isPublished());
+		assertEquals(2, result.getOutcomes().size());
+		assertEquals(RoutingResult.Status.FAILED, result.getOutcomes().get(0).getStatus());
+		assertTrue(result.getOutcomes().get(1).getChannel() == base);
+		assertEquals(1, result.getFailures().size());
+
+		assertTrue(router.publishAsync(new BaseEvent()).toCompletableFuture().get());
+		assertEquals(2, base.events.size());
+		assertTrue(other.events.isEmpty());
+	}
+
+	@Test
+	public void shouldIsolateFailingRules()
+	throws Exception
+	{
+		router.addChannel(event -> { throw new IllegalStateException("Rule failed"); }, other);
+		router.addChannel(TypedRoutingRule.of(BaseEvent.class), base);
+
+		RoutingResult result = router.route(new BaseEvent());
+		assertFalse(result.isPublished());
+		assertEquals(1, result.getFailures().size());
+		assertEquals(1, base.events.size());
+		assertFalse(router.publishAsync(new BaseEvent()).toCompletableFuture().handle((r, e) -> e == null).get());
+		assertEquals(2, base.events.size());
+	}
+
+	@Test
+	public void shouldShutDownSharedChannelOnce()
+	{
+		router.addChannel(TypedRoutingRule.of(BaseEvent.class), base);
+		router.addChannel(TypedRoutingRule.of(OtherEvent.class), base);
+		router.shutdown();
+		assertEquals(1, base.shutdowns);
+	}
+
+
+	// SECTION: INNER CLASSES
+
+	private interface Marked
+	{
+	}
+
+	private static class BaseEvent
+	{
+	}
+
+	private static class DerivedEvent
+	extends BaseEvent
+	implements Marked
+	{
+	}
+
+	private static class OtherEvent
+	{
+		private boolean isRouted;
+
+		public OtherEvent()
+		{
+			this(true);
+		}
+
+		public OtherEvent(boolean isRouted)
+		{
+			super();
+			this.isRouted = isRouted;
+		}
+	}
+
+	private static class RecordingChannel
+	implements EventChannel
+	{
+		private List<Object> events = new ArrayList<>();
+		private boolean isAccepting;
+		private boolean isFailing;
+		private int shutdowns;
+
+		public RecordingChannel()
+		{
+			this(true, false);
+		}
+
+		public RecordingChannel(boolean isAccepting, boolean isFailing)
+		{
+			super();
+			this.isAccepting = isAccepting;
+			this.isFailing = isFailing;
+		}
+
+		@Override
+		public boolean publish(Object event)
+		{
+			if (isFailing) throw new IllegalStateException("Publish failed");
+
+			events.add(event);
+			return isAccepting;
+		}
+
+		@Override
+		public void shutdown()
+		{
+			shutdowns++;
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package com.strategicgains.haflinger.routing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.strategicgains.haflinger.channel.EventChannel;
+import com.strategicgains.haflinger.channel.Measurable;
+import com.strategicgains.haflinger.simple.SimpleEventChannel;
+
+/**
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class LoadBalancingRouterTest
+{
+	@Test
+	public void shouldRoundRobin()
+	{
+		LoadBalancingRouter router = new LoadBalancingRouter();
+		QueueChannel a = new QueueChannel();
+		QueueChannel b = new QueueChannel();
+		assertFalse(router.publish("nowhere"));
+		router.addChannel(a);
+		router.addChannel(b);
+		assertFalse(router.addChannel(a));
+
+		for (int i = 0; i < 10; i++)
+		{
+			assertTrue(router.publish(i));
+		}
+
+		assertEquals(5, a.events.size());
+		assertEquals(5, b.events.size());
+		assertTrue(router.removeChannel(a));
+		router.publish(10);
+		assertEquals(6, b.events.size());
+	}
+
+	@Test
+	public void shouldPreferLeastQueueDepth()
+	{
+		for (LoadBalancingStrategy strategy : Arrays.asList(LoadBalancingStrategy.LEAST_QUEUE_DEPTH, LoadBalancingStrategy.TWO_CHOICES))
+		{
+			LoadBalancingRouter router = new LoadBalancingRouter(strategy);
+			QueueChannel a = new QueueChannel();
+			QueueChannel b = new QueueChannel();
+			router.addChannel(a);
+			router.addChannel(b);
+
+			// Neither channel is drained, so publishing keeps their depths level.
+			for (int i = 0; i < 100; i++)
+			{
+				router.publish(i);
+				assertTrue(Math.abs(a.getQueueDepth() - b.getQueueDepth()) <= 1);
+			}
+
+			a.events.clear();
+
+			for (int i = 0; i < 50; i++)
+			{
+				router.publish(i);
+			}
+
+			assertEquals(50, a.events.size());
+			assertEquals(50, b.events.size());
+		}
+	}
+
+	@Test
+	public void shouldReportSimpleEventChannelQueueDepth()
+	{
+		SimpleEventChannel channel = new SimpleEventChannel();
+
+		try
+		{
+			assertEquals(0, channel.getQueueDepth());
+			channel.publishAll(Arrays.asList(1, 2, 3));
+			assertEquals(3, channel.getQueueDepth());
+		}
+		finally
+		{
+			channel.shutdown();
+		}
+	}
+
+
+	// SECTION: INNER CLASSES
+
+	private static class QueueChannel
+	implements EventChannel, Measurable
+	{
+		private List<Object> events = new ArrayList<>();
+
+		@Override
+		public boolean publish(Object event)
+		{
+			events.add(event);
+			return true;
+		}
+
+		@Override
+		public int getQueueDepth()
+		{
+			return events.size();
+		}
+
+		@Override
+		public void shutdown()
+		{
+		}
+	}
+}
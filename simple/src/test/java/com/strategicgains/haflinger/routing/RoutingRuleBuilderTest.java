@@ -0,0 +1,148 @@
+package com.strategicgains.haflinger.routing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.strategicgains.haflinger.channel.EventChannel;
+
+/**
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class RoutingRuleBuilderTest
+{
+	@Test
+	public void shouldMatchAllConditions()
+	{
+		TypedRoutingRule rule = RoutingRuleBuilder.forType(OrderPlaced.class)
+			.where("region").isEqualTo("EU")
+			.and("amount").isGreaterThan(1000)
+			.build();
+
+		assertEquals(OrderPlaced.class, rule.getEventTypes().iterator().next());
+		assertTrue(rule.test(new OrderPlaced("EU", 1001, null)));
+		assertFalse(rule.test(new OrderPlaced("EU", 1000, null)));
+		assertFalse(rule.test(new OrderPlaced("US", 5000, null)));
+		assertFalse(rule.test(new OrderPlaced(null, 5000, null)));
+		assertFalse(rule.test("not an order"));
+	}
+
+	@Test
+	public void shouldCompareAcrossTypesAndPaths()
+	{
+		TypedRoutingRule rule = RoutingRuleBuilder.forType(OrderPlaced.class)
+			.where("amount").isLessThanOrEqualTo(new BigDecimal("100.5"))
+			.where("amount").isIn(10L, 100L)
+			.where("customer.tier").isEqualTo(2L)
+			.where("priority").isNotNull()
+			.build();
+
+		assertTrue(rule.test(new OrderPlaced("EU", 100, new Customer(2))));
+		assertFalse(rule.test(new OrderPlaced("EU", 100, new Customer(3))));
+		assertFalse(rule.test(new OrderPlaced("EU", 100, null)));
+		assertFalse(rule.test(new OrderPlaced("EU", 50, new Customer(2))));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectUnknownProperty()
+	{
+		RoutingRuleBuilder.forType(OrderPlaced.class).where("missing");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectIncomparableValue()
+	{
+		RoutingRuleBuilder.forType(OrderPlaced.class).where("region").isGreaterThan(1);
+	}
+
+	@Test
+	public void shouldShareAccessors()
+	{
+		assertSame(PropertyAccessors.of(OrderPlaced.class, "customer.tier"), PropertyAccessors.of(OrderPlaced.class, "customer.tier"));
+
+		RoutingRuleBuilder a = RoutingRuleBuilder.forType(OrderPlaced.class).where("region").isEqualTo("EU");
+		RoutingRuleBuilder b = RoutingRuleBuilder.forType(OrderPlaced.class).where("region").isEqualTo("EU");
+		OrderPlaced order = new OrderPlaced("EU", 1, null);
+		assertTrue(a.build().test(order));
+		assertTrue(b.build().test(order));
+	}
+
+	@Test
+	public void shouldRouteByContent()
+	{
+		EventChannelRouter router = new EventChannelRouter(RoutingMode.FIRST_MATCH);
+		RecordingChannel large = new RecordingChannel();
+		RecordingChannel rest = new RecordingChannel();
+		router.addChannel(RoutingRuleBuilder.forType(OrderPlaced.class).where("amount").isGreaterThan(1000).build(), large);
+		router.addChannel(TypedRoutingRule.of(OrderPlaced.class), rest);
+
+		router.publish(new OrderPlaced("EU", 2000, null));
+		router.publish(new OrderPlaced("EU", 20, null));
+		assertEquals(1, large.events.size());
+		assertEquals(1, rest.events.size());
+	}
+
+
+	// SECTION: INNER CLASSES
+
+	private static class OrderPlaced
+	{
+		private String region;
+		private int amount;
+		private Customer customer;
+		public final Integer priority = 1;
+
+		public OrderPlaced(String region, int amount, Customer customer)
+		{
+			super();
+			this.region = region;
+			this.amount = amount;
+			this.customer = customer;
+		}
+
+		public String getRegion()
+		{
+			return region;
+		}
+
+		public int getAmount()
+		{
+			return amount;
+		}
+
+		public Customer getCustomer()
+		{
+			return customer;
+		}
+	}
+
+	private record Customer(int tier)
+	{
+	}
+
+	private static class RecordingChannel
+	implements EventChannel
+	{
+		private List<Object> events = new ArrayList<>();
+
+		@Override
+		public boolean publish(Object event)
+		{
+			events.add(event);
+			return true;
+		}
+
+		@Override
+		public void shutdown()
+		{
+		}
+	}
+}
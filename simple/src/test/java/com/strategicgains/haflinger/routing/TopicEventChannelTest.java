@@ -0,0 +1,239 @@
+package com.strategicgains.haflinger.routing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.strategicgains.haflinger.channel.SubscribableEventChannel;
+import com.strategicgains.haflinger.consumer.EventSubscriber;
+import com.strategicgains.haflinger.exception.EventingException;
+import com.strategicgains.haflinger.simple.SimpleEventChannel;
+
+/**
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class TopicEventChannelTest
+{
+	@Test
+	public void shouldMatchWildcards()
+	{
+		TopicTrie<String> trie = new TopicTrie<>();
+		trie.add("orders.eu.created", "exact");
+		trie.add("orders.*.created", "one");
+		trie.add("orders.#", "any");
+		trie.add("#.created", "suffix");
+		trie.add("orders.#.shipped", "middle");
+
+		assertEquals(set(Arrays.asList("any", "suffix", "exact", "one")), set(trie.match("orders.eu.created")));
+		assertEquals(set(Arrays.asList("any")), set(trie.match("orders")));
+		assertEquals(set(Arrays.asList("any", "suffix")), set(trie.match("orders.created")));
+		assertEquals(set(Arrays.asList("any", "middle")), set(trie.match("orders.eu.fr.shipped")));
+		assertTrue(trie.matches("payments.created"));
+		assertFalse(trie.matches("payments.failed"));
+
+		assertTrue(trie.removeAll("any"));
+		assertTrue(trie.remove("#.created", "suffix"));
+		assertEquals(set(Arrays.asList("middle")), set(trie.match("orders.shipped")));
+		assertTrue(trie.match("orders").isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectInvalidPattern()
+	{
+		new TopicTrie<String>().add("orders.eu*", "invalid");
+	}
+
+	@Test
+	public void shouldDeliverByTopic()
+	{
+		SyncChannel underlying = new SyncChannel();
+		TopicEventChannel channel = new TopicEventChannel(underlying);
+		RecordingSubscriber created = new RecordingSubscriber("orders.*.created");
+		RecordingSubscriber orders = new RecordingSubscriber("orders.#", "#.created");
+		RecordingSubscriber all = new RecordingSubscriber();
+
+		assertTrue(channel.subscribe(created));
+		assertTrue(channel.subscribe(orders));
+		assertTrue(channel.subscribe(all));
+		assertEquals(3, underlying.subscribers.size());
+
+		channel.publish(new OrderEvent("orders.eu.created"));
+		channel.publish(new OrderEvent("orders.us.shipped"));
+		channel.publish(new OrderEvent("payments.failed"));
+		channel.publish("untopical");
+
+		assertEquals(1, created.events.size());
+		assertEquals(2, orders.events.size());
+		assertEquals(4, all.events.size());
+
+		channel.unsubscribe(orders);
+		channel.publish(new OrderEvent("orders.eu.created"));
+		assertEquals(2, created.events.size());
+		assertEquals(2, orders.events.size());
+	}
+
+	@Test
+	public void shouldUnsubscribeDispatcherOnShutdown()
+	{
+		SyncChannel underlying = new SyncChannel();
+		TopicEventChannel channel = new TopicEventChannel(underlying);
+		channel.subscribe(new RecordingSubscriber("orders.#"));
+		assertEquals(1, underlying.subscribers.size());
+		assertTrue(channel.shutdown(Duration.ofMillis(100)));
+		assertTrue(underlying.subscribers.isEmpty());
+	}
+
+	@Test
+	public void shouldDeliverToEachTopicSubscriberThroughChannelDispatcher()
+	throws Exception
+	{
+		SimpleEventChannel underlying = new SimpleEventChannel();
+		TopicEventChannel channel = new TopicEventChannel(underlying);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch fastDone = new CountDownLatch(1);
+		CountDownLatch slowDone = new CountDownLatch(1);
+		channel.subscribe("orders.#", event -> {
+			awaitQuietly(release);
+			slowDone.countDown();
+		});
+		channel.subscribe("orders.*.created", event -> fastDone.countDown());
+
+		try
+		{
+			channel.publish(new OrderEvent("orders.eu.created"));
+
+			// The slow subscriber doesn't hold up the fast one.
+			assertTrue(fastDone.await(1, TimeUnit.SECONDS));
+			assertEquals(1L, slowDone.getCount());
+			release.countDown();
+			assertTrue(slowDone.await(1, TimeUnit.SECONDS));
+		}
+		finally
+		{
+			channel.shutdown();
+		}
+	}
+
+
+	private static Set<String> set(Collection<String> values)
+	{
+		return new HashSet<>(values);
+	}
+
+	private static void awaitQuietly(CountDownLatch latch)
+	{
+		try
+		{
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	// SECTION: INNER CLASSES
+
+	private static class OrderEvent
+	implements TopicEvent
+	{
+		private String topic;
+
+		public OrderEvent(String topic)
+		{
+			super();
+			this.topic = topic;
+		}
+
+		@Override
+		public String getTopic()
+		{
+			return topic;
+		}
+	}
+
+	private static class RecordingSubscriber
+	implements TopicSubscriber
+	{
+		private List<String> patterns;
+		private List<Object> events = new ArrayList<>();
+
+		public RecordingSubscriber(String... patterns)
+		{
+			super();
+			this.patterns = Arrays.asList(patterns);
+		}
+
+		@Override
+		public void handle(Object event)
+		{
+			events.add(event);
+		}
+
+		@Override
+		public Collection<String> getTopicPatterns()
+		{
+			return patterns;
+		}
+	}
+
+	/**
+	 * Delivers each event to its subscribers on the publishing thread.
+	 */
+	private static class SyncChannel
+	implements SubscribableEventChannel
+	{
+		private List<EventSubscriber> subscribers = new ArrayList<>();
+
+		@Override
+		public boolean publish(Object event)
+		{
+			for (EventSubscriber subscriber : subscribers)
+			{
+				if (subscriber instanceof SelectiveEventSubscriber && !((SelectiveEventSubscriber) subscriber).test(event)) continue;
+
+				try
+				{
+					subscriber.handle(event);
+				}
+				catch (EventingException e)
+				{
+					throw new IllegalStateException(e);
+				}
+			}
+
+			return true;
+		}
+
+		@Override
+		public boolean subscribe(EventSubscriber handler)
+		{
+			return subscribers.add(handler);
+		}
+
+		@Override
+		public void unsubscribe(EventSubscriber handler)
+		{
+			subscribers.remove(handler);
+		}
+
+		@Override
+		public void shutdown()
+		{
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package com.strategicgains.haflinger.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.strategicgains.haflinger.consumer.BatchEventSubscriber;
+
+/**
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class BatchEventSubscriberTest
+{
+	private static final int PAUSE_MILLIS = 150;
+	private SimpleEventChannel channel;
+
+	@After
+	public void teardown()
+	{
+		channel.shutdown();
+	}
+
+	@Test
+	public void shouldDeliverAvailableEventsInOneCall()
+	throws Exception
+	{
+		TestBatchHandler handler = new TestBatchHandler();
+		channel = new SimpleEventChannelBuilder().build();
+
+		for (int i = 0; i < 50; i++)
+		{
+			channel.publish(i);
+		}
+
+		channel.subscribe(handler);
+		Thread.sleep(PAUSE_MILLIS);
+		assertEquals(1, handler.getBatches().size());
+		assertEquals(50, handler.getBatches().get(0).size());
+		assertEquals(0, handler.getBatches().get(0).get(0));
+		assertEquals(49, handler.getBatches().get(0).get(49));
+	}
+
+	@Test
+	public void shouldRespectMaxBatchSize()
+	throws Exception
+	{
+		TestBatchHandler handler = new TestBatchHandler();
+		channel = new SimpleEventChannelBuilder()
+			.maxBatchSize(20)
+			.build();
+
+		for (int i = 0; i < 50; i++)
+		{
+			channel.publish(i);
+		}
+
+		channel.subscribe(handler);
+		Thread.sleep(PAUSE_MILLIS);
+		List<Object> received = new ArrayList<>();
+
+		for (List<Object> batch : handler.getBatches())
+		{
+			assertTrue(batch.size() <= 20);
+			received.addAll(batch);
+		}
+
+		assertEquals(50, received.size());
+
+		for (int i = 0; i < 50; i++)
+		{
+			assertEquals(i, received.get(i));
+		}
+	}
+
+	@Test
+	public void shouldPublishAllInOrder()
+	throws Exception
+	{
+		TestBatchHandler handler = new TestBatchHandler();
+		channel = new SimpleEventChannelBuilder()
+			.subscribe(handler)
+			.build();
+		List<Integer> events = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+
+		assertEquals(50, channel.publishAll(events));
+		Thread.sleep(PAUSE_MILLIS);
+		List<Object> received = new ArrayList<>();
+
+		for (List<Object> batch : handler.getBatches())
+		{
+			received.addAll(batch);
+		}
+
+		assertEquals(events, received);
+	}
+
+	@Test
+	public void shouldApplyOverflowPolicyToEachPublishedEvent()
+	{
+		channel = new RingBufferEventChannel(4, OverflowPolicy.DROP_NEWEST);
+
+		assertEquals(4, channel.publishAll(Arrays.asList(0, 1, 2, 3, 4, 5)));
+		assertEquals(0, channel.get(100L));
+		assertEquals(1, channel.publishAll(Arrays.asList(6, 7)));
+		assertEquals(0, channel.publishAll(Collections.emptyList()));
+	}
+
+	private static class TestBatchHandler
+	implements BatchEventSubscriber
+	{
+		private List<List<Object>> batches = Collections.synchronizedList(new ArrayList<>());
+
+		@Override
+		public void handle(List<Object> events)
+		{
+			batches.add(new ArrayList<>(events));
+		}
+
+		public List<List<Object>> getBatches()
+		{
+			return batches;
+		}
+	}
+}
@@ -0,0 +1,502 @@
+package com.strategicgains.haflinger.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.strategicgains.haflinger.consumer.BatchEventSubscriber;
+import com.strategicgains.haflinger.consumer.EventSubscriber;
+import com.strategicgains.haflinger.dispatch.DispatchExecutor;
+import com.strategicgains.haflinger.dispatch.DispatchExecutors;
+import com.strategicgains.haflinger.dispatch.EventBatcher;
+import com.strategicgains.haflinger.dispatch.OrderedExecutor;
+import com.strategicgains.haflinger.dispatch.ThreadPoolDispatchExecutor.Saturation;
+
+/**
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class DispatchExecutorTest
+{
+	@Test
+	public void shouldBoundThreadsAndReportQueueDepth()
+	throws Exception
+	{
+		DispatchExecutor executor = DispatchExecutors.bounded(2, 10);
+		CountDownLatch release = new CountDownLatch(1);
+
+		try
+		{
+			for (int i = 0; i < 6; i++)
+			{
+				executor.execute(() -> awaitQuietly(release));
+			}
+
+			Thread.sleep(50);
+			assertEquals(2, executor.getActiveCount());
+			assertEquals(4, executor.getQueueDepth());
+		}
+		finally
+		{
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldRunOnCallerWhenSaturated()
+	throws Exception
+	{
+		DispatchExecutor executor = DispatchExecutors.callerRuns(1, 1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+		try
+		{
+			executor.execute(() -> awaitQuietly(release));
+			executor.execute(() -> awaitQuietly(release));
+			executor.execute(() -> ranOn.set(Thread.currentThread()));
+			assertEquals(Thread.currentThread(), ranOn.get());
+		}
+		finally
+		{
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldNotBlockPoolThreadWhenSaturated()
+	throws Exception
+	{
+		DispatchExecutor executor = DispatchExecutors.bounded(1, 1);
+		CountDownLatch done = new CountDownLatch(3);
+
+		try
+		{
+			executor.execute(() -> {
+				for (int i = 0; i < 3; i++)
+				{
+					executor.execute(done::countDown);
+				}
+			});
+
+			assertTrue(done.await(2, TimeUnit.SECONDS));
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldDispatchOnSameThread()
+	throws Exception
+	{
+		DispatchExecutor executor = DispatchExecutors.sameThread();
+		AtomicReference<Thread> ranOn = new AtomicReference<>();
+		executor.execute(() -> ranOn.set(Thread.currentThread()));
+		assertEquals(Thread.currentThread(), ranOn.get());
+		assertEquals(0, executor.getQueueDepth());
+	}
+
+	@Test
+	public void shouldUseConfiguredExecutorWithoutShuttingItDown()
+	throws Exception
+	{
+		AtomicInteger executed = new AtomicInteger();
+		DispatchExecutor shared = DispatchExecutors.bounded(2, 100);
+		CountDownLatch handled = new CountDownLatch(3);
+		SimpleEventChannel channel = new SimpleEventChannelBuilder()
+			.dispatchExecutor(new CountingExecutor(shared, executed))
+			.subscribe(event -> handled.countDown())
+			.build();
+
+		try
+		{
+			channel.publish("one");
+			channel.publish("two");
+			channel.publish("three");
+			assertTrue(handled.await(1, TimeUnit.SECONDS));
+			assertEquals(3, executed.get());
+		}
+		finally
+		{
+			channel.shutdown();
+		}
+
+		assertFalse(shared.isShutdown());
+		shared.shutdown();
+	}
+
+	@Test
+	public void shouldShutDownDefaultExecutorWithChannel()
+	{
+		SimpleEventChannel channel = new SimpleEventChannelBuilder().build();
+		DispatchExecutor executor = channel.getDispatchExecutor();
+		assertFalse(executor.isShutdown());
+		channel.shutdown();
+		assertTrue(executor.isShutdown());
+	}
+
+	@Test
+	public void shouldMoveSubscribersToReplacementExecutor()
+	throws Exception
+	{
+		AtomicInteger executed = new AtomicInteger();
+		DispatchExecutor replacement = DispatchExecutors.bounded(2, 100);
+		CountDownLatch handled = new CountDownLatch(4);
+		CountDownLatch batched = new CountDownLatch(4);
+		SimpleEventChannel channel = new SimpleEventChannel(event -> handled.countDown())
+			.orderedBy(event -> event);
+		channel.subscribe((BatchEventSubscriber) events -> events.forEach(e -> batched.countDown()));
+		DispatchExecutor original = channel.getDispatchExecutor();
+
+		try
+		{
+			channel.publish("one");
+			channel.publish("two");
+			channel.dispatchExecutor(new CountingExecutor(replacement, executed));
+			assertTrue(original.isShutdown());
+			channel.publish("three");
+			channel.publish("four");
+			assertTrue(handled.await(1, TimeUnit.SECONDS));
+			assertTrue(batched.await(1, TimeUnit.SECONDS));
+			assertTrue(executed.get() > 0);
+		}
+		finally
+		{
+			channel.shutdown();
+			replacement.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldCapConcurrencyPerSubscriber()
+	throws Exception
+	{
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		CountDownLatch handled = new CountDownLatch(10);
+		DispatchExecutor executor = DispatchExecutors.perSubscriberLimit(DispatchExecutors.bounded(8, 100), 2);
+		SimpleEventChannel channel = new SimpleEventChannelBuilder()
+			.dispatchExecutor(executor)
+			.subscribe(event -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				awaitQuietly(new CountDownLatch(1), 20);
+				running.decrementAndGet();
+				handled.countDown();
+			})
+			.build();
+
+		try
+		{
+			for (int i = 0; i < 10; i++)
+			{
+				channel.publish(i);
+			}
+
+			assertTrue(handled.await(2, TimeUnit.SECONDS));
+			assertEquals(2, maxRunning.get());
+		}
+		finally
+		{
+			channel.shutdown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldQueueOverCapDeliveriesWithoutBlocking()
+	throws Exception
+	{
+		DispatchExecutor executor = DispatchExecutors.perSubscriberLimit(DispatchExecutors.bounded(4, 100), 1);
+		EventSubscriber slow = event -> {};
+		EventSubscriber other = event -> {};
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch slowDone = new CountDownLatch(5);
+		CountDownLatch otherDone = new CountDownLatch(1);
+
+		try
+		{
+			for (int i = 0; i < 5; i++)
+			{
+				executor.execute(slow, () -> {
+					awaitQuietly(release);
+					slowDone.countDown();
+				});
+			}
+
+			executor.execute(other, otherDone::countDown);
+			assertTrue(otherDone.await(1, TimeUnit.SECONDS));
+			assertEquals(4, executor.getQueueDepth());
+
+			release.countDown();
+			assertTrue(slowDone.await(1, TimeUnit.SECONDS));
+			executor.unsubscribe(slow);
+			assertEquals(0, executor.getQueueDepth());
+		}
+		finally
+		{
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldBoundBacklogAndDiscardItOnUnsubscribe()
+	throws Exception
+	{
+		DispatchExecutor executor = DispatchExecutors.perSubscriberLimit(DispatchExecutors.bounded(4, 100), 1, 2, Saturation.CALLER_RUNS);
+		EventSubscriber slow = event -> {};
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger ran = new AtomicInteger();
+		AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+		try
+		{
+			executor.execute(slow, () -> awaitQuietly(release));
+			executor.execute(slow, ran::incrementAndGet);
+			executor.execute(slow, ran::incrementAndGet);
+			executor.execute(slow, () -> ranOn.set(Thread.currentThread()));
+			assertEquals(Thread.currentThread(), ranOn.get());
+			assertEquals(2, executor.getQueueDepth());
+
+			executor.unsubscribe(slow);
+			assertEquals(0, executor.getQueueDepth());
+			release.countDown();
+			Thread.sleep(50);
+			assertEquals(0, ran.get());
+		}
+		finally
+		{
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldDispatchOnVirtualThreadsWhenSupported()
+	throws Exception
+	{
+		if (!DispatchExecutors.isVirtualThreadSupported())
+		{
+			try
+			{
+				DispatchExecutors.virtualThreads();
+				fail("Expected UnsupportedOperationException");
+			}
+			catch (UnsupportedOperationException e)
+			{
+				// expected
+			}
+
+			return;
+		}
+
+		DispatchExecutor executor = DispatchExecutors.virtualThreads(4);
+		CountDownLatch handled = new CountDownLatch(100);
+		SimpleEventChannel channel = new SimpleEventChannelBuilder()
+			.dispatchExecutor(executor)
+			.subscribe(event -> handled.countDown())
+			.build();
+
+		try
+		{
+			for (int i = 0; i < 100; i++)
+			{
+				channel.publish(i);
+			}
+
+			assertTrue(handled.await(2, TimeUnit.SECONDS));
+		}
+		finally
+		{
+			channel.shutdown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldRescheduleLaneAfterRejection()
+	{
+		AtomicInteger rejections = new AtomicInteger(1);
+		AtomicInteger ran = new AtomicInteger();
+		OrderedExecutor ordered = new OrderedExecutor(task -> {
+			if (rejections.getAndDecrement() > 0) throw new RejectedExecutionException("Saturated");
+
+			task.run();
+		}, 1);
+
+		try
+		{
+			ordered.execute("key", ran::incrementAndGet);
+			fail("Expected RejectedExecutionException");
+		}
+		catch (RejectedExecutionException e)
+		{
+			// expected
+		}
+
+		ordered.execute("key", ran::incrementAndGet);
+		assertEquals(2, ran.get());
+	}
+
+	@Test
+	public void shouldRescheduleBatchesAfterRejection()
+	{
+		AtomicInteger rejections = new AtomicInteger(1);
+		List<Object> delivered = new ArrayList<>();
+		EventBatcher batcher = new EventBatcher(delivered::addAll, task -> {
+			if (rejections.getAndDecrement() > 0) throw new RejectedExecutionException("Saturated");
+
+			task.run();
+		});
+
+		try
+		{
+			batcher.add(1);
+			fail("Expected RejectedExecutionException");
+		}
+		catch (RejectedExecutionException e)
+		{
+			// expected
+		}
+
+		batcher.add(2);
+		assertEquals(Arrays.asList(1, 2), delivered);
+	}
+
+	@Test
+	public void shouldNotRecurseWhenLaneIsRescheduledInline()
+	{
+		InlineAfterFirstExecutor executor = new InlineAfterFirstExecutor();
+		OrderedExecutor ordered = new OrderedExecutor(executor, 1);
+		AtomicInteger ran = new AtomicInteger();
+		Runnable task = ran::incrementAndGet;
+
+		for (int i = 0; i < 1_000_000; i++)
+		{
+			ordered.execute("key", task);
+		}
+
+		executor.first.run();
+		assertEquals(1_000_000, ran.get());
+	}
+
+	@Test
+	public void shouldNotRecurseWhenBatchIsRescheduledInline()
+	{
+		InlineAfterFirstExecutor executor = new InlineAfterFirstExecutor();
+		AtomicInteger delivered = new AtomicInteger();
+		EventBatcher batcher = new EventBatcher(events -> delivered.addAndGet(events.size()), executor, 1);
+		Object event = new Object();
+
+		for (int i = 0; i < 1_000_000; i++)
+		{
+			batcher.add(event);
+		}
+
+		executor.first.run();
+		assertEquals(1_000_000, delivered.get());
+	}
+
+	private static void awaitQuietly(CountDownLatch latch)
+	{
+		awaitQuietly(latch, 1000);
+	}
+
+	private static void awaitQuietly(CountDownLatch latch, long millis)
+	{
+		try
+		{
+			latch.await(millis, TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	// SECTION: INNER CLASSES
+
+	/**
+	 * Holds the first task submitted and runs the rest inline, like a saturated executor.
+	 */
+	private static class InlineAfterFirstExecutor
+	implements Executor
+	{
+		private Runnable first;
+
+		@Override
+		public void execute(Runnable task)
+		{
+			if (first == null)
+			{
+				first = task;
+				return;
+			}
+
+			task.run();
+		}
+	}
+
+	private static class CountingExecutor
+	implements DispatchExecutor
+	{
+		private DispatchExecutor delegate;
+		private AtomicInteger count;
+
+		public CountingExecutor(DispatchExecutor delegate, AtomicInteger count)
+		{
+			super();
+			this.delegate = delegate;
+			this.count = count;
+		}
+
+		@Override
+		public void execute(Runnable delivery)
+		{
+			count.incrementAndGet();
+			delegate.execute(delivery);
+		}
+
+		@Override
+		public int getQueueDepth()
+		{
+			return delegate.getQueueDepth();
+		}
+
+		@Override
+		public int getActiveCount()
+		{
+			return delegate.getActiveCount();
+		}
+
+		@Override
+		public void shutdown()
+		{
+			delegate.shutdown();
+		}
+
+		@Override
+		public boolean isShutdown()
+		{
+			return delegate.isShutdown();
+		}
+	}
+}
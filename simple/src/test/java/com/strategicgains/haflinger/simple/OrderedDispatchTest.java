@@ -0,0 +1,166 @@
+package com.strategicgains.haflinger.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.strategicgains.haflinger.consumer.EventSubscriber;
+import com.strategicgains.haflinger.dispatch.PartitionKeyExtractor;
+import com.strategicgains.haflinger.dispatch.PartitionedEvent;
+
+/**
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class OrderedDispatchTest
+{
+	private static final int KEYS = 4;
+	private static final int EVENTS_PER_KEY = 50;
+
+	private SimpleEventChannel channel;
+
+	@After
+	public void teardown()
+	{
+		channel.shutdown();
+	}
+
+	@Test
+	public void shouldDeliverSameKeyInOrder()
+	throws Exception
+	{
+		OrderRecordingHandler handler = new OrderRecordingHandler(KEYS * EVENTS_PER_KEY);
+		channel = new SimpleEventChannelBuilder()
+			.orderedBy(PartitionKeyExtractor.DEFAULT)
+			.subscribe(handler)
+			.build();
+
+		for (int i = 0; i < EVENTS_PER_KEY; i++)
+		{
+			for (int key = 0; key < KEYS; key++)
+			{
+				channel.publish(new KeyedEvent("key-" + key, i));
+			}
+		}
+
+		assertTrue(handler.await());
+		assertEquals(KEYS, handler.sequences.size());
+
+		for (List<Integer> sequence : handler.sequences.values())
+		{
+			assertEquals(EVENTS_PER_KEY, sequence.size());
+
+			for (int i = 0; i < EVENTS_PER_KEY; i++)
+			{
+				assertEquals(i, sequence.get(i).intValue());
+			}
+		}
+
+		assertEquals(0, handler.overlaps.get());
+	}
+
+	@Test
+	public void shouldDeliverDifferentKeysInParallel()
+	throws Exception
+	{
+		CountDownLatch started = new CountDownLatch(KEYS);
+		CountDownLatch release = new CountDownLatch(1);
+		channel = new SimpleEventChannelBuilder()
+			.orderedBy(PartitionKeyExtractor.DEFAULT, 64)
+			.subscribe(event -> {
+				started.countDown();
+				awaitQuietly(release);
+			})
+			.build();
+
+		for (int key = 0; key < KEYS; key++)
+		{
+			channel.publish(new KeyedEvent(key, 0));
+		}
+
+		boolean isParallel = started.await(1, TimeUnit.SECONDS);
+		release.countDown();
+		assertTrue(isParallel);
+	}
+
+	private static void awaitQuietly(CountDownLatch latch)
+	{
+		try
+		{
+			latch.await(1, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	// SECTION: INNER CLASSES
+
+	private static class KeyedEvent
+	implements PartitionedEvent
+	{
+		private Object key;
+		private int sequence;
+
+		public KeyedEvent(Object key, int sequence)
+		{
+			super();
+			this.key = key;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public Object getPartitionKey()
+		{
+			return key;
+		}
+	}
+
+	private static class OrderRecordingHandler
+	implements EventSubscriber
+	{
+		private Map<Object, List<Integer>> sequences = new ConcurrentHashMap<>();
+		private Map<Object, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+		private AtomicInteger overlaps = new AtomicInteger();
+		private CountDownLatch done;
+
+		public OrderRecordingHandler(int expected)
+		{
+			super();
+			this.done = new CountDownLatch(expected);
+		}
+
+		@Override
+		public void handle(Object event)
+		{
+			KeyedEvent keyed = (KeyedEvent) event;
+			AtomicInteger running = inFlight.computeIfAbsent(keyed.key, k -> new AtomicInteger());
+
+			if (running.incrementAndGet() > 1) overlaps.incrementAndGet();
+
+			LockSupport.parkNanos(100_000L);
+			sequences.computeIfAbsent(keyed.key, k -> new ArrayList<>()).add(keyed.sequence);
+			running.decrementAndGet();
+			done.countDown();
+		}
+
+		public boolean await()
+		throws InterruptedException
+		{
+			return done.await(5, TimeUnit.SECONDS);
+		}
+	}
+}
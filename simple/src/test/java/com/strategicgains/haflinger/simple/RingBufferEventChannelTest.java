@@ -0,0 +1,181 @@
+package com.strategicgains.haflinger.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class RingBufferEventChannelTest
+{
+	private RingBufferEventChannel channel;
+
+	@After
+	public void teardown()
+	{
+		if (channel != null) channel.shutdown();
+	}
+
+	@Test
+	public void shouldRoundCapacityToPowerOfTwo()
+	{
+		assertEquals(2, new RingBuffer<Object>(1).capacity());
+		assertEquals(8, new RingBuffer<Object>(5).capacity());
+		assertEquals(8, new RingBuffer<Object>(8).capacity());
+		assertEquals(1024, new RingBuffer<Object>(1000).capacity());
+	}
+
+	@Test
+	public void shouldDropNewest()
+	{
+		channel = new RingBufferEventChannel(2, OverflowPolicy.DROP_NEWEST);
+		assertTrue(channel.publish(1));
+		assertTrue(channel.publish(2));
+		assertFalse(channel.publish(3));
+		assertEquals(1, channel.get(10L));
+		assertEquals(2, channel.get(10L));
+		assertNull(channel.get(10L));
+	}
+
+	@Test
+	public void shouldDropOldest()
+	{
+		channel = new RingBufferEventChannel(2, OverflowPolicy.DROP_OLDEST);
+		assertTrue(channel.publish(1));
+		assertTrue(channel.publish(2));
+		assertTrue(channel.publish(3));
+		assertEquals(2, channel.get(10L));
+		assertEquals(3, channel.get(10L));
+		assertNull(channel.get(10L));
+	}
+
+	@Test
+	public void shouldFail()
+	{
+		channel = new RingBufferEventChannel(2, OverflowPolicy.FAIL);
+		channel.publish(1);
+		channel.publish(2);
+
+		try
+		{
+			channel.publish(3);
+			fail("Expected IllegalStateException");
+		}
+		catch (IllegalStateException e)
+		{
+			// expected
+		}
+	}
+
+	@Test
+	public void shouldReportOverflowAsynchronously()
+	{
+		channel = new RingBufferEventChannel(2, OverflowPolicy.FAIL);
+		assertTrue(channel.publishAsync(1).toCompletableFuture().join());
+		assertTrue(channel.publishAsync(2).toCompletableFuture().join());
+		CompletableFuture<Boolean> overflowed = channel.publishAsync(3).toCompletableFuture();
+		assertTrue(overflowed.isCompletedExceptionally());
+
+		try
+		{
+			overflowed.join();
+			fail("Expected CompletionException");
+		}
+		catch (CompletionException e)
+		{
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+	}
+
+	@Test
+	public void shouldBlockUntilSpaceAvailable()
+	throws Exception
+	{
+		channel = new RingBufferEventChannel(2, OverflowPolicy.BLOCK);
+		channel.publish(1);
+		channel.publish(2);
+		Thread producer = new Thread(() -> channel.publish(3));
+		producer.start();
+		Thread.sleep(50);
+		assertTrue(producer.isAlive());
+		assertEquals(1, channel.get(10L));
+		producer.join(1000L);
+		assertFalse(producer.isAlive());
+		assertEquals(2, channel.get(10L));
+		assertEquals(3, channel.get(10L));
+	}
+
+	@Test
+	public void shouldNotLoseEventsAcrossProducersAndConsumers()
+	throws Exception
+	{
+		int producers = 4;
+		int perProducer = 25_000;
+		channel = new RingBufferEventChannel(64, OverflowPolicy.BLOCK);
+		AtomicLong sum = new AtomicLong();
+		AtomicLong count = new AtomicLong();
+		List<Thread> threads = new ArrayList<>();
+
+		for (int p = 0; p < producers; p++)
+		{
+			threads.add(new Thread(() -> {
+				for (int i = 1; i <= perProducer; i++) channel.publish(i);
+			}));
+		}
+
+		for (int c = 0; c < producers; c++)
+		{
+			threads.add(new Thread(() -> {
+				Object event;
+
+				while ((event = channel.get(200L)) != null)
+				{
+					sum.addAndGet((Integer) event);
+					count.incrementAndGet();
+				}
+			}));
+		}
+
+		threads.forEach(Thread::start);
+
+		for (Thread t : threads)
+		{
+			t.join(10_000L);
+		}
+
+		assertEquals(producers * perProducer, count.get());
+		assertEquals(producers * ((long) perProducer * (perProducer + 1) / 2), sum.get());
+	}
+
+	@Test
+	public void shouldBuildRingBufferChannel()
+	{
+		SimpleEventChannel built = new SimpleEventChannelBuilder()
+			.bufferSize(4)
+			.overflowPolicy(OverflowPolicy.DROP_NEWEST)
+			.build();
+
+		try
+		{
+			assertTrue(built instanceof RingBufferEventChannel);
+			assertEquals(OverflowPolicy.DROP_NEWEST, built.getOverflowPolicy());
+		}
+		finally
+		{
+			built.shutdown();
+		}
+	}
+}
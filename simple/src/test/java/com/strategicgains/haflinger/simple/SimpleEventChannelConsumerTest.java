@@ -0,0 +1,246 @@
+package com.strategicgains.haflinger.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.strategicgains.haflinger.consumer.AbstractEventConsumer;
+import com.strategicgains.haflinger.consumer.ConsumerGroup;
+
+/**
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class SimpleEventChannelConsumerTest
+{
+	private SimpleEventChannel channel;
+
+	@Before
+	public void setup()
+	{
+		channel = new SimpleEventChannel();
+	}
+
+	@After
+	public void teardown()
+	{
+		channel.shutdown();
+	}
+
+	@Test
+	public void shouldReturnNullAfterTimeout()
+	{
+		long start = System.nanoTime();
+		assertNull(channel.get(100L));
+		assertTrue((System.nanoTime() - start) >= 100_000_000L);
+	}
+
+	@Test
+	public void shouldGetPublishedEvent()
+	{
+		channel.publish("one");
+		channel.publish("two");
+		assertEquals("one", channel.get(100L));
+		assertEquals("two", channel.get());
+	}
+
+	@Test
+	public void shouldWakeBlockedConsumer()
+	throws Exception
+	{
+		Object[] result = new Object[1];
+		Thread consumer = new Thread(() -> result[0] = channel.get());
+		consumer.start();
+		Thread.sleep(50);
+		channel.publish("wake");
+		consumer.join(1000L);
+		assertEquals("wake", result[0]);
+	}
+
+	@Test
+	public void shouldReturnNullWhenInterrupted()
+	throws Exception
+	{
+		Object[] result = new Object[] {"not null"};
+		Thread consumer = new Thread(() -> result[0] = channel.get());
+		consumer.start();
+		Thread.sleep(50);
+		consumer.interrupt();
+		consumer.join(1000L);
+		assertNull(result[0]);
+	}
+
+	@Test
+	public void shouldRedeliverUncommittedEvent()
+	{
+		channel.visibilityTimeout(100L);
+		channel.publish("leased");
+		assertEquals("leased", channel.get(100L));
+		assertNull(channel.get(20L));
+		assertEquals("leased", channel.get(500L));
+		channel.commit();
+		assertNull(channel.get(200L));
+	}
+
+	@Test
+	public void shouldNotRedeliverCommittedEvent()
+	{
+		channel.visibilityTimeout(50L);
+		channel.publish("one");
+		assertEquals("one", channel.get(100L));
+		channel.commit();
+		assertNull(channel.get(150L));
+	}
+
+	@Test
+	public void shouldDrainOnceLeasesAreCommitted()
+	{
+		channel.visibilityTimeout(60_000L);
+		channel.publish("one");
+		assertEquals("one", channel.get(100L));
+		channel.commit();
+		assertTrue(channel.shutdown(Duration.ofSeconds(1)));
+	}
+
+	@Test
+	public void shouldShareWorkAcrossCompetingConsumers()
+	throws Exception
+	{
+		channel.visibilityTimeout(100L);
+		Set<Object> processed = ConcurrentHashMap.newKeySet();
+
+		for (int i = 0; i < 20; i++)
+		{
+			channel.publish(i);
+		}
+
+		// A consumer that fails mid-processing, never committing its event.
+		Thread failed = new Thread(() -> channel.get());
+		failed.start();
+		failed.join(1000L);
+
+		Thread[] consumers = new Thread[3];
+
+		for (int i = 0; i < consumers.length; i++)
+		{
+			consumers[i] = new Thread(() -> {
+				Object event;
+
+				while ((event = channel.get(300L)) != null)
+				{
+					processed.add(event);
+					channel.commit();
+				}
+			});
+			consumers[i].start();
+		}
+
+		for (Thread consumer : consumers)
+		{
+			consumer.join(2000L);
+		}
+
+		assertEquals(20, processed.size());
+	}
+
+	@Test
+	public void shouldNotBlockBuildWithConsumer()
+	throws Exception
+	{
+		Set<Object> processed = ConcurrentHashMap.newKeySet();
+		SimpleEventChannel built = new SimpleEventChannelBuilder()
+			.register(new CollectingConsumer(processed))
+			.build();
+
+		try
+		{
+			for (int i = 0; i < 10; i++)
+			{
+				built.publish(i);
+			}
+
+			awaitSize(processed, 10);
+			assertEquals(1, built.getConsumerGroup().size());
+			assertEquals(10L, built.getConsumerGroup().getMembers().get(0).getEventCount());
+		}
+		finally
+		{
+			assertTrue(built.shutdown(Duration.ofSeconds(2)));
+		}
+
+		assertEquals(0, built.getConsumerGroup().size());
+	}
+
+	@Test
+	public void shouldScaleConsumerGroup()
+	throws Exception
+	{
+		Set<Object> processed = ConcurrentHashMap.newKeySet();
+		ConsumerGroup group = new ConsumerGroup(channel, () -> new CollectingConsumer(processed));
+		group.scaleTo(3);
+		assertEquals(3, group.size());
+
+		for (int i = 0; i < 30; i++)
+		{
+			channel.publish(i);
+		}
+
+		awaitSize(processed, 30);
+		long received = 0L;
+
+		for (ConsumerGroup.Member member : group.getMembers())
+		{
+			assertTrue(member.isRunning());
+			received += member.getEventCount();
+		}
+
+		assertEquals(30L, received);
+		assertTrue(group.getThroughput() > 0.0);
+		group.scaleTo(1);
+		assertEquals(1, group.size());
+		assertTrue(group.shutdown(Duration.ofSeconds(2)));
+		assertEquals(0, group.size());
+	}
+
+	private static void awaitSize(Set<Object> processed, int size)
+	throws InterruptedException
+	{
+		long deadline = System.nanoTime() + 2_000_000_000L;
+
+		while (processed.size() < size && System.nanoTime() < deadline)
+		{
+			Thread.sleep(10L);
+		}
+
+		assertEquals(size, processed.size());
+	}
+
+
+	// SECTION: INNER CLASSES
+
+	private static class CollectingConsumer
+	extends AbstractEventConsumer
+	{
+		private Set<Object> processed;
+
+		public CollectingConsumer(Set<Object> processed)
+		{
+			super(50L);
+			this.processed = processed;
+		}
+
+		@Override
+		protected void processEvent(Object event)
+		{
+			processed.add(event);
+		}
+	}
+}
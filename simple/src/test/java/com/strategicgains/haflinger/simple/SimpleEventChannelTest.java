@@ -1,6 +1,10 @@
 package com.strategicgains.haflinger.simple;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
 
 import org.junit.After;
 import org.junit.Before;
@@ -133,6 +137,27 @@ public class SimpleEventChannelTest
 		assertEquals(5, handler3.getCallCount());
 	}
 
+	@Test
+	public void shouldDrainOnGracefulShutdown()
+	{
+		channel.publish(new NormalEvent());
+		channel.publish(new NormalEvent());
+		channel.publish(new NormalEvent());
+		long start = System.nanoTime();
+		assertTrue(channel.shutdown(Duration.ofSeconds(10)));
+		assertTrue((System.nanoTime() - start) >= 1_000_000_000L);
+		assertEquals(3, handler1.getCallCount());
+		assertEquals(3, handler3.getCallCount());
+		assertFalse(channel.publish(new NormalEvent()));
+	}
+
+	@Test
+	public void shouldReportUndrainedShutdown()
+	{
+		channel.publish(new NormalEvent());
+		assertFalse(channel.shutdown(Duration.ofMillis(100)));
+		assertTrue(channel.isShutdown());
+	}
 	
 	// SECTION: INNER CLASSES
 
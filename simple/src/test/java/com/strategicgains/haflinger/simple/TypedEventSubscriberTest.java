@@ -0,0 +1,154 @@
+package com.strategicgains.haflinger.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.strategicgains.haflinger.routing.EventTypeIndex;
+import com.strategicgains.haflinger.routing.TypedEventSubscriber;
+
+/**
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+public class TypedEventSubscriberTest
+{
+	private static final int PAUSE_MILLIS = 150;
+	private TypedHandler baseHandler = new TypedHandler(BaseEvent.class);
+	private TypedHandler markedHandler = new TypedHandler(Marked.class);
+	private TypedHandler otherHandler = new TypedHandler(OtherEvent.class);
+	private SimpleEventChannel channel;
+
+	@Before
+	public void setup()
+	{
+		channel = new SimpleEventChannel(baseHandler, markedHandler, otherHandler);
+	}
+
+	@After
+	public void teardown()
+	{
+		channel.shutdown();
+	}
+
+	@Test
+	public void shouldDeliverByClassHierarchy()
+	throws Exception
+	{
+		channel.publish(new BaseEvent());
+		channel.publish(new DerivedEvent());
+		channel.publish(new OtherEvent());
+		Thread.sleep(PAUSE_MILLIS);
+		assertEquals(2, baseHandler.getCallCount());
+		assertEquals(1, markedHandler.getCallCount());
+		assertEquals(1, otherHandler.getCallCount());
+	}
+
+	@Test
+	public void shouldStopDeliveringAfterUnsubscribe()
+	throws Exception
+	{
+		channel.publish(new OtherEvent());
+		Thread.sleep(PAUSE_MILLIS);
+		channel.unsubscribe(otherHandler);
+		channel.publish(new OtherEvent());
+		Thread.sleep(PAUSE_MILLIS);
+		assertEquals(1, otherHandler.getCallCount());
+	}
+
+	@Test
+	public void shouldDropUninterestingEvents()
+	throws Exception
+	{
+		assertTrue(channel.isInterestedIn(String.class));
+		channel.dropUninteresting(true);
+		assertFalse(channel.isInterestedIn(String.class));
+		assertTrue(channel.isInterestedIn(DerivedEvent.class));
+		assertTrue(channel.publish("uninteresting"));
+		assertTrue(channel.isEmpty());
+		assertEquals(2, channel.publishAll(Arrays.asList("uninteresting", new OtherEvent())));
+		Thread.sleep(PAUSE_MILLIS);
+		assertEquals(1, otherHandler.getCallCount());
+		assertTrue(channel.isEmpty());
+		channel.unsubscribe(otherHandler);
+		assertFalse(channel.isInterestedIn(OtherEvent.class));
+	}
+
+	@Test
+	public void shouldInvalidateIndexOnChange()
+	{
+		EventTypeIndex<TypedHandler> index = new EventTypeIndex<>(TypedHandler::getEventTypes);
+		assertFalse(index.matches(DerivedEvent.class));
+		index.add(baseHandler);
+		index.add(otherHandler);
+		List<TypedHandler> matches = index.get(DerivedEvent.class);
+		assertEquals(Arrays.asList(baseHandler), matches);
+		assertTrue(matches == index.get(DerivedEvent.class));
+		index.add(markedHandler);
+		assertEquals(Arrays.asList(baseHandler, markedHandler), index.get(DerivedEvent.class));
+		index.remove(baseHandler);
+		assertEquals(Arrays.asList(markedHandler), index.get(DerivedEvent.class));
+		assertFalse(index.matches(String.class));
+	}
+
+
+	// SECTION: INNER CLASSES
+
+	private interface Marked
+	{
+	}
+
+	private static class BaseEvent
+	{
+	}
+
+	private static class DerivedEvent
+	extends BaseEvent
+	implements Marked
+	{
+	}
+
+	private static class OtherEvent
+	{
+	}
+
+	private static class TypedHandler
+	implements TypedEventSubscriber
+	{
+		private AtomicInteger callCount = new AtomicInteger();
+		private Class<?> eventType;
+
+		public TypedHandler(Class<?> eventType)
+		{
+			super();
+			this.eventType = eventType;
+		}
+
+		@Override
+		public void handle(Object event)
+		{
+			assert(eventType.isInstance(event));
+			callCount.incrementAndGet();
+		}
+
+		@Override
+		public Collection<Class<?>> getEventTypes()
+		{
+			return Arrays.asList(eventType);
+		}
+
+		public int getCallCount()
+		{
+			return callCount.get();
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package com.strategicgains.haflinger.simple;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import com.strategicgains.haflinger.consumer.EventSubscriber;
+
+/**
+ * @author tfredrich
+ * @since 18 Oct 2026
+ */
+@RunWith(Parameterized.class)
+public class WaitStrategyTest
+{
+	private static final int EVENT_COUNT = 1000;
+
+	@Parameters(name = "{0}")
+	public static Collection<Object[]> strategies()
+	{
+		return Arrays.asList(new Object[][] {
+			{"blocking", new BlockingWaitStrategy()},
+			{"blocking-timeout", new BlockingWaitStrategy(10L)},
+			{"parking", new ParkingWaitStrategy()},
+			{"yielding", new YieldingWaitStrategy()},
+			{"busy-spin", new BusySpinWaitStrategy()}
+		});
+	}
+
+	private WaitStrategy strategy;
+
+	public WaitStrategyTest(String name, WaitStrategy strategy)
+	{
+		super();
+		this.strategy = strategy;
+	}
+
+	@Test
+	public void shouldDeliverAllEvents()
+	throws Exception
+	{
+		CountDownLatch latch = new CountDownLatch(EVENT_COUNT);
+		EventSubscriber subscriber = event -> latch.countDown();
+		SimpleEventChannel channel = new SimpleEventChannelBuilder()
+			.waitStrategy(strategy)
+			.subscribe(subscriber)
+			.build();
+
+		try
+		{
+			for (int i = 0; i < EVENT_COUNT; i++)
+			{
+				channel.publish(i);
+
+				// Let the dispatcher go idle now and then, so wake-ups are exercised too.
+				if (i % 100 == 0) Thread.sleep(5);
+			}
+
+			latch.await(5, TimeUnit.SECONDS);
+			assertEquals(0, latch.getCount());
+		}
+		finally
+		{
+			channel.shutdown();
+		}
+	}
+}